@@ -0,0 +1,108 @@
+package algos;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * bitonic sorting network for up to 64 ints on top of the (incubating) vector api, the leaf sort behind
+ * {@link SmallSort}. the values are copied into a buffer whose length is a power of two and at least one vector,
+ * padded with {@link Integer#MAX_VALUE}, and every stage of the network compares and exchanges all pairs at once:
+ * with a vector min / max between two loaded vectors when the pairs are at least a vector apart, and between a
+ * vector and a permutation of itself otherwise. each stage loads, exchanges and stores its vectors instead of
+ * keeping them in registers across stages, since the jdk 17 compiler boxes vectors carried through loops.
+ * kept in its own source root, compiled with the module against the other classes and into the same package:
+ * {@code javac --add-modules jdk.incubator.vector -cp <classes> -d <classes> src-vector/algos/VectorSort.java}.
+ * nothing refers to it statically, SmallSort loads it by name only when the module is present.
+ */
+final class VectorSort {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    /**
+     * longest subarray sorted by the network, which SmallSort#MAX repeats
+     */
+    static final int MAX = 64;
+    // index of every lane
+    private static final IntVector IOTA = IntVector.zero(SPECIES).addIndex(1);
+    // SWAP_j pairs every lane l with lane l ^ j, for every j below the number of lanes (null for the others,
+    // whose pairs are whole vectors apart and never permuted)
+    private static final VectorShuffle<Integer> SWAP_1 = swapShuffle(1);
+    private static final VectorShuffle<Integer> SWAP_2 = swapShuffle(2);
+    private static final VectorShuffle<Integer> SWAP_4 = swapShuffle(4);
+    private static final VectorShuffle<Integer> SWAP_8 = swapShuffle(8);
+
+    /**
+     * @return whether the preferred vector shape is one the network is written for, 8 or 16 ints
+     */
+    static boolean supported() {
+        return LANES == 8 || LANES == 16;
+    }
+
+    /**
+     * sorts xs[lo..hi], which may be at most {@link #MAX} long
+     *
+     * @param xs  array to sort
+     * @param lo  start of subarray
+     * @param hi  end of subarray (inclusive)
+     * @param buf buffer of at least {@link #MAX} ints for the network to work in, its contents are overwritten
+     */
+    static void sort(int[] xs, int lo, int hi, int[] buf) {
+        int n = hi - lo + 1;
+        int m = Math.max(LANES, Integer.highestOneBit(n - 1) << 1);
+        System.arraycopy(xs, lo, buf, 0, n);
+        for (int i = n; i < m; i++)
+            buf[i] = Integer.MAX_VALUE;
+        for (int k = 2; k <= m; k <<= 1) {
+            for (int j = k >> 1; j > 0; j >>= 1) {
+                if (j >= LANES) across(buf, m, j, k);
+                else within(buf, m, j, k);
+            }
+        }
+        System.arraycopy(buf, 0, xs, lo, n);
+    }
+
+    // compare exchange of pairs j >= LANES apart, so of whole vectors. blocks of k sort ascending and descending
+    // in turn, so that every two neighbouring blocks form a bitonic sequence for the next k
+    private static void across(int[] buf, int m, int j, int k) {
+        for (int i = 0; i < m; i += 2 * j) {
+            boolean ascending = (i & k) == 0;
+            for (int t = i; t < i + j; t += LANES) {
+                var a = IntVector.fromArray(SPECIES, buf, t);
+                var b = IntVector.fromArray(SPECIES, buf, t + j);
+                var min = a.lanewise(VectorOperators.MIN, b);
+                var max = a.lanewise(VectorOperators.MAX, b);
+                (ascending ? min : max).intoArray(buf, t);
+                (ascending ? max : min).intoArray(buf, t + j);
+            }
+        }
+    }
+
+    // compare exchange of pairs less than a vector apart, within every vector
+    private static void within(int[] buf, int m, int j, int k) {
+        var swap = swap(j);
+        for (int i = 0; i < m; i += LANES) {
+            var v = IntVector.fromArray(SPECIES, buf, i);
+            var w = v.rearrange(swap);
+            // global index of every lane, whose bits j and k decide which of the pair it keeps
+            var index = IOTA.add(i);
+            var bits = index.lanewise(VectorOperators.AND, j | k);
+            var takeMax = bits.compare(VectorOperators.EQ, j).or(bits.compare(VectorOperators.EQ, k));
+            v.lanewise(VectorOperators.MIN, w).blend(v.lanewise(VectorOperators.MAX, w), takeMax).intoArray(buf, i);
+        }
+    }
+
+    private static VectorShuffle<Integer> swapShuffle(int j) {
+        return j < LANES ? VectorShuffle.fromOp(SPECIES, l -> l ^ j) : null;
+    }
+
+    private static VectorShuffle<Integer> swap(int j) {
+        return switch (j) {
+            case 1 -> SWAP_1;
+            case 2 -> SWAP_2;
+            case 4 -> SWAP_4;
+            case 8 -> SWAP_8;
+            default -> throw new IllegalArgumentException("no shuffle for pairs " + j + " apart");
+        };
+    }
+}
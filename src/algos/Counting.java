@@ -1,36 +1,333 @@
 package algos;
 
+import java.util.Arrays;
+
 public class Counting {
     /**
-     * perform counting sort for an array of integers. which involves using the number of occurrences
-     * of each number in the array to determine the index in which it appears.
+     * default limit on the size of the count array in bytes (16mb, or a range of about four million values)
+     */
+    public static final long DEFAULT_BUDGET = 1 << 24;
+
+    /**
+     * frequencies of the distinct values of an array
+     *
+     * @param values distinct values in ascending order
+     * @param counts number of occurrences of the value at the same index
+     */
+    public record Histogram(int[] values, int[] counts) {
+        /**
+         * @return number of distinct values
+         */
+        public int distinct() {
+            return values.length;
+        }
+    }
+
+    /**
+     * perform counting sort for an array of integers with the default memory budget, see {@link #sort(int[], long)}
+     *
      * @param xs array to be sorted
      * @return reference to array (now sorted)
      */
     public static int[] sort(int[] xs) {
+        return sort(xs, DEFAULT_BUDGET);
+    }
+
+    /**
+     * perform counting sort for an array of integers, which counts the occurrences of each value in the range
+     * [min, max] and writes every value back as many times as it occurred. that is only worth it while the
+     * range is small, so when the count array would take more than {@code budget} bytes or the range far exceeds
+     * the length of the array, the array is sorted with {@link LSDRadix#sort(int[])} instead.
+     *
+     * @param xs     array to be sorted
+     * @param budget maximum size of the count array in bytes
+     * @return reference to array (now sorted)
+     */
+    public static int[] sort(int[] xs, long budget) {
+        if (xs.length < 2) return xs;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (var x : xs) {
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+        }
+        if (!fits(range(min, max), xs.length, budget)) return LSDRadix.sort(xs);
+        sort(xs, 0, xs.length - 1, min, max);
+        return xs;
+    }
+
+    // counting sort of xs[lo..hi], for callers which already know the range of values and decided it is small
+    static void sort(int[] xs, int lo, int hi, int min, int max) {
+        sort(xs, lo, hi, min, max, new int[max - min + 1]);
+    }
+
+    // the same with a caller supplied count array, of which the first max - min + 1 entries are cleared and used
+    static void sort(int[] xs, int lo, int hi, int min, int max, int[] count) {
+        int range = max - min + 1;
+        Arrays.fill(count, 0, range, 0);
+        for (int i = lo; i <= hi; i++)
+            count[xs[i] - min]++;
+        // write every value back as many times as it occurred
+        int k = lo;
+        for (int v = 0; v < range; v++)
+            for (int c = count[v]; c > 0; c--)
+                xs[k++] = v + min;
+    }
+
+    /**
+     * stable argsort of an array of integers with the default memory budget, see {@link #argsort(int[], long)}
+     *
+     * @param keys keys to sort by
+     * @return array of indices such that keys[perm[0]] <= keys[perm[1]] <= ..., equal keys in original order
+     */
+    public static int[] argsort(int[] keys) {
+        return argsort(keys, DEFAULT_BUDGET);
+    }
+
+    /**
+     * stable argsort of an array of integers: computes the permutation which sorts the keys, without moving them.
+     * the occurrences of every value are counted and turned into the first position of that value, after which
+     * the indices are dealt out in a single pass in their original order. falls back to
+     * {@link LSDRadix#argsort(int[])} under the same conditions as {@link #sort(int[], long)}.
+     *
+     * @param keys   keys to sort by, left unchanged
+     * @param budget maximum size of the count array in bytes
+     * @return array of indices such that keys[perm[0]] <= keys[perm[1]] <= ..., equal keys in original order
+     */
+    public static int[] argsort(int[] keys, long budget) {
+        int n = keys.length;
+        if (n == 0) return new int[0];
         int min = Integer.MAX_VALUE;
         int max = Integer.MIN_VALUE;
+        for (var x : keys) {
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+        }
+        if (!fits(range(min, max), n, budget)) return LSDRadix.argsort(keys);
+        int[] start = histogram(keys, min, max);
+        for (int v = 0, sum = 0; v < start.length; v++) {
+            int c = start[v];
+            start[v] = sum;
+            sum += c;
+        }
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++)
+            perm[start[keys[i] - min]++] = i;
+        return perm;
+    }
+
+    /**
+     * counts the occurrences of every distinct value of an array with the default memory budget,
+     * see {@link #histogram(int[], long)}
+     *
+     * @param xs array to count the values of
+     * @return distinct values and their frequencies
+     */
+    public static Histogram histogram(int[] xs) {
+        return histogram(xs, DEFAULT_BUDGET);
+    }
+
+    /**
+     * counts the occurrences of every distinct value of an array without sorting it. values are counted directly
+     * while the count array fits in {@code budget} bytes, otherwise they are counted in a hash map from value to
+     * count and only the distinct values are sorted afterwards, so memory stays proportional to the number of
+     * distinct values rather than to the range.
+     *
+     * @param xs     array to count the values of, left unchanged
+     * @param budget maximum size of the count array in bytes
+     * @return distinct values and their frequencies
+     */
+    public static Histogram histogram(int[] xs, long budget) {
+        if (xs.length == 0) return new Histogram(new int[0], new int[0]);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (var x : xs) {
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+        }
+        if (fits(range(min, max), xs.length, budget)) {
+            int[] count = histogram(xs, min, max);
+            int distinct = 0;
+            for (var c : count)
+                if (c > 0) distinct++;
+            int[] values = new int[distinct], counts = new int[distinct];
+            for (int v = 0, k = 0; v < count.length; v++) {
+                if (count[v] == 0) continue;
+                values[k] = v + min;
+                counts[k++] = count[v];
+            }
+            return new Histogram(values, counts);
+        }
+
+        var table = new CountTable();
+        for (var x : xs)
+            table.add(x);
+        int[] values = LSDRadix.sort(table.keys());
+        int[] counts = new int[values.length];
+        for (int k = 0; k < values.length; k++)
+            counts[k] = table.count(values[k]);
+        return new Histogram(values, counts);
+    }
+
+    /**
+     * open addressing hash map from int values to their number of occurrences, for ranges too wide for a count
+     * array. a count of 0 marks an empty slot, and the table doubles once it is half full, so its size follows the
+     * number of distinct values
+     */
+    private static final class CountTable {
+        private int[] keys = new int[16];
+        private int[] counts = new int[16];
+        private int size;
+
+        void add(int x) {
+            int i = slot(x);
+            if (counts[i]++ > 0) return;
+            keys[i] = x;
+            if (++size > keys.length / 2) grow();
+        }
+
+        // number of occurrences of x, 0 if it was never added
+        int count(int x) {
+            return counts[slot(x)];
+        }
+
+        // the distinct values added, in no particular order
+        int[] keys() {
+            int[] out = new int[size];
+            for (int i = 0, k = 0; i < keys.length; i++)
+                if (counts[i] > 0) out[k++] = keys[i];
+            return out;
+        }
+
+        // slot holding x, or the empty slot where it would go, probing linearly from its hash
+        private int slot(int x) {
+            int mask = keys.length - 1;
+            int h = x * 0x9E3779B9; //fibonacci hashing spreads runs of consecutive values over the table
+            int i = (h ^ (h >>> 16)) & mask;
+            while (counts[i] > 0 && keys[i] != x)
+                i = (i + 1) & mask;
+            return i;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys, oldCounts = counts;
+            keys = new int[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldCounts[j] == 0) continue;
+                int i = slot(oldKeys[j]);
+                keys[i] = oldKeys[j];
+                counts[i] = oldCounts[j];
+            }
+        }
+    }
+
+    // number of values in [min, max], which does not fit an int when the values span most of the int range
+    private static long range(int min, int max) {
+        return (long) max - min + 1;
+    }
+
+    // whether a count array for the range can be allocated within budget and is not so large that iterating it
+    // dominates (the same 32x length bound the old warning used)
+    private static boolean fits(long range, int len, long budget) {
+        return range < Integer.MAX_VALUE && range * Integer.BYTES <= budget && range <= 32L * len;
+    }
+
+    // number of occurrences of min + v at index v, only called once the range is known to fit
+    private static int[] histogram(int[] xs, int min, int max) {
+        int[] count = new int[max - min + 1];
+        for (var x : xs)
+            count[x - min]++;
+        return count;
+    }
+
+    // short arrays: generated from templates/algos/Counting.java.template by tools/GenerateSorts.java, do not edit
+
+    /**
+     * counting sort for an array of shorts, which always fits in a count array of at most 65536 entries
+     * since the range of values is bounded by the type itself
+     *
+     * @param xs array to be sorted
+     * @return reference to array (now sorted)
+     */
+    public static short[] sort(short[] xs) {
+        if (xs.length < 2) return xs;
+        int min = Short.MAX_VALUE;
+        int max = Short.MIN_VALUE;
         for (var x : xs) {
             min = Math.min(min, x);
             max = Math.max(max, x);
         }
+        int[] count = new int[max - min + 1];
+        for (var x : xs)
+            count[x - min]++;
+        // write every value back as many times as it occurred
+        int k = 0;
+        for (int v = 0; v < count.length; v++)
+            for (int c = count[v]; c > 0; c--)
+                xs[k++] = (short) (v + min);
+        return xs;
+    }
 
-        int[] temp = new int[xs.length];
-        int[] count = new int[max - min + 2];
-        if (max - min > xs.length * 32) // arbitrary bound for warning
-            System.out.println("maximum range of values far exceeds length of array, consider using an alternative sorting method");
+    // end of generated short code
 
-        // fill count array with # of occurrences
+    // char arrays: generated from templates/algos/Counting.java.template by tools/GenerateSorts.java, do not edit
+
+    /**
+     * counting sort for an array of chars, which always fits in a count array of at most 65536 entries
+     * since the range of values is bounded by the type itself
+     *
+     * @param xs array to be sorted
+     * @return reference to array (now sorted)
+     */
+    public static char[] sort(char[] xs) {
+        if (xs.length < 2) return xs;
+        int min = Character.MAX_VALUE;
+        int max = Character.MIN_VALUE;
+        for (var x : xs) {
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+        }
+        int[] count = new int[max - min + 1];
         for (var x : xs)
-            count[x - min + 1]++;
-        // add for indices
-        for (int i = 1; i < count.length; i++)
-            count[i] += count[i - 1];
-        // using those indices to create sorted temp array
+            count[x - min]++;
+        // write every value back as many times as it occurred
+        int k = 0;
+        for (int v = 0; v < count.length; v++)
+            for (int c = count[v]; c > 0; c--)
+                xs[k++] = (char) (v + min);
+        return xs;
+    }
+
+    // end of generated char code
+
+    // byte arrays: generated from templates/algos/Counting.java.template by tools/GenerateSorts.java, do not edit
+
+    /**
+     * counting sort for an array of bytes, which always fits in a count array of at most 256 entries
+     * since the range of values is bounded by the type itself
+     *
+     * @param xs array to be sorted
+     * @return reference to array (now sorted)
+     */
+    public static byte[] sort(byte[] xs) {
+        if (xs.length < 2) return xs;
+        int min = Byte.MAX_VALUE;
+        int max = Byte.MIN_VALUE;
+        for (var x : xs) {
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+        }
+        int[] count = new int[max - min + 1];
         for (var x : xs)
-            temp[count[x - min]++] = x;
-        // copy values back to original array
-        System.arraycopy(temp, 0, xs, 0, xs.length);
+            count[x - min]++;
+        // write every value back as many times as it occurred
+        int k = 0;
+        for (int v = 0; v < count.length; v++)
+            for (int c = count[v]; c > 0; c--)
+                xs[k++] = (byte) (v + min);
         return xs;
     }
+
+    // end of generated byte code
 }
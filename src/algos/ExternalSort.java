@@ -0,0 +1,283 @@
+package algos;
+
+import util.Buffers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * external merge sort for files of ints or longs which do not fit in memory. files are plain sequences of big
+ * endian values (the format of {@link java.io.DataOutputStream}). the input is read in chunks as large as the
+ * memory budget allows, each chunk is sorted with {@link LSDRadix} and spilled to a temporary run file, and the
+ * runs are then merged at most {@code fanIn} at a time through a {@link LoserTree}, reading every run through
+ * memory mapped windows. when there are more runs than the fan in, groups of runs are merged into longer runs
+ * first, so that every merge pass reads and writes the data once.
+ */
+public class ExternalSort {
+    /**
+     * number of runs merged at once by default
+     */
+    public static final int DEFAULT_FAN_IN = 64;
+    // size of the buffers for reading the input and writing runs / the output
+    private static final int IO_BUFFER = 1 << 20;
+    // smallest part of a run mapped at once
+    private static final int MIN_WINDOW = 1 << 16;
+
+    /**
+     * sorts a file of ints with a quarter of the maximum heap as memory budget, see
+     * {@link #sortInts(Path, Path, long, int)}
+     *
+     * @param in  file to sort
+     * @param out file to write the sorted values to, replaced if it exists
+     * @throws IOException if reading, writing or creating the temporary files fails
+     */
+    public static void sortInts(Path in, Path out) throws IOException {
+        sortInts(in, out, defaultBudget(), DEFAULT_FAN_IN);
+    }
+
+    /**
+     * sorts a file of big endian ints, keeping the memory used for chunks and merge buffers within the budget.
+     * temporary run files are created in a directory next to the output file and removed afterwards.
+     *
+     * @param in     file to sort
+     * @param out    file to write the sorted values to, replaced if it exists
+     * @param budget memory for sorting in bytes, a chunk takes 8 bytes per value (the values and a radix buffer)
+     * @param fanIn  maximum number of runs merged at once
+     * @throws IOException if reading, writing or creating the temporary files fails
+     */
+    public static void sortInts(Path in, Path out, long budget, int fanIn) throws IOException {
+        sort(in, out, budget, fanIn, Integer.BYTES);
+    }
+
+    /**
+     * sorts a file of longs with a quarter of the maximum heap as memory budget, see
+     * {@link #sortInts(Path, Path, long, int)}
+     *
+     * @param in  file to sort
+     * @param out file to write the sorted values to, replaced if it exists
+     * @throws IOException if reading, writing or creating the temporary files fails
+     */
+    public static void sortLongs(Path in, Path out) throws IOException {
+        sortLongs(in, out, defaultBudget(), DEFAULT_FAN_IN);
+    }
+
+    /**
+     * sorts a file of big endian longs, see {@link #sortInts(Path, Path, long, int)}
+     *
+     * @param in     file to sort
+     * @param out    file to write the sorted values to, replaced if it exists
+     * @param budget memory for sorting in bytes, a chunk takes 16 bytes per value (the values and a radix buffer)
+     * @param fanIn  maximum number of runs merged at once
+     * @throws IOException if reading, writing or creating the temporary files fails
+     */
+    public static void sortLongs(Path in, Path out, long budget, int fanIn) throws IOException {
+        sort(in, out, budget, fanIn, Long.BYTES);
+    }
+
+    /**
+     * @return the default memory budget, a quarter of the maximum heap size
+     */
+    public static long defaultBudget() {
+        return Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    // width is the number of bytes per value, 4 for ints and 8 for longs
+    private static void sort(Path in, Path out, long budget, int fanIn, int width) throws IOException {
+        if (fanIn < 2) throw new IllegalArgumentException("fan in must be at least 2");
+        if (budget < 2L * IO_BUFFER) throw new IllegalArgumentException("memory budget must be at least 2mb");
+        if (Files.size(in) % width != 0)
+            throw new IllegalArgumentException("input size is not a multiple of " + width + " bytes");
+        // values per chunk: the chunk and the radix buffer share the budget, minus the io buffer
+        int chunk = (int) Math.min((budget - IO_BUFFER) / (2L * width), Integer.MAX_VALUE - 8);
+        long window = Math.min(Math.max(budget / (fanIn + 1), MIN_WINDOW), 1 << 30) / Long.BYTES * Long.BYTES;
+
+        var dir = Files.createTempDirectory(out.toAbsolutePath().getParent(), "runs");
+        var runs = new ArrayList<Path>();
+        try {
+            if (width == Integer.BYTES) createIntRuns(in, dir, chunk, runs);
+            else createLongRuns(in, dir, chunk, runs);
+
+            // merge the oldest (and shortest) runs first, one group at a time, until a single merge is left
+            int next = 0;
+            while (runs.size() - next > fanIn) {
+                var run = Files.createTempFile(dir, "run", ".bin");
+                merge(runs.subList(next, next + fanIn), run, width, window);
+                for (int i = next; i < next + fanIn; i++)
+                    Files.delete(runs.get(i));
+                next += fanIn;
+                runs.add(run);
+            }
+            var last = runs.subList(next, runs.size());
+            if (last.size() == 1) Files.move(last.get(0), out, StandardCopyOption.REPLACE_EXISTING);
+            else merge(last, out, width, window); //also writes an empty output for an empty input
+        } finally {
+            for (var run : runs)
+                Files.deleteIfExists(run);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void createIntRuns(Path in, Path dir, int chunk, List<Path> runs) throws IOException {
+        try (var ch = FileChannel.open(in, StandardOpenOption.READ)) {
+            long remaining = ch.size() / Integer.BYTES;
+            int len = (int) Math.min(chunk, remaining);
+            int[] xs = new int[len], temp = new int[len];
+            var buf = ByteBuffer.allocateDirect(IO_BUFFER);
+            while (remaining > 0) {
+                if (remaining < xs.length) //last chunk, sorted as a whole so the array needs to fit it exactly
+                    xs = new int[(int) remaining];
+                for (int i = 0; i < xs.length; ) {
+                    read(ch, buf, (int) Math.min(IO_BUFFER, (long) (xs.length - i) * Integer.BYTES));
+                    int n = buf.remaining() / Integer.BYTES;
+                    buf.asIntBuffer().get(xs, i, n);
+                    i += n;
+                }
+                remaining -= xs.length;
+                LSDRadix.sort(xs, temp);
+                var run = Files.createTempFile(dir, "run", ".bin");
+                runs.add(run);
+                try (var out = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                    for (int i = 0; i < xs.length; ) {
+                        int n = Math.min(IO_BUFFER / Integer.BYTES, xs.length - i);
+                        buf.clear();
+                        buf.asIntBuffer().put(xs, i, n);
+                        buf.limit(n * Integer.BYTES);
+                        write(out, buf);
+                        i += n;
+                    }
+                }
+            }
+        }
+    }
+
+    // same as createIntRuns
+    private static void createLongRuns(Path in, Path dir, int chunk, List<Path> runs) throws IOException {
+        try (var ch = FileChannel.open(in, StandardOpenOption.READ)) {
+            long remaining = ch.size() / Long.BYTES;
+            int len = (int) Math.min(chunk, remaining);
+            long[] xs = new long[len], temp = new long[len];
+            var buf = ByteBuffer.allocateDirect(IO_BUFFER);
+            while (remaining > 0) {
+                if (remaining < xs.length)
+                    xs = new long[(int) remaining];
+                for (int i = 0; i < xs.length; ) {
+                    read(ch, buf, (int) Math.min(IO_BUFFER, (long) (xs.length - i) * Long.BYTES));
+                    int n = buf.remaining() / Long.BYTES;
+                    buf.asLongBuffer().get(xs, i, n);
+                    i += n;
+                }
+                remaining -= xs.length;
+                LSDRadix.sort(xs, temp);
+                var run = Files.createTempFile(dir, "run", ".bin");
+                runs.add(run);
+                try (var out = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                    for (int i = 0; i < xs.length; ) {
+                        int n = Math.min(IO_BUFFER / Long.BYTES, xs.length - i);
+                        buf.clear();
+                        buf.asLongBuffer().put(xs, i, n);
+                        buf.limit(n * Long.BYTES);
+                        write(out, buf);
+                        i += n;
+                    }
+                }
+            }
+        }
+    }
+
+    // fills the buffer with the next len bytes of the channel and flips it for reading
+    private static void read(FileChannel ch, ByteBuffer buf, int len) throws IOException {
+        buf.clear().limit(len);
+        while (buf.hasRemaining())
+            if (ch.read(buf) < 0) throw new IOException("input file was truncated while sorting");
+        buf.flip();
+    }
+
+    private static void write(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining())
+            ch.write(buf);
+    }
+
+    // k-way merge of the runs into out through a loser tree
+    private static void merge(List<Path> runs, Path out, int width, long window) throws IOException {
+        int k = runs.size();
+        var readers = new RunReader[k];
+        try (var ch = FileChannel.open(out, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long[] heads = new long[k];
+            boolean[] done = new boolean[k];
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), width, window);
+                if (readers[i].hasNext()) heads[i] = readers[i].next();
+                else done[i] = true;
+            }
+            var tree = new LoserTree(heads, done);
+            var buf = ByteBuffer.allocateDirect(IO_BUFFER);
+            while (!tree.isEmpty()) {
+                long x = tree.winnerKey();
+                if (width == Integer.BYTES) buf.putInt((int) x);
+                else buf.putLong(x);
+                if (!buf.hasRemaining()) {
+                    buf.flip();
+                    write(ch, buf);
+                    buf.clear();
+                }
+                var reader = readers[tree.winner()];
+                if (reader.hasNext()) tree.replaceWinner(reader.next());
+                else tree.exhaustWinner();
+            }
+            buf.flip();
+            write(ch, buf);
+        } finally {
+            for (var reader : readers)
+                if (reader != null) reader.close();
+        }
+    }
+
+    /**
+     * sequential reader of a run file which maps {@code window} bytes of it at a time, so that runs of any length
+     * can be read while the os pages them in and out as needed. every window is unmapped as soon as it has been
+     * read, so that at most one mapping per run is alive and the run file can be deleted once the reader is closed
+     */
+    private static final class RunReader {
+        private final FileChannel ch;
+        private final int width;
+        private final long window, size;
+        private long pos;
+        private MappedByteBuffer buf;
+
+        RunReader(Path run, int width, long window) throws IOException {
+            this.ch = FileChannel.open(run, StandardOpenOption.READ);
+            this.width = width;
+            this.window = window;
+            this.size = ch.size();
+        }
+
+        boolean hasNext() {
+            return buf != null && buf.hasRemaining() || pos < size;
+        }
+
+        long next() throws IOException {
+            if (buf == null || !buf.hasRemaining()) {
+                if (buf != null) Buffers.free(buf);
+                long len = Math.min(window, size - pos);
+                buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, len);
+                pos += len;
+            }
+            return width == Integer.BYTES ? buf.getInt() : buf.getLong();
+        }
+
+        void close() throws IOException {
+            if (buf != null) Buffers.free(buf);
+            buf = null;
+            ch.close();
+        }
+    }
+}
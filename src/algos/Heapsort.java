@@ -1,41 +1,427 @@
 package algos;
 
+import java.util.Comparator;
+
 public class Heapsort {
-    // subtractions by 1 done to i and j  to correct 1 indexed indices to 0 indexed
-    private static void swap(int[] xs, int i, int j) {
-        int temp = xs[i - 1];
-        xs[i - 1] = xs[j - 1];
-        xs[j - 1] = temp;
+    // heaps of the int, long and double sorts are 0 indexed relative to lo, with the children of i at
+    // (i << shift) + 1 .. (i << shift) + (1 << shift) for a heap with 1 << shift children per node.
+    // 8 children per node by default, which measured fastest from 10^6 elements up
+    private static final int DEFAULT_SHIFT = 3;
+
+    /**
+     * bottom up heapsort on an implicit 8-ary heap, see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs array to sort
+     */
+    public static void sort(int[] xs) {
+        sort(xs, 0, xs.length - 1);
+    }
+
+    /**
+     * bottom up heapsort on an implicit heap with the given number of children per node,
+     * see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs    array to sort
+     * @param arity children per node, 2, 4, 8 or 16
+     */
+    public static void sort(int[] xs, int arity) {
+        sort(xs, 0, xs.length - 1, arity);
+    }
+
+    /**
+     * bottom up heapsort on the subarray xs[lo..hi] with an 8-ary heap, see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     */
+    public static void sort(int[] xs, int lo, int hi) {
+        heapsort(xs, lo, hi, DEFAULT_SHIFT);
+    }
+
+    /**
+     * bottom up (Floyd's) heapsort on the subarray xs[lo..hi] with an implicit d-ary max heap. removing the max
+     * does not sink the last element from the root with two comparisons per level, since it nearly always ends up
+     * back near the bottom anyway. instead the hole left at the root is moved down to a leaf along the larger
+     * children (one comparison per level for a binary heap), and the last element is put in it and bubbled up the
+     * few levels it needs to go. wider heaps are half (4-ary) or a third (8-ary) as deep, so the path from root to
+     * leaf touches fewer cache lines on arrays that do not fit the cache, at the cost of more comparisons to find
+     * the larger child. values are moved along the path rather than swapped.
+     *
+     * @param xs    array to sort
+     * @param lo    start of subarray
+     * @param hi    end of subarray (inclusive)
+     * @param arity children per node, 2, 4, 8 or 16
+     */
+    public static void sort(int[] xs, int lo, int hi, int arity) {
+        heapsort(xs, lo, hi, shift(arity));
+    }
+
+    // log2 of the arity, so that children and parents are found with shifts
+    private static int shift(int arity) {
+        if (arity < 2 || arity > 16 || Integer.bitCount(arity) != 1)
+            throw new IllegalArgumentException("arity must be 2, 4, 8 or 16");
+        return Integer.numberOfTrailingZeros(arity);
+    }
+
+    private static void heapsort(int[] xs, int lo, int hi, int shift) {
+        int size = hi - lo + 1;
+        if (size < 2) return;
+        // build heap from the last parent back up to the root
+        for (int i = (size - 2) >> shift; i >= 0; i--)
+            siftDown(xs, lo, i, size, shift, xs[lo + i]);
+        // sort by repeated delete max, the max goes to the end and the last element goes into the hole at the root
+        for (int end = size - 1; end > 0; end--) {
+            int x = xs[lo + end];
+            xs[lo + end] = xs[lo];
+            siftDown(xs, lo, 0, end, shift, x);
+        }
+    }
+
+    // fills the hole at i of the heap xs[lo..lo+size) with x: the hole is first moved down to a leaf, always
+    // swapping with the larger child, then x is bubbled up from there but never above i
+    private static void siftDown(int[] xs, int lo, int i, int size, int shift, int x) {
+        if (shift == 1) {
+            siftDownBinary(xs, lo, i, size, x);
+            return;
+        }
+        int top = i, lastParent = (size - 2) >> shift;
+        while (i <= lastParent) {
+            int child = (i << shift) + 1, last = Math.min(child + (1 << shift), size); //last is exclusive
+            // keeping the max in a local rather than reloading xs[lo + max] lets the loop run branch free
+            int max = child;
+            int v = xs[lo + child];
+            for (int j = child + 1; j < last; j++) {
+                int y = xs[lo + j];
+                if (y > v) {
+                    v = y;
+                    max = j;
+                }
+            }
+            xs[lo + i] = v;
+            i = max;
+        }
+        while (i > top) {
+            int parent = (i - 1) >> shift;
+            if (xs[lo + parent] >= x) break;
+            xs[lo + i] = xs[lo + parent];
+            i = parent;
+        }
+        xs[lo + i] = x;
+    }
+
+    // siftDown for binary heaps, kept apart so the two children are compared without a loop
+    private static void siftDownBinary(int[] xs, int lo, int i, int size, int x) {
+        int top = i, lastParent = (size - 2) >> 1;
+        while (i <= lastParent) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && xs[lo + child] < xs[lo + child + 1]) child++; //max of children
+            xs[lo + i] = xs[lo + child];
+            i = child;
+        }
+        while (i > top) {
+            int parent = (i - 1) >> 1;
+            if (xs[lo + parent] >= x) break;
+            xs[lo + i] = xs[lo + parent];
+            i = parent;
+        }
+        xs[lo + i] = x;
+    }
+
+    /**
+     * bottom up heapsort on the subarray xs[lo..hi] of an object array, in the order given by a comparator.
+     * always uses a binary heap, which takes the fewest comparisons. see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs  array to sort
+     * @param lo  start of subarray
+     * @param hi  end of subarray (inclusive)
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void sort(T[] xs, int lo, int hi, Comparator<? super T> c) {
+        int size = hi - lo + 1;
+        if (size < 2) return;
+        for (int i = (size - 2) >> 1; i >= 0; i--)
+            siftDown(xs, lo, i, size, xs[lo + i], c);
+        for (int end = size - 1; end > 0; end--) {
+            T x = xs[lo + end];
+            xs[lo + end] = xs[lo];
+            siftDown(xs, lo, 0, end, x, c);
+        }
     }
 
-    // subtractions by 1 done to i and j to correct 1 indexed indices to 0 indexed
-    private static void sink(int[] xs, int i, int size) {
-        while (2 * i <= size) {
-            int j = 2 * i;
-            if (j < size && xs[j - 1] < xs[j]) j++; //max of children
-            if (xs[j - 1] < xs[i - 1]) break; //operation done, heap property satisfied
-            //swap to heapify
-            swap(xs, i, j);
-            i = j; //next layer
+    // comparator version of siftDownBinary, binary since comparisons are what is expensive here
+    private static <T> void siftDown(T[] xs, int lo, int i, int size, T x, Comparator<? super T> c) {
+        int top = i, lastParent = (size - 2) >> 1;
+        while (i <= lastParent) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && c.compare(xs[lo + child], xs[lo + child + 1]) < 0) child++;
+            xs[lo + i] = xs[lo + child];
+            i = child;
+        }
+        while (i > top) {
+            int parent = (i - 1) >> 1;
+            if (c.compare(xs[lo + parent], x) >= 0) break;
+            xs[lo + i] = xs[lo + parent];
+            i = parent;
         }
+        xs[lo + i] = x;
     }
 
+    // long arrays: generated from templates/algos/Heapsort.java.template by tools/GenerateSorts.java, do not edit
+
     /**
-     * heapsort implementation using implicit array implemented binary heap. arithmetic is done on base 1 indexed
-     * i and j indices, although the array itself is 0 indexed. the conversion is handled by heapify (sink) and
-     * swap methods, so as to make the code itself look somewhat cleaner.
+     * bottom up heapsort on an implicit 8-ary heap for an array of longs,
+     * see {@link #sort(int[], int, int, int)}
      *
      * @param xs array to sort
      */
-    public static void sort(int[] xs) {
-        // build heap
-        for (int i = xs.length / 2; i >= 1; i--) {
-            sink(xs, i, xs.length);
+    public static void sort(long[] xs) {
+        sort(xs, 0, xs.length - 1);
+    }
+
+    /**
+     * bottom up heapsort on an implicit heap with the given number of children per node for an array of
+     * longs, see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs    array to sort
+     * @param arity children per node, 2, 4, 8 or 16
+     */
+    public static void sort(long[] xs, int arity) {
+        sort(xs, 0, xs.length - 1, arity);
+    }
+
+    /**
+     * bottom up heapsort on the subarray xs[lo..hi] of an array of longs
+     * with an 8-ary heap, see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     */
+    public static void sort(long[] xs, int lo, int hi) {
+        heapsort(xs, lo, hi, DEFAULT_SHIFT);
+    }
+
+    /**
+     * bottom up heapsort on the subarray xs[lo..hi] of an array of longs
+     * with an implicit d-ary max heap, see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs    array to sort
+     * @param lo    start of subarray
+     * @param hi    end of subarray (inclusive)
+     * @param arity children per node, 2, 4, 8 or 16
+     */
+    public static void sort(long[] xs, int lo, int hi, int arity) {
+        heapsort(xs, lo, hi, shift(arity));
+    }
+
+    private static void heapsort(long[] xs, int lo, int hi, int shift) {
+        int size = hi - lo + 1;
+        if (size < 2) return;
+        // build heap from the last parent back up to the root
+        for (int i = (size - 2) >> shift; i >= 0; i--)
+            siftDown(xs, lo, i, size, shift, xs[lo + i]);
+        // sort by repeated delete max, the max goes to the end and the last element goes into the hole at the root
+        for (int end = size - 1; end > 0; end--) {
+            long x = xs[lo + end];
+            xs[lo + end] = xs[lo];
+            siftDown(xs, lo, 0, end, shift, x);
         }
-        // sort by repeated delete max
-        for (int i = xs.length; i >= 1; i--) {
-            swap(xs, 1, i);
-            sink(xs, 1, i - 1);
+    }
+
+    // fills the hole at i of the heap xs[lo..lo+size) with x: the hole is first moved down to a leaf, always
+    // swapping with the larger child, then x is bubbled up from there but never above i
+    private static void siftDown(long[] xs, int lo, int i, int size, int shift, long x) {
+        if (shift == 1) {
+            siftDownBinary(xs, lo, i, size, x);
+            return;
+        }
+        int top = i, lastParent = (size - 2) >> shift;
+        while (i <= lastParent) {
+            int child = (i << shift) + 1, last = Math.min(child + (1 << shift), size); //last is exclusive
+            // keeping the max in a local rather than reloading xs[lo + max] lets the loop run branch free
+            int max = child;
+            long v = xs[lo + child];
+            for (int j = child + 1; j < last; j++) {
+                long y = xs[lo + j];
+                if (y > v) {
+                    v = y;
+                    max = j;
+                }
+            }
+            xs[lo + i] = v;
+            i = max;
+        }
+        while (i > top) {
+            int parent = (i - 1) >> shift;
+            if (xs[lo + parent] >= x) break;
+            xs[lo + i] = xs[lo + parent];
+            i = parent;
+        }
+        xs[lo + i] = x;
+    }
+
+    // siftDown for binary heaps, kept apart so the two children are compared without a loop
+    private static void siftDownBinary(long[] xs, int lo, int i, int size, long x) {
+        int top = i, lastParent = (size - 2) >> 1;
+        while (i <= lastParent) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && xs[lo + child] < xs[lo + child + 1]) child++; //max of children
+            xs[lo + i] = xs[lo + child];
+            i = child;
+        }
+        while (i > top) {
+            int parent = (i - 1) >> 1;
+            if (xs[lo + parent] >= x) break;
+            xs[lo + i] = xs[lo + parent];
+            i = parent;
         }
+        xs[lo + i] = x;
+    }
+
+    // end of generated long code
+
+    // double arrays: generated from templates/algos/Heapsort.java.template by tools/GenerateSorts.java, do not edit
+
+    /**
+     * bottom up heapsort on an implicit 8-ary heap for an array of doubles in the order of {@link Double#compare},
+     * see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs array to sort
+     */
+    public static void sort(double[] xs) {
+        sort(xs, 0, xs.length - 1);
+    }
+
+    /**
+     * bottom up heapsort on an implicit heap with the given number of children per node for an array of
+     * doubles in the order of {@link Double#compare}, see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs    array to sort
+     * @param arity children per node, 2, 4, 8 or 16
+     */
+    public static void sort(double[] xs, int arity) {
+        sort(xs, 0, xs.length - 1, arity);
+    }
+
+    /**
+     * bottom up heapsort on the subarray xs[lo..hi] of an array of doubles in the order of {@link Double#compare}
+     * with an 8-ary heap, see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     */
+    public static void sort(double[] xs, int lo, int hi) {
+        heapsort(xs, lo, hi, DEFAULT_SHIFT);
+    }
+
+    /**
+     * bottom up heapsort on the subarray xs[lo..hi] of an array of doubles in the order of {@link Double#compare}
+     * with an implicit d-ary max heap, see {@link #sort(int[], int, int, int)}
+     *
+     * @param xs    array to sort
+     * @param lo    start of subarray
+     * @param hi    end of subarray (inclusive)
+     * @param arity children per node, 2, 4, 8 or 16
+     */
+    public static void sort(double[] xs, int lo, int hi, int arity) {
+        heapsort(xs, lo, hi, shift(arity));
+    }
+
+    private static void heapsort(double[] xs, int lo, int hi, int shift) {
+        hi = Misc.moveNaNsToEnd(xs, lo, hi);
+        int size = hi - lo + 1;
+        if (size < 2) return;
+        // build heap from the last parent back up to the root
+        for (int i = (size - 2) >> shift; i >= 0; i--)
+            siftDown(xs, lo, i, size, shift, xs[lo + i]);
+        // sort by repeated delete max, the max goes to the end and the last element goes into the hole at the root
+        for (int end = size - 1; end > 0; end--) {
+            double x = xs[lo + end];
+            xs[lo + end] = xs[lo];
+            siftDown(xs, lo, 0, end, shift, x);
+        }
+        Misc.orderZeros(xs, lo, hi);
+    }
+
+    // fills the hole at i of the heap xs[lo..lo+size) with x: the hole is first moved down to a leaf, always
+    // swapping with the larger child, then x is bubbled up from there but never above i
+    private static void siftDown(double[] xs, int lo, int i, int size, int shift, double x) {
+        if (shift == 1) {
+            siftDownBinary(xs, lo, i, size, x);
+            return;
+        }
+        int top = i, lastParent = (size - 2) >> shift;
+        while (i <= lastParent) {
+            int child = (i << shift) + 1, last = Math.min(child + (1 << shift), size); //last is exclusive
+            // keeping the max in a local rather than reloading xs[lo + max] lets the loop run branch free
+            int max = child;
+            double v = xs[lo + child];
+            for (int j = child + 1; j < last; j++) {
+                double y = xs[lo + j];
+                if (y > v) {
+                    v = y;
+                    max = j;
+                }
+            }
+            xs[lo + i] = v;
+            i = max;
+        }
+        while (i > top) {
+            int parent = (i - 1) >> shift;
+            if (xs[lo + parent] >= x) break;
+            xs[lo + i] = xs[lo + parent];
+            i = parent;
+        }
+        xs[lo + i] = x;
+    }
+
+    // siftDown for binary heaps, kept apart so the two children are compared without a loop
+    private static void siftDownBinary(double[] xs, int lo, int i, int size, double x) {
+        int top = i, lastParent = (size - 2) >> 1;
+        while (i <= lastParent) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && xs[lo + child] < xs[lo + child + 1]) child++; //max of children
+            xs[lo + i] = xs[lo + child];
+            i = child;
+        }
+        while (i > top) {
+            int parent = (i - 1) >> 1;
+            if (xs[lo + parent] >= x) break;
+            xs[lo + i] = xs[lo + parent];
+            i = parent;
+        }
+        xs[lo + i] = x;
+    }
+
+    // end of generated double code
+
+    /**
+     * sorts an array of shorts with {@link Counting#sort(short[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void sort(short[] xs) {
+        Counting.sort(xs);
+    }
+
+    /**
+     * sorts an array of chars with {@link Counting#sort(char[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void sort(char[] xs) {
+        Counting.sort(xs);
+    }
+
+    /**
+     * sorts an array of bytes with {@link Counting#sort(byte[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void sort(byte[] xs) {
+        Counting.sort(xs);
     }
 }
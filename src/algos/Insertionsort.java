@@ -1,16 +1,58 @@
 package algos;
 
+import java.util.Comparator;
+
 public class Insertionsort {
+    // shifts larger elements right instead of swapping, so each step is a single write
     protected static void sort(int[] xs, int lo, int hi){
         for (int i = lo + 1; i <= hi; i++){
             int ind = i ;
             int x = xs[i];
             while (ind > lo && x < xs[ind-1]){
-                Misc.swap(xs,ind,ind-1);
+                xs[ind] = xs[ind-1];
+                ind--;
+            }
+            xs[ind] = x;
+        }
+    }
+
+    protected static void sort(long[] xs, int lo, int hi){
+        for (int i = lo + 1; i <= hi; i++){
+            int ind = i ;
+            long x = xs[i];
+            while (ind > lo && x < xs[ind-1]){
+                xs[ind] = xs[ind-1];
+                ind--;
+            }
+            xs[ind] = x;
+        }
+    }
+
+    protected static void sort(double[] xs, int lo, int hi){
+        for (int i = lo + 1; i <= hi; i++){
+            int ind = i ;
+            double x = xs[i];
+            while (ind > lo && x < xs[ind-1]){
+                xs[ind] = xs[ind-1];
                 ind--;
             }
+            xs[ind] = x;
         }
     }
+
+    // comparator version of sort(int[], int, int)
+    protected static <T> void sort(T[] xs, int lo, int hi, Comparator<? super T> c){
+        for (int i = lo + 1; i <= hi; i++){
+            int ind = i ;
+            T x = xs[i];
+            while (ind > lo && c.compare(x, xs[ind-1]) < 0){
+                xs[ind] = xs[ind-1];
+                ind--;
+            }
+            xs[ind] = x;
+        }
+    }
+
     /**
      * Standard implementation of insertion sort which compares with previous element and swaps
      * possible optimizations are to binary search for position due to loop invariant,
@@ -20,4 +62,46 @@ public class Insertionsort {
     public static void sort(int[] xs){
         sort(xs,0,xs.length-1);
     }
+
+    /**
+     * insertion sort for an array of longs, see {@link #sort(int[])}
+     * @param xs array to sort
+     */
+    public static void sort(long[] xs){
+        sort(xs,0,xs.length-1);
+    }
+
+    /**
+     * insertion sort for an array of doubles in the order of {@link Double#compare}, see {@link #sort(int[])}
+     * @param xs array to sort
+     */
+    public static void sort(double[] xs){
+        int hi = Misc.moveNaNsToEnd(xs,0,xs.length-1);
+        sort(xs,0,hi);
+        Misc.orderZeros(xs,0,hi);
+    }
+
+    /**
+     * sorts an array of shorts with {@link Counting#sort(short[])}, which is linear for types this small
+     * @param xs array to sort
+     */
+    public static void sort(short[] xs){
+        Counting.sort(xs);
+    }
+
+    /**
+     * sorts an array of chars with {@link Counting#sort(char[])}, which is linear for types this small
+     * @param xs array to sort
+     */
+    public static void sort(char[] xs){
+        Counting.sort(xs);
+    }
+
+    /**
+     * sorts an array of bytes with {@link Counting#sort(byte[])}, which is linear for types this small
+     * @param xs array to sort
+     */
+    public static void sort(byte[] xs){
+        Counting.sort(xs);
+    }
 }
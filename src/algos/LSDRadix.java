@@ -4,7 +4,10 @@ public class LSDRadix {
 
     private static int charAt(String str, int d) {
         if (d < 0) throw new IllegalArgumentException("negative digit not allowed");
-        return d >= str.length() ? 0 : str.charAt(d);
+        if (d >= str.length()) return 0;
+        char c = str.charAt(d);
+        if (c > 255) throw new IllegalArgumentException("character outside extended ascii, use MSDRadix instead");
+        return c;
     }
 
     // differs from charAt since leading 0s are needed as opposed to trailing 0s
@@ -58,26 +61,227 @@ public class LSDRadix {
     }
 
     /**
-     * Sorts an arbitrary array of unsigned integers using Least-Significant digit radix sort {@link #sort(int[], int)}.
-     * implicitly pads strings to max length with leading 0s via a bound check in {@link #digitAt(int, int, int)}
-     * since {@code digitAt} uses leading 0s as opposed to trailing 0s, an additional length argument is required
+     * Sorts an array of integers using Least-Significant digit radix sort on base 256 digits (bytes),
+     * see {@link #sort(int[], int[])}
      *
      * @param xs array to sort
      * @return reference to array (now sorted)
      */
     public static int[] sort(int[] xs) {
-        int maxlen = 0;
+        return sort(xs, new int[xs.length]);
+    }
+
+    /**
+     * Sorts an array of integers using Least-Significant digit radix sort on base 256 digits (bytes), taking at
+     * most 4 passes regardless of the values. negative numbers are handled by flipping the sign bit of the most
+     * significant byte, so the full int range is supported. the histograms of all digits are computed in a single
+     * pass over the array beforehand, so that passes in which every element has the same digit can be skipped
+     * altogether. the passes alternate between the array and the given buffer instead of copying back each time.
+     *
+     * @param xs   array to sort
+     * @param temp buffer of at least the same length as the array, its contents are overwritten
+     * @return reference to array (now sorted)
+     */
+    public static int[] sort(int[] xs, int[] temp) {
+        if (temp.length < xs.length) throw new IllegalArgumentException("buffer is smaller than the array to sort");
+        return sort(xs, 0, xs.length - 1, temp);
+    }
+
+    /**
+     * Sorts the subarray xs[lo..hi] using Least-Significant digit radix sort on base 256 digits (bytes),
+     * see {@link #sort(int[], int[])}
+     *
+     * @param xs   array to sort
+     * @param lo   start of subarray
+     * @param hi   end of subarray (inclusive)
+     * @param temp buffer of at least the length of the subarray, its start is used no matter where the subarray is
+     * @return reference to array (now sorted in xs[lo..hi])
+     */
+    public static int[] sort(int[] xs, int lo, int hi, int[] temp) {
+        int n = hi - lo + 1;
+        if (n < 2) return xs;
+        if (temp.length < n) throw new IllegalArgumentException("buffer is smaller than the subarray to sort");
+        int[] count = new int[4 * 256];
+        for (int i = lo; i <= hi; i++) {
+            int x = xs[i];
+            count[x & 0xff]++;
+            count[256 + (x >>> 8 & 0xff)]++;
+            count[512 + (x >>> 16 & 0xff)]++;
+            count[768 + (x >>> 24 ^ 0x80)]++;
+        }
+        // the subarray starts at lo in xs but at 0 in temp
+        int[] src = xs, dst = temp;
+        int srcOff = lo, dstOff = 0;
+        for (int d = 0; d < 4; d++) {
+            int shift = 8 * d, base = 256 * d, flip = d == 3 ? 0x80 : 0;
+            if (count[base + (xs[lo] >>> shift & 0xff ^ flip)] == n) continue; //every element has the same digit
+            // turn counts into starting indices
+            for (int i = 0, sum = dstOff; i < 256; i++) {
+                int c = count[base + i];
+                count[base + i] = sum;
+                sum += c;
+            }
+            for (int i = srcOff; i < srcOff + n; i++) {
+                int x = src[i];
+                dst[count[base + (x >>> shift & 0xff ^ flip)]++] = x;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+            int o = srcOff;
+            srcOff = dstOff;
+            dstOff = o;
+        }
+        if (src != xs) System.arraycopy(src, srcOff, xs, lo, n);
+        return xs;
+    }
+
+    /**
+     * Sorts an array of longs using Least-Significant digit radix sort on base 256 digits (bytes),
+     * see {@link #sort(long[], long[])}
+     *
+     * @param xs array to sort
+     * @return reference to array (now sorted)
+     */
+    public static long[] sort(long[] xs) {
+        return sort(xs, new long[xs.length]);
+    }
+
+    /**
+     * Sorts an array of longs using Least-Significant digit radix sort on base 256 digits (bytes), taking at most
+     * 8 passes. works the same way as {@link #sort(int[], int[])}
+     *
+     * @param xs   array to sort
+     * @param temp buffer of at least the same length as the array, its contents are overwritten
+     * @return reference to array (now sorted)
+     */
+    public static long[] sort(long[] xs, long[] temp) {
+        int n = xs.length;
+        if (n < 2) return xs;
+        if (temp.length < n) throw new IllegalArgumentException("buffer is smaller than the array to sort");
+        int[] count = new int[8 * 256];
         for (var x : xs) {
-            maxlen = Math.max(maxlen, (int) Math.log10(x) + 1);
+            for (int d = 0; d < 7; d++)
+                count[256 * d + (int) (x >>> 8 * d & 0xff)]++;
+            count[7 * 256 + (int) (x >>> 56 ^ 0x80)]++;
         }
-        return sort(xs, maxlen);
+        long[] src = xs, dst = temp;
+        for (int d = 0; d < 8; d++) {
+            int shift = 8 * d, base = 256 * d, flip = d == 7 ? 0x80 : 0;
+            if (count[base + (int) (xs[0] >>> shift & 0xff ^ flip)] == n) continue;
+            for (int i = 0, sum = 0; i < 256; i++) {
+                int c = count[base + i];
+                count[base + i] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                long x = src[i];
+                dst[count[base + (int) (x >>> shift & 0xff ^ flip)]++] = x;
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != xs) System.arraycopy(src, 0, xs, 0, n);
+        return xs;
+    }
+
+    /**
+     * stable argsort of an array of integers: computes the permutation which sorts the keys, without moving them.
+     * uses the same byte wise passes as {@link #sort(int[], int[])}, carrying the indices along with the keys
+     *
+     * @param keys keys to sort by
+     * @return array of indices such that keys[perm[0]] <= keys[perm[1]] <= ..., equal keys in original order
+     */
+    public static int[] argsort(int[] keys) {
+        int n = keys.length;
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++)
+            perm[i] = i;
+        if (n < 2) return perm;
+        int[] count = new int[4 * 256];
+        for (var x : keys) {
+            count[x & 0xff]++;
+            count[256 + (x >>> 8 & 0xff)]++;
+            count[512 + (x >>> 16 & 0xff)]++;
+            count[768 + (x >>> 24 ^ 0x80)]++;
+        }
+        int[] src = keys.clone(), dst = new int[n];
+        int[] isrc = perm, idst = new int[n];
+        for (int d = 0; d < 4; d++) {
+            int shift = 8 * d, base = 256 * d, flip = d == 3 ? 0x80 : 0;
+            if (count[base + (keys[0] >>> shift & 0xff ^ flip)] == n) continue;
+            for (int i = 0, sum = 0; i < 256; i++) {
+                int c = count[base + i];
+                count[base + i] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int x = src[i];
+                int j = count[base + (x >>> shift & 0xff ^ flip)]++;
+                dst[j] = x;
+                idst[j] = isrc[i];
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+            int[] it = isrc;
+            isrc = idst;
+            idst = it;
+        }
+        return isrc;
+    }
+
+    /**
+     * stable argsort of an array of longs: computes the permutation which sorts the keys, without moving them.
+     * uses the same byte wise passes as {@link #sort(long[], long[])}, carrying the indices along with the keys
+     *
+     * @param keys keys to sort by
+     * @return array of indices such that keys[perm[0]] <= keys[perm[1]] <= ..., equal keys in original order
+     */
+    public static int[] argsort(long[] keys) {
+        int n = keys.length;
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++)
+            perm[i] = i;
+        if (n < 2) return perm;
+        int[] count = new int[8 * 256];
+        for (var x : keys) {
+            for (int d = 0; d < 7; d++)
+                count[256 * d + (int) (x >>> 8 * d & 0xff)]++;
+            count[7 * 256 + (int) (x >>> 56 ^ 0x80)]++;
+        }
+        long[] src = keys.clone(), dst = new long[n];
+        int[] isrc = perm, idst = new int[n];
+        for (int d = 0; d < 8; d++) {
+            int shift = 8 * d, base = 256 * d, flip = d == 7 ? 0x80 : 0;
+            if (count[base + (int) (keys[0] >>> shift & 0xff ^ flip)] == n) continue;
+            for (int i = 0, sum = 0; i < 256; i++) {
+                int c = count[base + i];
+                count[base + i] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                long x = src[i];
+                int j = count[base + (int) (x >>> shift & 0xff ^ flip)]++;
+                dst[j] = x;
+                idst[j] = isrc[i];
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+            int[] it = isrc;
+            isrc = idst;
+            idst = it;
+        }
+        return isrc;
     }
 
     /**
      * sorts an array of unsigned integers with {@code maxLen} digits using least significant digit (LSD) radix sort,
      * giving a worst case of n * maxLen time (assuming constant time logarithm and power function). However since
-     * java integers are bounded to 2^31-1, this is effectively a linear time guarantee. A better LSD sorting algorithm
-     * would probably sort using base 2 digits, which leaves maxLen = 32 but removes the need to call log10 and pow.
+     * java integers are bounded to 2^31-1, this is effectively a linear time guarantee. {@link #sort(int[], int[])}
+     * sorts on bytes instead, which needs at most 4 passes and removes the need to call log10 and pow.
      *
      * @param xs     array to sort
      * @param maxLen length of elements
@@ -0,0 +1,104 @@
+package algos;
+
+/**
+ * tournament tree of losers for k-way merging of sorted sequences of longs (ints are widened). each internal node
+ * holds the source which lost the match played there, and the overall winner (the source with the smallest current
+ * value) is kept on top. after the winner's value is replaced by the next value of the same source, only the
+ * matches on the path from that source's leaf to the root are replayed, which takes exactly log2 k comparisons
+ * against the losers stored along it (a binary heap needs up to two per level). sources which have run out lose
+ * every match. ties go to the source with the smaller index, so merges are stable.
+ */
+final class LoserTree {
+    private final int k;
+    // tree[0] is the winner, tree[1..k-1] the losers of the internal nodes, leaves are implicit at k..2k-1
+    private final int[] tree;
+    private final long[] keys;
+    private final boolean[] done;
+
+    /**
+     * builds the tree from the first value of every source
+     *
+     * @param keys first value of every source, updated in place as sources advance
+     * @param done which sources are empty from the start, updated in place as sources run out
+     */
+    LoserTree(long[] keys, boolean[] done) {
+        this.k = keys.length;
+        this.keys = keys;
+        this.done = done;
+        tree = new int[Math.max(k, 1)];
+        if (k < 2) return;
+        // play all matches bottom up, winners only needed while building
+        int[] winners = new int[2 * k];
+        for (int i = 0; i < k; i++)
+            winners[k + i] = i;
+        for (int node = k - 1; node >= 1; node--) {
+            int a = winners[2 * node], b = winners[2 * node + 1];
+            if (beats(b, a)) {
+                winners[node] = b;
+                tree[node] = a;
+            } else {
+                winners[node] = a;
+                tree[node] = b;
+            }
+        }
+        tree[0] = winners[1];
+    }
+
+    /**
+     * @return whether every source has run out
+     */
+    boolean isEmpty() {
+        return k == 0 || done[tree[0]];
+    }
+
+    /**
+     * @return index of the source holding the smallest current value
+     */
+    int winner() {
+        return tree[0];
+    }
+
+    /**
+     * @return the smallest current value
+     */
+    long winnerKey() {
+        return keys[tree[0]];
+    }
+
+    /**
+     * replaces the value of the winning source by its next value and finds the new winner
+     *
+     * @param key next value of the winning source
+     */
+    void replaceWinner(long key) {
+        keys[tree[0]] = key;
+        replay();
+    }
+
+    /**
+     * marks the winning source as exhausted and finds the new winner
+     */
+    void exhaustWinner() {
+        done[tree[0]] = true;
+        replay();
+    }
+
+    private void replay() {
+        int w = tree[0];
+        for (int node = (w + k) >> 1; node > 0; node >>= 1) {
+            if (beats(tree[node], w)) {
+                int t = tree[node];
+                tree[node] = w;
+                w = t;
+            }
+        }
+        tree[0] = w;
+    }
+
+    // whether source a wins against source b
+    private boolean beats(int a, int b) {
+        if (done[a]) return false;
+        if (done[b]) return true;
+        return keys[a] < keys[b] || keys[a] == keys[b] && a < b;
+    }
+}
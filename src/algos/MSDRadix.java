@@ -0,0 +1,164 @@
+package algos;
+
+import java.util.Arrays;
+
+/**
+ * Most-Significant digit radix sort for strings. unlike {@link LSDRadix#sort(String[])}, only the characters up to
+ * the point where strings differ are ever looked at, so a single long string does not slow down the whole sort.
+ * digits are the high and low bytes of each UTF-16 char, which keeps the count arrays at 256 (+1 for end of string)
+ * entries while still supporting every char value. small subarrays are handed to 3-way string quicksort.
+ */
+public class MSDRadix {
+    // subarrays at or below this length are sorted with 3-way string quicksort
+    private static final int CUTOFF = 64;
+    // subarrays at or below this length are sorted with insertion sort by 3-way string quicksort
+    private static final int INSERTION_CUTOFF = 8;
+
+    private final String[] aux;
+    // count arrays are reused for every subarray at the same digit
+    private int[][] counts = new int[16][];
+
+    private MSDRadix(int n) {
+        aux = new String[n];
+    }
+
+    /**
+     * sorts an array of strings in the order of {@link String#compareTo} using MSD radix sort
+     *
+     * @param xs array to sort
+     * @return reference to array (now sorted)
+     */
+    public static String[] sort(String[] xs) {
+        if (xs.length <= CUTOFF) {
+            quick3(xs, 0, xs.length - 1, 0);
+            return xs;
+        }
+        new MSDRadix(xs.length).msd(xs, 0, xs.length - 1, 0);
+        return xs;
+    }
+
+    // d-th byte of the string (two per char, high byte first) or -1 past the end
+    private static int digitAt(String str, int d) {
+        int i = d >> 1;
+        if (i >= str.length()) return -1;
+        int c = str.charAt(i);
+        return (d & 1) == 0 ? c >>> 8 : c & 0xff;
+    }
+
+    // d-th char of the string or -1 past the end
+    private static int charAt(String str, int d) {
+        return d < str.length() ? str.charAt(d) : -1;
+    }
+
+    private int[] count(int d) {
+        if (d >= counts.length) {
+            var ncounts = new int[Math.max(d + 1, counts.length * 2)][];
+            System.arraycopy(counts, 0, ncounts, 0, counts.length);
+            counts = ncounts;
+        }
+        if (counts[d] == null) counts[d] = new int[258];
+        return counts[d];
+    }
+
+    // sorts xs[lo..hi], all of which share their first d digits
+    private void msd(String[] xs, int lo, int hi, int d) {
+        while (hi - lo >= CUTOFF) {
+            int[] count = count(d);
+            Arrays.fill(count, 0);
+            for (int i = lo; i <= hi; i++)
+                count[digitAt(xs[i], d) + 2]++;
+            // shared digit: nothing to distribute, skip straight past the prefix shared by every string
+            // (or stop if all strings ended)
+            int first = digitAt(xs[lo], d);
+            if (count[first + 2] == hi - lo + 1) {
+                if (first < 0) return;
+                d = Math.max(d + 1, 2 * commonPrefix(xs, lo, hi, d >> 1));
+                continue;
+            }
+            for (int r = 0; r < 257; r++)
+                count[r + 1] += count[r];
+            for (int i = lo; i <= hi; i++)
+                aux[count[digitAt(xs[i], d) + 1]++] = xs[i];
+            System.arraycopy(aux, 0, xs, lo, hi - lo + 1);
+            // count[r] now holds the start of the bucket for digit r, the strings which ended are already in place
+            for (int r = 0; r < 256; r++) {
+                int l = lo + count[r], h = lo + count[r + 1] - 1;
+                if (h > l) msd(xs, l, h, d + 1);
+            }
+            return;
+        }
+        // both bytes of a char are compared at once from here on, strings share every char before d / 2
+        quick3(xs, lo, hi, d >> 1);
+    }
+
+    // length of the prefix shared by all of xs[lo..hi], which are known to share their first d chars
+    private static int commonPrefix(String[] xs, int lo, int hi, int d) {
+        var s = xs[lo];
+        int len = s.length();
+        for (int i = lo + 1; i <= hi && len > d; i++) {
+            var t = xs[i];
+            int j = d, max = Math.min(len, t.length());
+            while (j < max && s.charAt(j) == t.charAt(j)) j++;
+            len = j;
+        }
+        return len;
+    }
+
+    // 3-way string quicksort on xs[lo..hi], all of which share their first d chars
+    private static void quick3(String[] xs, int lo, int hi, int d) {
+        while (hi - lo > INSERTION_CUTOFF) {
+            medianOfThree(xs, lo, (lo + hi) >>> 1, hi, d);
+            int lt = lo, gt = hi, i = lo + 1;
+            int v = charAt(xs[lo], d);
+            while (i <= gt) {
+                int c = charAt(xs[i], d);
+                if (c < v) swap(xs, lt++, i++);
+                else if (c > v) swap(xs, i, gt--);
+                else i++;
+            }
+            // recurse on both sides and loop on the middle, which is usually the largest for shared prefixes
+            quick3(xs, lo, lt - 1, d);
+            quick3(xs, gt + 1, hi, d);
+            if (v < 0) return; //middle strings all ended, so they are equal
+            lo = lt;
+            hi = gt;
+            d++;
+        }
+        insertion(xs, lo, hi, d);
+    }
+
+    // moves the median of the d-th chars of xs[a], xs[b] and xs[c] to index a
+    private static void medianOfThree(String[] xs, int a, int b, int c, int d) {
+        int ca = charAt(xs[a], d), cb = charAt(xs[b], d), cc = charAt(xs[c], d);
+        int m = ca < cb ? (cb < cc ? b : ca < cc ? c : a) : (ca < cc ? a : cb < cc ? c : b);
+        swap(xs, a, m);
+    }
+
+    private static void insertion(String[] xs, int lo, int hi, int d) {
+        for (int i = lo + 1; i <= hi; i++) {
+            var x = xs[i];
+            int j = i;
+            while (j > lo && less(x, xs[j - 1], d)) {
+                xs[j] = xs[j - 1];
+                j--;
+            }
+            xs[j] = x;
+        }
+    }
+
+    // compares two strings which share their first d chars
+    private static boolean less(String a, String b, int d) {
+        int len = Math.min(a.length(), b.length());
+        for (int i = d; i < len; i++) {
+            char x = a.charAt(i), y = b.charAt(i);
+            if (x != y) return x < y;
+        }
+        return a.length() < b.length();
+    }
+
+    private static void swap(String[] xs, int i, int j) {
+        var x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+    }
+}
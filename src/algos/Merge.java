@@ -0,0 +1,809 @@
+package algos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * merging of sorted sequences: two sorted arrays into a destination, two adjacent runs of one array in place with
+ * a buffer of bounded size, and any number of sorted arrays or iterators at once through a tournament tree of
+ * losers. large two way merges can be split along the merge path and run in parallel. all merges are stable, of
+ * equal values the one from the earlier input comes first, and apart from the versions which create their output
+ * array, none allocates memory proportional to its input.
+ */
+public class Merge {
+    // smallest part of a parallel merge handed to a single thread
+    private static final int MIN_SEGMENT = 1 << 16;
+
+    /**
+     * merges two sorted arrays into a destination, see {@link #merge(int[], int, int, int[], int, int, int[], int)}
+     *
+     * @param a   first sorted array
+     * @param b   second sorted array
+     * @param dst destination of at least the combined length, must not be a or b
+     * @return reference to the destination
+     */
+    public static int[] merge(int[] a, int[] b, int[] dst) {
+        merge(a, 0, a.length - 1, b, 0, b.length - 1, dst, 0);
+        return dst;
+    }
+
+    /**
+     * merges the sorted subarrays a[aLo..aHi] and b[bLo..bHi] into dst, starting at index dstLo. the destination
+     * must not overlap either input, use {@link #mergeInPlace(int[], int, int, int, int[])} for adjacent runs.
+     *
+     * @param a     first array
+     * @param aLo   start of the first run
+     * @param aHi   end of the first run (inclusive)
+     * @param b     second array
+     * @param bLo   start of the second run
+     * @param bHi   end of the second run (inclusive)
+     * @param dst   destination
+     * @param dstLo index of the destination to write the first element to
+     */
+    public static void merge(int[] a, int aLo, int aHi, int[] b, int bLo, int bHi, int[] dst, int dstLo) {
+        if ((long) dstLo + (aHi - aLo + 1) + (bHi - bLo + 1) > dst.length)
+            throw new IllegalArgumentException("destination is too short for both runs");
+        mergeRange(a, aLo, aHi + 1, b, bLo, bHi + 1, dst, dstLo);
+    }
+
+    // half open version of merge, shared with the parallel merge
+    private static void mergeRange(int[] a, int i, int aEnd, int[] b, int j, int bEnd, int[] dst, int k) {
+        while (i < aEnd && j < bEnd)
+            dst[k++] = b[j] < a[i] ? b[j++] : a[i++];
+        if (i < aEnd) System.arraycopy(a, i, dst, k, aEnd - i);
+        else if (j < bEnd) System.arraycopy(b, j, dst, k, bEnd - j);
+    }
+
+    /**
+     * merges the adjacent sorted runs xs[lo..mid] and xs[mid+1..hi] in place, using no more memory than the given
+     * buffer. as soon as the shorter of two runs fits in the buffer, it is moved out and merged back in from its
+     * end of the range, which takes linear time. longer runs are first cut in two: the middle of the longer run is
+     * looked up in the shorter one by binary search, the pieces between the two cuts are swapped by a rotation, and
+     * the two halves this leaves are merged independently. so a buffer of half the length gives a linear merge, and
+     * no buffer at all still gives n log n.
+     *
+     * @param xs     array holding both runs
+     * @param lo     start of the first run
+     * @param mid    end of the first run (inclusive), the second run starts right after it
+     * @param hi     end of the second run (inclusive)
+     * @param buffer scratch space of any length (possibly 0), its contents are overwritten
+     */
+    public static void mergeInPlace(int[] xs, int lo, int mid, int hi, int[] buffer) {
+        if (lo < 0 || mid < lo - 1 || hi < mid || hi >= xs.length)
+            throw new IllegalArgumentException("runs are not adjacent subarrays of the array");
+        inPlace(xs, lo, mid + 1, hi + 1, buffer);
+    }
+
+    // merges the half open runs xs[lo..mid) and xs[mid..hi)
+    private static void inPlace(int[] xs, int lo, int mid, int hi, int[] buf) {
+        // runs which are already in order need nothing
+        while (lo < mid && mid < hi && xs[mid] < xs[mid - 1]) {
+            int n1 = mid - lo, n2 = hi - mid;
+            if (n1 <= n2 && n1 <= buf.length) {
+                mergeLo(xs, lo, mid, hi, buf);
+                return;
+            }
+            if (n2 < n1 && n2 <= buf.length) {
+                mergeHi(xs, lo, mid, hi, buf);
+                return;
+            }
+            // equal values of the second run stay behind those of the first
+            int cut1, cut2;
+            if (n1 >= n2) {
+                cut1 = lo + (n1 >>> 1);
+                cut2 = lowerBound(xs, mid, hi, xs[cut1]);
+            } else {
+                cut2 = mid + (n2 >>> 1);
+                cut1 = upperBound(xs, lo, mid, xs[cut2]);
+            }
+            rotate(xs, cut1, mid, cut2, buf);
+            int m = cut1 + (cut2 - mid);
+            // recurse into the shorter half and loop on the longer one, which bounds the stack depth by log n
+            if (m - lo < hi - m) {
+                inPlace(xs, lo, cut1, m, buf);
+                lo = m;
+                mid = cut2;
+            } else {
+                inPlace(xs, m, cut2, hi, buf);
+                hi = m;
+                mid = cut1;
+            }
+        }
+    }
+
+    // merges front to back with the first run moved to the buffer, the second run is never overwritten too early
+    private static void mergeLo(int[] xs, int lo, int mid, int hi, int[] buf) {
+        int n1 = mid - lo;
+        System.arraycopy(xs, lo, buf, 0, n1);
+        int i = 0, j = mid, k = lo;
+        while (i < n1 && j < hi)
+            xs[k++] = xs[j] < buf[i] ? xs[j++] : buf[i++];
+        System.arraycopy(buf, i, xs, k, n1 - i);
+    }
+
+    // merges back to front with the second run moved to the buffer
+    private static void mergeHi(int[] xs, int lo, int mid, int hi, int[] buf) {
+        int n2 = hi - mid;
+        System.arraycopy(xs, mid, buf, 0, n2);
+        int i = mid - 1, j = n2 - 1, k = hi - 1;
+        while (i >= lo && j >= 0)
+            xs[k--] = buf[j] < xs[i] ? xs[i--] : buf[j--];
+        System.arraycopy(buf, 0, xs, lo, j + 1);
+    }
+
+    // swaps xs[lo..mid) and xs[mid..hi), through the buffer if the shorter piece fits, by three reversals if not
+    private static void rotate(int[] xs, int lo, int mid, int hi, int[] buf) {
+        int n1 = mid - lo, n2 = hi - mid;
+        if (n1 == 0 || n2 == 0) return;
+        if (n1 <= n2 && n1 <= buf.length) {
+            System.arraycopy(xs, lo, buf, 0, n1);
+            System.arraycopy(xs, mid, xs, lo, n2);
+            System.arraycopy(buf, 0, xs, lo + n2, n1);
+        } else if (n2 < n1 && n2 <= buf.length) {
+            System.arraycopy(xs, mid, buf, 0, n2);
+            System.arraycopy(xs, lo, xs, lo + n2, n1);
+            System.arraycopy(buf, 0, xs, lo, n2);
+        } else {
+            reverse(xs, lo, mid - 1);
+            reverse(xs, mid, hi - 1);
+            reverse(xs, lo, hi - 1);
+        }
+    }
+
+    private static void reverse(int[] xs, int lo, int hi) {
+        while (lo < hi) {
+            int x = xs[lo];
+            xs[lo++] = xs[hi];
+            xs[hi--] = x;
+        }
+    }
+
+    // first index in xs[lo..hi) holding a value >= key
+    private static int lowerBound(int[] xs, int lo, int hi, int key) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (xs[m] < key) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
+    // first index in xs[lo..hi) holding a value > key
+    private static int upperBound(int[] xs, int lo, int hi, int key) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (xs[m] <= key) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
+    /**
+     * merges the adjacent sorted runs xs[lo..mid] and xs[mid+1..hi] of objects in place with a bounded buffer,
+     * see {@link #mergeInPlace(int[], int, int, int, int[])}
+     *
+     * @param xs     array holding both runs
+     * @param lo     start of the first run
+     * @param mid    end of the first run (inclusive), the second run starts right after it
+     * @param hi     end of the second run (inclusive)
+     * @param buffer scratch space of any length (possibly 0), its contents are overwritten
+     * @param c      comparator both runs are sorted by
+     * @param <T>    type of elements
+     */
+    public static <T> void mergeInPlace(T[] xs, int lo, int mid, int hi, T[] buffer, Comparator<? super T> c) {
+        if (lo < 0 || mid < lo - 1 || hi < mid || hi >= xs.length)
+            throw new IllegalArgumentException("runs are not adjacent subarrays of the array");
+        inPlace(xs, lo, mid + 1, hi + 1, buffer, c);
+    }
+
+    private static <T> void inPlace(T[] xs, int lo, int mid, int hi, T[] buf, Comparator<? super T> c) {
+        while (lo < mid && mid < hi && c.compare(xs[mid], xs[mid - 1]) < 0) {
+            int n1 = mid - lo, n2 = hi - mid;
+            if (n1 <= n2 && n1 <= buf.length) {
+                mergeLo(xs, lo, mid, hi, buf, c);
+                return;
+            }
+            if (n2 < n1 && n2 <= buf.length) {
+                mergeHi(xs, lo, mid, hi, buf, c);
+                return;
+            }
+            int cut1, cut2;
+            if (n1 >= n2) {
+                cut1 = lo + (n1 >>> 1);
+                cut2 = lowerBound(xs, mid, hi, xs[cut1], c);
+            } else {
+                cut2 = mid + (n2 >>> 1);
+                cut1 = upperBound(xs, lo, mid, xs[cut2], c);
+            }
+            rotate(xs, cut1, mid, cut2, buf);
+            int m = cut1 + (cut2 - mid);
+            if (m - lo < hi - m) {
+                inPlace(xs, lo, cut1, m, buf, c);
+                lo = m;
+                mid = cut2;
+            } else {
+                inPlace(xs, m, cut2, hi, buf, c);
+                hi = m;
+                mid = cut1;
+            }
+        }
+    }
+
+    private static <T> void mergeLo(T[] xs, int lo, int mid, int hi, T[] buf, Comparator<? super T> c) {
+        int n1 = mid - lo;
+        System.arraycopy(xs, lo, buf, 0, n1);
+        int i = 0, j = mid, k = lo;
+        while (i < n1 && j < hi)
+            xs[k++] = c.compare(xs[j], buf[i]) < 0 ? xs[j++] : buf[i++];
+        System.arraycopy(buf, i, xs, k, n1 - i);
+        // drop the references left in the buffer
+        Arrays.fill(buf, 0, n1, null);
+    }
+
+    private static <T> void mergeHi(T[] xs, int lo, int mid, int hi, T[] buf, Comparator<? super T> c) {
+        int n2 = hi - mid;
+        System.arraycopy(xs, mid, buf, 0, n2);
+        int i = mid - 1, j = n2 - 1, k = hi - 1;
+        while (i >= lo && j >= 0)
+            xs[k--] = c.compare(buf[j], xs[i]) < 0 ? xs[i--] : buf[j--];
+        System.arraycopy(buf, 0, xs, lo, j + 1);
+        Arrays.fill(buf, 0, n2, null);
+    }
+
+    private static void rotate(Object[] xs, int lo, int mid, int hi, Object[] buf) {
+        int n1 = mid - lo, n2 = hi - mid;
+        if (n1 == 0 || n2 == 0) return;
+        if (n1 <= n2 && n1 <= buf.length) {
+            System.arraycopy(xs, lo, buf, 0, n1);
+            System.arraycopy(xs, mid, xs, lo, n2);
+            System.arraycopy(buf, 0, xs, lo + n2, n1);
+            Arrays.fill(buf, 0, n1, null);
+        } else if (n2 < n1 && n2 <= buf.length) {
+            System.arraycopy(xs, mid, buf, 0, n2);
+            System.arraycopy(xs, lo, xs, lo + n2, n1);
+            System.arraycopy(buf, 0, xs, lo, n2);
+            Arrays.fill(buf, 0, n2, null);
+        } else {
+            reverse(xs, lo, mid - 1);
+            reverse(xs, mid, hi - 1);
+            reverse(xs, lo, hi - 1);
+        }
+    }
+
+    private static void reverse(Object[] xs, int lo, int hi) {
+        while (lo < hi) {
+            Object x = xs[lo];
+            xs[lo++] = xs[hi];
+            xs[hi--] = x;
+        }
+    }
+
+    private static <T> int lowerBound(T[] xs, int lo, int hi, T key, Comparator<? super T> c) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (c.compare(xs[m], key) < 0) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
+    private static <T> int upperBound(T[] xs, int lo, int hi, T key, Comparator<? super T> c) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (c.compare(xs[m], key) <= 0) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
+    /**
+     * merges any number of sorted arrays into a new array, see {@link #merge(int[][], int[])}
+     *
+     * @param runs sorted arrays
+     * @return sorted array holding the elements of all runs
+     */
+    public static int[] merge(int[][] runs) {
+        long total = 0;
+        for (var run : runs)
+            total += run.length;
+        if (total > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("runs are too long for one array");
+        return merge(runs, new int[(int) total]);
+    }
+
+    /**
+     * merges any number of sorted arrays into a destination in a single pass. the smallest head of all runs is
+     * found with a {@link LoserTree}, which takes log2 k comparisons per element for k runs.
+     *
+     * @param runs sorted arrays
+     * @param dst  destination of at least the combined length of all runs
+     * @return reference to the destination
+     */
+    public static int[] merge(int[][] runs, int[] dst) {
+        int k = runs.length;
+        long[] heads = new long[k];
+        boolean[] done = new boolean[k];
+        // index of the next element of every run
+        int[] next = new int[k];
+        long total = 0;
+        for (int i = 0; i < k; i++) {
+            total += runs[i].length;
+            if (runs[i].length > 0) {
+                heads[i] = runs[i][0];
+                next[i] = 1;
+            } else done[i] = true;
+        }
+        if (total > dst.length) throw new IllegalArgumentException("destination is too short for all runs");
+        var tree = new LoserTree(heads, done);
+        for (int out = 0; !tree.isEmpty(); out++) {
+            int w = tree.winner();
+            dst[out] = (int) tree.winnerKey();
+            int[] run = runs[w];
+            if (next[w] < run.length) tree.replaceWinner(run[next[w]++]);
+            else tree.exhaustWinner();
+        }
+        return dst;
+    }
+
+    /**
+     * merges two sorted arrays into a destination in parallel on the common fork/join pool,
+     * see {@link #parallelMerge(int[], int[], int[], ForkJoinPool)}
+     *
+     * @param a   first sorted array
+     * @param b   second sorted array
+     * @param dst destination of at least the combined length, must not be a or b
+     * @return reference to the destination
+     */
+    public static int[] parallelMerge(int[] a, int[] b, int[] dst) {
+        return parallelMerge(a, b, dst, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * merges two sorted arrays into a destination in parallel. the output is cut into equal segments, and for
+     * the start of each segment a binary search along its diagonal of the merge path (the sequence of choices
+     * between a and b a sequential merge makes) finds how many elements of a and b come before it. the segments
+     * are then merged independently, each thread writing to its own part of the destination.
+     *
+     * @param a    first sorted array
+     * @param b    second sorted array
+     * @param dst  destination of at least the combined length, must not be a or b
+     * @param pool pool to run the merge in
+     * @return reference to the destination
+     */
+    public static int[] parallelMerge(int[] a, int[] b, int[] dst, ForkJoinPool pool) {
+        int n = a.length + b.length;
+        if (n < 0 || n > dst.length) throw new IllegalArgumentException("destination is too short for both arrays");
+        int segments = Math.min(4 * pool.getParallelism(), n / MIN_SEGMENT);
+        if (segments <= 1) mergeRange(a, 0, a.length, b, 0, b.length, dst, 0);
+        else pool.invoke(new PathMerger(a, b, dst, 0, segments, segments));
+        return dst;
+    }
+
+    // number of elements of a among the first d elements of the merge of a and b, ties going to a
+    private static int split(int[] a, int[] b, int d) {
+        int lo = Math.max(0, d - b.length), hi = Math.min(d, a.length);
+        while (lo < hi) {
+            int i = (lo + hi) >>> 1;
+            if (a[i] <= b[d - i - 1]) lo = i + 1; //a[i] comes before b[d - i - 1], so more of a is needed
+            else hi = i;
+        }
+        return lo;
+    }
+
+    /**
+     * merges the output segments [from, to) out of the given number of equal segments, halving the range of
+     * segments until a single one is left
+     */
+    @SuppressWarnings("serial")
+    private static final class PathMerger extends RecursiveAction {
+        private final int[] a, b, dst;
+        private final int from, to, segments;
+
+        PathMerger(int[] a, int[] b, int[] dst, int from, int to, int segments) {
+            this.a = a;
+            this.b = b;
+            this.dst = dst;
+            this.from = from;
+            this.to = to;
+            this.segments = segments;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PathMerger(a, b, dst, from, mid, segments), new PathMerger(a, b, dst, mid, to, segments));
+                return;
+            }
+            long n = a.length + b.length;
+            int d0 = (int) (n * from / segments), d1 = (int) (n * to / segments);
+            int i0 = split(a, b, d0), i1 = split(a, b, d1);
+            mergeRange(a, i0, i1, b, d0 - i0, d1 - i1, dst, d0);
+        }
+    }
+
+    // long arrays: same as the int code above
+
+    /**
+     * merges two sorted arrays of longs into a destination, see {@link #merge(int[], int, int, int[], int, int, int[], int)}
+     *
+     * @param a   first sorted array
+     * @param b   second sorted array
+     * @param dst destination of at least the combined length, must not be a or b
+     * @return reference to the destination
+     */
+    public static long[] merge(long[] a, long[] b, long[] dst) {
+        merge(a, 0, a.length - 1, b, 0, b.length - 1, dst, 0);
+        return dst;
+    }
+
+    /**
+     * merges the sorted subarrays a[aLo..aHi] and b[bLo..bHi] of longs into dst, starting at index dstLo,
+     * see {@link #merge(int[], int, int, int[], int, int, int[], int)}
+     *
+     * @param a     first array
+     * @param aLo   start of the first run
+     * @param aHi   end of the first run (inclusive)
+     * @param b     second array
+     * @param bLo   start of the second run
+     * @param bHi   end of the second run (inclusive)
+     * @param dst   destination
+     * @param dstLo index of the destination to write the first element to
+     */
+    public static void merge(long[] a, int aLo, int aHi, long[] b, int bLo, int bHi, long[] dst, int dstLo) {
+        if ((long) dstLo + (aHi - aLo + 1) + (bHi - bLo + 1) > dst.length)
+            throw new IllegalArgumentException("destination is too short for both runs");
+        mergeRange(a, aLo, aHi + 1, b, bLo, bHi + 1, dst, dstLo);
+    }
+
+    private static void mergeRange(long[] a, int i, int aEnd, long[] b, int j, int bEnd, long[] dst, int k) {
+        while (i < aEnd && j < bEnd)
+            dst[k++] = b[j] < a[i] ? b[j++] : a[i++];
+        if (i < aEnd) System.arraycopy(a, i, dst, k, aEnd - i);
+        else if (j < bEnd) System.arraycopy(b, j, dst, k, bEnd - j);
+    }
+
+    /**
+     * merges the adjacent sorted runs xs[lo..mid] and xs[mid+1..hi] of longs in place with a bounded buffer,
+     * see {@link #mergeInPlace(int[], int, int, int, int[])}
+     *
+     * @param xs     array holding both runs
+     * @param lo     start of the first run
+     * @param mid    end of the first run (inclusive), the second run starts right after it
+     * @param hi     end of the second run (inclusive)
+     * @param buffer scratch space of any length (possibly 0), its contents are overwritten
+     */
+    public static void mergeInPlace(long[] xs, int lo, int mid, int hi, long[] buffer) {
+        if (lo < 0 || mid < lo - 1 || hi < mid || hi >= xs.length)
+            throw new IllegalArgumentException("runs are not adjacent subarrays of the array");
+        inPlace(xs, lo, mid + 1, hi + 1, buffer);
+    }
+
+    private static void inPlace(long[] xs, int lo, int mid, int hi, long[] buf) {
+        while (lo < mid && mid < hi && xs[mid] < xs[mid - 1]) {
+            int n1 = mid - lo, n2 = hi - mid;
+            if (n1 <= n2 && n1 <= buf.length) {
+                mergeLo(xs, lo, mid, hi, buf);
+                return;
+            }
+            if (n2 < n1 && n2 <= buf.length) {
+                mergeHi(xs, lo, mid, hi, buf);
+                return;
+            }
+            int cut1, cut2;
+            if (n1 >= n2) {
+                cut1 = lo + (n1 >>> 1);
+                cut2 = lowerBound(xs, mid, hi, xs[cut1]);
+            } else {
+                cut2 = mid + (n2 >>> 1);
+                cut1 = upperBound(xs, lo, mid, xs[cut2]);
+            }
+            rotate(xs, cut1, mid, cut2, buf);
+            int m = cut1 + (cut2 - mid);
+            if (m - lo < hi - m) {
+                inPlace(xs, lo, cut1, m, buf);
+                lo = m;
+                mid = cut2;
+            } else {
+                inPlace(xs, m, cut2, hi, buf);
+                hi = m;
+                mid = cut1;
+            }
+        }
+    }
+
+    private static void mergeLo(long[] xs, int lo, int mid, int hi, long[] buf) {
+        int n1 = mid - lo;
+        System.arraycopy(xs, lo, buf, 0, n1);
+        int i = 0, j = mid, k = lo;
+        while (i < n1 && j < hi)
+            xs[k++] = xs[j] < buf[i] ? xs[j++] : buf[i++];
+        System.arraycopy(buf, i, xs, k, n1 - i);
+    }
+
+    private static void mergeHi(long[] xs, int lo, int mid, int hi, long[] buf) {
+        int n2 = hi - mid;
+        System.arraycopy(xs, mid, buf, 0, n2);
+        int i = mid - 1, j = n2 - 1, k = hi - 1;
+        while (i >= lo && j >= 0)
+            xs[k--] = buf[j] < xs[i] ? xs[i--] : buf[j--];
+        System.arraycopy(buf, 0, xs, lo, j + 1);
+    }
+
+    private static void rotate(long[] xs, int lo, int mid, int hi, long[] buf) {
+        int n1 = mid - lo, n2 = hi - mid;
+        if (n1 == 0 || n2 == 0) return;
+        if (n1 <= n2 && n1 <= buf.length) {
+            System.arraycopy(xs, lo, buf, 0, n1);
+            System.arraycopy(xs, mid, xs, lo, n2);
+            System.arraycopy(buf, 0, xs, lo + n2, n1);
+        } else if (n2 < n1 && n2 <= buf.length) {
+            System.arraycopy(xs, mid, buf, 0, n2);
+            System.arraycopy(xs, lo, xs, lo + n2, n1);
+            System.arraycopy(buf, 0, xs, lo, n2);
+        } else {
+            reverse(xs, lo, mid - 1);
+            reverse(xs, mid, hi - 1);
+            reverse(xs, lo, hi - 1);
+        }
+    }
+
+    private static void reverse(long[] xs, int lo, int hi) {
+        while (lo < hi) {
+            long x = xs[lo];
+            xs[lo++] = xs[hi];
+            xs[hi--] = x;
+        }
+    }
+
+    private static int lowerBound(long[] xs, int lo, int hi, long key) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (xs[m] < key) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
+    private static int upperBound(long[] xs, int lo, int hi, long key) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (xs[m] <= key) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
+    /**
+     * merges any number of sorted arrays of longs into a new array, see {@link #merge(int[][], int[])}
+     *
+     * @param runs sorted arrays
+     * @return sorted array holding the elements of all runs
+     */
+    public static long[] merge(long[][] runs) {
+        long total = 0;
+        for (var run : runs)
+            total += run.length;
+        if (total > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("runs are too long for one array");
+        return merge(runs, new long[(int) total]);
+    }
+
+    /**
+     * merges any number of sorted arrays of longs into a destination in a single pass,
+     * see {@link #merge(int[][], int[])}
+     *
+     * @param runs sorted arrays
+     * @param dst  destination of at least the combined length of all runs
+     * @return reference to the destination
+     */
+    public static long[] merge(long[][] runs, long[] dst) {
+        int k = runs.length;
+        long[] heads = new long[k];
+        boolean[] done = new boolean[k];
+        int[] next = new int[k];
+        long total = 0;
+        for (int i = 0; i < k; i++) {
+            total += runs[i].length;
+            if (runs[i].length > 0) {
+                heads[i] = runs[i][0];
+                next[i] = 1;
+            } else done[i] = true;
+        }
+        if (total > dst.length) throw new IllegalArgumentException("destination is too short for all runs");
+        var tree = new LoserTree(heads, done);
+        for (int out = 0; !tree.isEmpty(); out++) {
+            int w = tree.winner();
+            dst[out] = tree.winnerKey();
+            long[] run = runs[w];
+            if (next[w] < run.length) tree.replaceWinner(run[next[w]++]);
+            else tree.exhaustWinner();
+        }
+        return dst;
+    }
+
+    /**
+     * merges two sorted arrays of longs into a destination in parallel on the common fork/join pool,
+     * see {@link #parallelMerge(int[], int[], int[], ForkJoinPool)}
+     *
+     * @param a   first sorted array
+     * @param b   second sorted array
+     * @param dst destination of at least the combined length, must not be a or b
+     * @return reference to the destination
+     */
+    public static long[] parallelMerge(long[] a, long[] b, long[] dst) {
+        return parallelMerge(a, b, dst, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * merges two sorted arrays of longs into a destination in parallel,
+     * see {@link #parallelMerge(int[], int[], int[], ForkJoinPool)}
+     *
+     * @param a    first sorted array
+     * @param b    second sorted array
+     * @param dst  destination of at least the combined length, must not be a or b
+     * @param pool pool to run the merge in
+     * @return reference to the destination
+     */
+    public static long[] parallelMerge(long[] a, long[] b, long[] dst, ForkJoinPool pool) {
+        int n = a.length + b.length;
+        if (n < 0 || n > dst.length) throw new IllegalArgumentException("destination is too short for both arrays");
+        int segments = Math.min(4 * pool.getParallelism(), n / MIN_SEGMENT);
+        if (segments <= 1) mergeRange(a, 0, a.length, b, 0, b.length, dst, 0);
+        else pool.invoke(new LongPathMerger(a, b, dst, 0, segments, segments));
+        return dst;
+    }
+
+    private static int split(long[] a, long[] b, int d) {
+        int lo = Math.max(0, d - b.length), hi = Math.min(d, a.length);
+        while (lo < hi) {
+            int i = (lo + hi) >>> 1;
+            if (a[i] <= b[d - i - 1]) lo = i + 1;
+            else hi = i;
+        }
+        return lo;
+    }
+
+    @SuppressWarnings("serial")
+    private static final class LongPathMerger extends RecursiveAction {
+        private final long[] a, b, dst;
+        private final int from, to, segments;
+
+        LongPathMerger(long[] a, long[] b, long[] dst, int from, int to, int segments) {
+            this.a = a;
+            this.b = b;
+            this.dst = dst;
+            this.from = from;
+            this.to = to;
+            this.segments = segments;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new LongPathMerger(a, b, dst, from, mid, segments),
+                        new LongPathMerger(a, b, dst, mid, to, segments));
+                return;
+            }
+            long n = a.length + b.length;
+            int d0 = (int) (n * from / segments), d1 = (int) (n * to / segments);
+            int i0 = split(a, b, d0), i1 = split(a, b, d1);
+            mergeRange(a, i0, i1, b, d0 - i0, d1 - i1, dst, d0);
+        }
+    }
+
+    // iterators
+
+    /**
+     * lazily merges sorted iterators in their natural order, see {@link #merge(Iterable, Comparator)}
+     *
+     * @param sources iterators, each returning its elements in ascending order
+     * @param <T>     type of elements
+     * @return iterator over the elements of all sources in ascending order
+     */
+    public static <T extends Comparable<? super T>> Iterator<T> merge(Iterable<? extends Iterator<? extends T>> sources) {
+        return merge(sources, Comparator.naturalOrder());
+    }
+
+    /**
+     * lazily merges sorted iterators in the order given by a comparator. every source is advanced only when its
+     * current element is returned, so the sources may be unbounded or expensive to read, such as lines of files.
+     * the smallest current element is kept on top of a tournament tree of losers, like
+     * {@link LoserTree} does for longs, so every element costs log2 k comparisons for k sources.
+     *
+     * @param sources iterators, each returning its elements in ascending order
+     * @param c       comparator the sources are sorted by
+     * @param <T>     type of elements
+     * @return iterator over the elements of all sources in ascending order, equal elements in the order of sources
+     */
+    public static <T> Iterator<T> merge(Iterable<? extends Iterator<? extends T>> sources, Comparator<? super T> c) {
+        var list = new ArrayList<Iterator<? extends T>>();
+        for (var source : sources)
+            list.add(source);
+        return new MergingIterator<>(list, c);
+    }
+
+    /**
+     * the same tree as {@link LoserTree}, comparing the current elements of the sources with a comparator
+     */
+    private static final class MergingIterator<T> implements Iterator<T> {
+        private final ArrayList<Iterator<? extends T>> sources;
+        private final Comparator<? super T> c;
+        private final int k;
+        // tree[0] is the winner, tree[1..k-1] the losers of the internal nodes
+        private final int[] tree;
+        private final Object[] heads;
+        private final boolean[] done;
+
+        MergingIterator(ArrayList<Iterator<? extends T>> sources, Comparator<? super T> c) {
+            this.sources = sources;
+            this.c = c;
+            k = sources.size();
+            heads = new Object[k];
+            done = new boolean[k];
+            for (int i = 0; i < k; i++) {
+                if (sources.get(i).hasNext()) heads[i] = sources.get(i).next();
+                else done[i] = true;
+            }
+            tree = new int[Math.max(k, 1)];
+            if (k < 2) return;
+            int[] winners = new int[2 * k];
+            for (int i = 0; i < k; i++)
+                winners[k + i] = i;
+            for (int node = k - 1; node >= 1; node--) {
+                int a = winners[2 * node], b = winners[2 * node + 1];
+                if (beats(b, a)) {
+                    winners[node] = b;
+                    tree[node] = a;
+                } else {
+                    winners[node] = a;
+                    tree[node] = b;
+                }
+            }
+            tree[0] = winners[1];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return k > 0 && !done[tree[0]];
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int w = tree[0];
+            T x = cast(heads[w]);
+            var source = sources.get(w);
+            if (source.hasNext()) heads[w] = source.next();
+            else {
+                heads[w] = null;
+                done[w] = true;
+            }
+            for (int node = (w + k) >> 1; node > 0; node >>= 1) {
+                if (beats(tree[node], w)) {
+                    int t = tree[node];
+                    tree[node] = w;
+                    w = t;
+                }
+            }
+            tree[0] = w;
+            return x;
+        }
+
+        private boolean beats(int a, int b) {
+            if (done[a]) return false;
+            if (done[b]) return true;
+            int cmp = c.compare(cast(heads[a]), cast(heads[b]));
+            return cmp < 0 || cmp == 0 && a < b;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T cast(Object x) {
+            return (T) x;
+        }
+    }
+}
@@ -1,6 +1,23 @@
 package algos;
 
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * top down mergesort for primitive and object arrays, and an in place version for objects. every sort here is
+ * stable: merges take ties from the left run, and the insertion sort for short subarrays only moves an element past
+ * strictly greater ones, so equal elements never change their relative order.
+ */
 public class Mergesort {
+    // subarrays of at most this length + 1 are sorted with insertion sort
+    private static final int CUTOFF = 7;
+    // runs of this length are insertion sorted before the in place sort starts merging
+    private static final int IN_PLACE_RUN = 16;
+    // size of the buffer the in place sort merges through, fixed so that its extra memory does not grow with n
+    private static final int IN_PLACE_BUFFER = 256;
+    // the same for int arrays, which the leaf sort can handle in longer pieces with a sorting network
+    private static final int LEAF_CUTOFF = SmallSort.VECTORIZED ? SmallSort.MAX - 1 : CUTOFF;
+
     // merge subroutine, which merges two sorted subsections
     protected static void merge(int[] xs, int lo, int mid, int hi) {
         //[1,2,3,4,1,3,4,5]
@@ -19,30 +36,299 @@ public class Mergesort {
                 xs[k] = right[j++];
             else if (j >= lr)  //right out of bounds
                 xs[k] = left[i++];
-            else if (left[i] < right[j]) //left smaller
+            else if (left[i] <= right[j]) //left smaller or equal, so ties keep their order
                 xs[k] = left[i++];
             else //right smaller
                 xs[k] = right[j++];
         }
     }
 
-    // private method for recursion: hides lo and hi parameters
-    private static void mergesort(int[] xs, int lo, int hi) {
-        if (lo >= hi) return; //array of size 0 or 1, already sorted
+    // merges the sorted runs src[lo..mid] and src[mid+1..hi] into dst[lo..hi], ties taken from the left run
+    private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+        int i = lo, j = mid + 1;
+        for (int k = lo; k <= hi; k++) {
+            if (i > mid) //left exhausted
+                dst[k] = src[j++];
+            else if (j > hi) //right exhausted
+                dst[k] = src[i++];
+            else if (src[j] < src[i]) //right strictly smaller
+                dst[k] = src[j++];
+            else
+                dst[k] = src[i++];
+        }
+    }
+
+    // sorts dst[lo..hi] using src[lo..hi] (which holds the same values) as scratch space.
+    // the roles of the two arrays swap at each level, so no copying back is needed after a merge
+    private static void mergesort(int[] src, int[] dst, int lo, int hi) {
+        if (hi - lo < LEAF_CUTOFF) {
+            SmallSort.sort(dst, lo, hi);
+            return;
+        }
         int m = lo + (hi - lo) / 2; //uses subtraction as opposed to addition for average to avoid integer overflow
-        mergesort(xs, lo, m);//sort left subarray
-        mergesort(xs, m + 1, hi);//sort right subarray
-        merge(xs, lo, m, hi);
+        mergesort(dst, src, lo, m); //sort left half of src using dst as scratch
+        mergesort(dst, src, m + 1, hi); //sort right half of src using dst as scratch
+        if (src[m] <= src[m + 1]) { //halves already in order, nothing to merge
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+        merge(src, dst, lo, m, hi);
     }
 
     /**
-     * rather naive mergesort which creates 2 sub-arrays upon each merge operation
-     * possible optimizations bei   ng to use insertion sort on small sub-arrays
-     * and to use an auxiliary array of size N
+     * top down mergesort which allocates a single auxiliary array for the whole sort
+     * see {@link #sort(int[], int[])}
      *
      * @param xs array to sort
      */
     public static void sort(int[] xs) {
-        mergesort(xs, 0, xs.length - 1);
+        sort(xs, xs.length > LEAF_CUTOFF + 1 ? new int[xs.length] : xs);
+    }
+
+    /**
+     * top down mergesort using a caller supplied scratch buffer, so that repeated sorts do not allocate.
+     * the recursion alternates between the array and the buffer as source and destination of each merge,
+     * small subarrays are sorted with insertion sort and merges of halves which are already in order are skipped.
+     *
+     * @param xs  array to sort
+     * @param aux scratch buffer of at least the same length as the array, its contents are overwritten
+     */
+    public static void sort(int[] xs, int[] aux) {
+        if (xs.length <= LEAF_CUTOFF + 1) {
+            SmallSort.sort(xs, 0, xs.length - 1);
+            return;
+        }
+        if (aux.length < xs.length)
+            throw new IllegalArgumentException("scratch buffer is smaller than the array to sort");
+        System.arraycopy(xs, 0, aux, 0, xs.length);
+        mergesort(aux, xs, 0, xs.length - 1);
+    }
+
+    // long arrays: generated from templates/algos/Mergesort.java.template by tools/GenerateSorts.java, do not edit
+
+    // merges the sorted runs src[lo..mid] and src[mid+1..hi] into dst[lo..hi], ties taken from the left run
+    private static void merge(long[] src, long[] dst, int lo, int mid, int hi) {
+        int i = lo, j = mid + 1;
+        for (int k = lo; k <= hi; k++) {
+            if (i > mid) //left exhausted
+                dst[k] = src[j++];
+            else if (j > hi) //right exhausted
+                dst[k] = src[i++];
+            else if (src[j] < src[i]) //right strictly smaller
+                dst[k] = src[j++];
+            else
+                dst[k] = src[i++];
+        }
+    }
+
+    // sorts dst[lo..hi] using src[lo..hi] (which holds the same values) as scratch space.
+    // the roles of the two arrays swap at each level, so no copying back is needed after a merge
+    private static void mergesort(long[] src, long[] dst, int lo, int hi) {
+        if (hi - lo < CUTOFF) {
+            Insertionsort.sort(dst, lo, hi);
+            return;
+        }
+        int m = lo + (hi - lo) / 2; //uses subtraction as opposed to addition for average to avoid integer overflow
+        mergesort(dst, src, lo, m); //sort left half of src using dst as scratch
+        mergesort(dst, src, m + 1, hi); //sort right half of src using dst as scratch
+        if (src[m] <= src[m + 1]) { //halves already in order, nothing to merge
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+        merge(src, dst, lo, m, hi);
+    }
+
+    /**
+     * top down mergesort for an array of longs,
+     * see {@link #sort(int[], int[])}
+     *
+     * @param xs array to sort
+     */
+    public static void sort(long[] xs) {
+        sort(xs, xs.length > CUTOFF + 1 ? new long[xs.length] : xs);
+    }
+
+    /**
+     * top down mergesort for an array of longs using a caller supplied
+     * scratch buffer, see {@link #sort(int[], int[])}
+     *
+     * @param xs  array to sort
+     * @param aux scratch buffer of at least the same length as the array, its contents are overwritten
+     */
+    public static void sort(long[] xs, long[] aux) {
+        int hi = xs.length - 1;
+        if (hi <= CUTOFF) {
+            Insertionsort.sort(xs, 0, hi);
+        } else {
+            if (aux.length < xs.length)
+                throw new IllegalArgumentException("scratch buffer is smaller than the array to sort");
+            System.arraycopy(xs, 0, aux, 0, hi + 1);
+            mergesort(aux, xs, 0, hi);
+        }
+    }
+
+    // end of generated long code
+
+    // double arrays: generated from templates/algos/Mergesort.java.template by tools/GenerateSorts.java, do not edit
+
+    // merges the sorted runs src[lo..mid] and src[mid+1..hi] into dst[lo..hi], ties taken from the left run
+    private static void merge(double[] src, double[] dst, int lo, int mid, int hi) {
+        int i = lo, j = mid + 1;
+        for (int k = lo; k <= hi; k++) {
+            if (i > mid) //left exhausted
+                dst[k] = src[j++];
+            else if (j > hi) //right exhausted
+                dst[k] = src[i++];
+            else if (src[j] < src[i]) //right strictly smaller
+                dst[k] = src[j++];
+            else
+                dst[k] = src[i++];
+        }
+    }
+
+    // sorts dst[lo..hi] using src[lo..hi] (which holds the same values) as scratch space.
+    // the roles of the two arrays swap at each level, so no copying back is needed after a merge
+    private static void mergesort(double[] src, double[] dst, int lo, int hi) {
+        if (hi - lo < CUTOFF) {
+            Insertionsort.sort(dst, lo, hi);
+            return;
+        }
+        int m = lo + (hi - lo) / 2; //uses subtraction as opposed to addition for average to avoid integer overflow
+        mergesort(dst, src, lo, m); //sort left half of src using dst as scratch
+        mergesort(dst, src, m + 1, hi); //sort right half of src using dst as scratch
+        if (src[m] <= src[m + 1]) { //halves already in order, nothing to merge
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+        merge(src, dst, lo, m, hi);
+    }
+
+    /**
+     * top down mergesort for an array of doubles in the order of {@link Double#compare},
+     * see {@link #sort(int[], int[])}
+     *
+     * @param xs array to sort
+     */
+    public static void sort(double[] xs) {
+        sort(xs, xs.length > CUTOFF + 1 ? new double[xs.length] : xs);
+    }
+
+    /**
+     * top down mergesort for an array of doubles in the order of {@link Double#compare} using a caller supplied
+     * scratch buffer, see {@link #sort(int[], int[])}
+     *
+     * @param xs  array to sort
+     * @param aux scratch buffer of at least the same length as the array, its contents are overwritten
+     */
+    public static void sort(double[] xs, double[] aux) {
+        int hi = Misc.moveNaNsToEnd(xs, 0, xs.length - 1);
+        if (hi <= CUTOFF) {
+            Insertionsort.sort(xs, 0, hi);
+        } else {
+            if (aux.length < xs.length)
+                throw new IllegalArgumentException("scratch buffer is smaller than the array to sort");
+            System.arraycopy(xs, 0, aux, 0, hi + 1);
+            mergesort(aux, xs, 0, hi);
+        }
+        Misc.orderZeros(xs, 0, hi);
+    }
+
+    // end of generated double code
+
+    // object arrays: same as the int code above, comparing through a comparator
+
+    /**
+     * stable top down mergesort of an object array in the order given by a comparator, allocating a single
+     * auxiliary array of the same length. see {@link #sortInPlace(Object[], Comparator)} for a version which
+     * needs no memory proportional to the length.
+     *
+     * @param xs  array to sort
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void sort(T[] xs, Comparator<? super T> c) {
+        if (xs.length <= CUTOFF + 1) {
+            Insertionsort.sort(xs, 0, xs.length - 1, c);
+            return;
+        }
+        mergesort(xs.clone(), xs, 0, xs.length - 1, c);
+    }
+
+    private static <T> void merge(T[] src, T[] dst, int lo, int mid, int hi, Comparator<? super T> c) {
+        int i = lo, j = mid + 1;
+        for (int k = lo; k <= hi; k++) {
+            if (i > mid)
+                dst[k] = src[j++];
+            else if (j > hi)
+                dst[k] = src[i++];
+            else if (c.compare(src[j], src[i]) < 0)
+                dst[k] = src[j++];
+            else
+                dst[k] = src[i++];
+        }
+    }
+
+    private static <T> void mergesort(T[] src, T[] dst, int lo, int hi, Comparator<? super T> c) {
+        if (hi - lo < CUTOFF) {
+            Insertionsort.sort(dst, lo, hi, c);
+            return;
+        }
+        int m = lo + (hi - lo) / 2;
+        mergesort(dst, src, lo, m, c);
+        mergesort(dst, src, m + 1, hi, c);
+        if (c.compare(src[m], src[m + 1]) <= 0) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+        merge(src, dst, lo, m, hi, c);
+    }
+
+    /**
+     * stable in place mergesort of an object array in the order given by a comparator, for arrays too large to
+     * afford a second array of the same length. runs of 16 elements are insertion sorted, and then merged bottom
+     * up, pairs of runs of doubling length at a time, with {@link Merge#mergeInPlace(Object[], int, int, int,
+     * Object[], Comparator)} through a buffer of fixed size. the extra memory is that buffer and a recursion
+     * depth of log n, the price is a running time of n log^2 n once runs outgrow the buffer.
+     *
+     * @param xs  array to sort
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void sortInPlace(T[] xs, Comparator<? super T> c) {
+        int n = xs.length;
+        for (int lo = 0; lo < n; lo += IN_PLACE_RUN)
+            Insertionsort.sort(xs, lo, Math.min(lo + IN_PLACE_RUN, n) - 1, c);
+        if (n <= IN_PLACE_RUN) return;
+        T[] buffer = Arrays.copyOf(xs, Math.min(IN_PLACE_BUFFER, n / 2));
+        for (int width = IN_PLACE_RUN; width < n; width <<= 1)
+            for (int lo = 0; lo < n - width; lo += width << 1)
+                Merge.mergeInPlace(xs, lo, lo + width - 1, Math.min(lo + (width << 1), n) - 1, buffer, c);
+    }
+
+    /**
+     * sorts an array of shorts with {@link Counting#sort(short[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void sort(short[] xs) {
+        Counting.sort(xs);
+    }
+
+    /**
+     * sorts an array of chars with {@link Counting#sort(char[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void sort(char[] xs) {
+        Counting.sort(xs);
+    }
+
+    /**
+     * sorts an array of bytes with {@link Counting#sort(byte[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void sort(byte[] xs) {
+        Counting.sort(xs);
     }
 }
@@ -1,5 +1,6 @@
 package algos;
 
+import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -53,14 +54,13 @@ public class Misc {
      *
      * @param xs array to partition
      * @param lo start of subarray
-     * @param hi end of subarray
+     * @param hi end of subarray (inclusive)
      * @return the start and end of the subarray of values equal to the partitioning element
      */
     public static Pair threePartition(int[] xs, int lo, int hi) {
-        if (hi - lo < 2) return new Pair(lo, hi);
         int lt = lo, i = lo;
         int gt = hi;
-        int pivot = xs[0];
+        int pivot = xs[lo];
         while (i <= gt) {
             int x = xs[i];
             if (x < pivot) {
@@ -77,6 +77,251 @@ public class Misc {
         return new Pair(lt, gt);
     }
 
+    /**
+     * Checks whether an index is in bounds of an array, see {@link #inBounds(int[], int)}
+     *
+     * @param xs array
+     * @param i  index
+     * @return whether the index is in bounds
+     */
+    public static boolean inBounds(long[] xs, int i) {
+        return i >= 0 && i < xs.length;
+    }
+
+    /**
+     * swaps the values of two indices within the array
+     *
+     * @param xs array
+     * @param i  first index
+     * @param j  second index
+     * @throws ArrayIndexOutOfBoundsException if either index is outside the array
+     */
+    public static void swap(long[] xs, int i, int j) {
+        long x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+    }
+
+    /**
+     * Partitions an array of longs around xs[lo], see {@link #threePartition(int[], int, int)}
+     *
+     * @param xs array to partition
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     * @return the start and end of the subarray of values equal to the partitioning element
+     */
+    public static Pair threePartition(long[] xs, int lo, int hi) {
+        int lt = lo, i = lo;
+        int gt = hi;
+        long pivot = xs[lo];
+        while (i <= gt) {
+            long x = xs[i];
+            if (x < pivot) {
+                swap(xs, i, lt);
+                lt++;
+                i++;
+            } else if (x > pivot) {
+                swap(xs, i, gt);
+                gt--;
+            } else {
+                i++;
+            }
+        }
+        return new Pair(lt, gt);
+    }
+
+    /**
+     * Checks whether an index is in bounds of an array, see {@link #inBounds(int[], int)}
+     *
+     * @param xs array
+     * @param i  index
+     * @return whether the index is in bounds
+     */
+    public static boolean inBounds(double[] xs, int i) {
+        return i >= 0 && i < xs.length;
+    }
+
+    /**
+     * swaps the values of two indices within the array
+     *
+     * @param xs array
+     * @param i  first index
+     * @param j  second index
+     * @throws ArrayIndexOutOfBoundsException if either index is outside the array
+     */
+    public static void swap(double[] xs, int i, int j) {
+        double x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+    }
+
+    /**
+     * Partitions an array of doubles around xs[lo], see {@link #threePartition(int[], int, int)}
+     *
+     * @param xs array to partition
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     * @return the start and end of the subarray of values equal to the partitioning element
+     */
+    public static Pair threePartition(double[] xs, int lo, int hi) {
+        int lt = lo, i = lo;
+        int gt = hi;
+        double pivot = xs[lo];
+        while (i <= gt) {
+            double x = xs[i];
+            if (x < pivot) {
+                swap(xs, i, lt);
+                lt++;
+                i++;
+            } else if (x > pivot) {
+                swap(xs, i, gt);
+                gt--;
+            } else {
+                i++;
+            }
+        }
+        return new Pair(lt, gt);
+    }
+
+    /**
+     * moves every NaN in xs[lo..hi] to the end of the subarray, so that the other values can be sorted with
+     * {@code <}. NaNs are the largest values in the order of {@link Double#compare}, so they are already in place.
+     *
+     * @param xs array
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     * @return index of the last value which is not NaN (lo - 1 if there is none)
+     */
+    public static int moveNaNsToEnd(double[] xs, int lo, int hi) {
+        while (hi >= lo && Double.isNaN(xs[hi])) hi--;
+        for (int i = hi - 1; i >= lo; i--) {
+            if (Double.isNaN(xs[i])) {
+                double x = xs[i];
+                xs[i] = xs[hi];
+                xs[hi--] = x;
+            }
+        }
+        return hi;
+    }
+
+    /**
+     * puts the negative zeros in a sorted subarray in front of the positive ones. {@code <} considers -0.0 and 0.0
+     * to be equal, so after sorting with it they are mixed together, while {@link Double#compare} orders -0.0 first.
+     *
+     * @param xs array, sorted in xs[lo..hi]
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     */
+    public static void orderZeros(double[] xs, int lo, int hi) {
+        // binary search for the first value >= 0.0, which is the first zero if there are any
+        int l = lo, h = hi + 1;
+        while (l < h) {
+            int m = (l + h) >>> 1;
+            if (xs[m] < 0.0) l = m + 1;
+            else h = m;
+        }
+        int negatives = 0, end = l;
+        for (; end <= hi && xs[end] == 0.0; end++)
+            if (Double.doubleToRawLongBits(xs[end]) < 0) negatives++;
+        for (int i = l; i < end; i++)
+            xs[i] = i < l + negatives ? -0.0 : 0.0;
+    }
+
+    /**
+     * reorders several columns in place by the same permutation, such as one returned by an argsort, so that
+     * afterwards columns[c][i] holds what was at columns[c][perm[i]]. each column is reordered by following the
+     * cycles of the permutation, moving every element once and needing no copy of the column. while a column is
+     * being reordered, visited positions are marked by flipping the bits of their entries in perm, which are
+     * flipped back before returning.
+     *
+     * @param perm    permutation of 0..n-1, left unchanged
+     * @param columns int[], long[], double[] or Object[] arrays of length n (a single object array has to be cast
+     *                to Object, otherwise it is taken as the array of columns)
+     */
+    public static void applyPermutation(int[] perm, Object... columns) {
+        int n = perm.length;
+        for (var column : columns) {
+            if (!(column instanceof int[] || column instanceof long[] || column instanceof double[]
+                    || column instanceof Object[]))
+                throw new IllegalArgumentException("columns must be int, long, double or object arrays");
+            if (Array.getLength(column) != n)
+                throw new IllegalArgumentException("every column must have the length of the permutation");
+        }
+        boolean[] seen = new boolean[n];
+        for (var p : perm) {
+            if (p < 0 || p >= n || seen[p]) throw new IllegalArgumentException("not a permutation");
+            seen[p] = true;
+        }
+        for (var column : columns) {
+            if (column instanceof int[] xs) permute(perm, xs);
+            else if (column instanceof long[] xs) permute(perm, xs);
+            else if (column instanceof double[] xs) permute(perm, xs);
+            else permute(perm, (Object[]) column);
+            for (int i = 0; i < n; i++)
+                perm[i] = ~perm[i];
+        }
+    }
+
+    // cycle leader: holds the element at i while pulling the rest of its cycle forward, leaves perm flipped
+    private static void permute(int[] perm, int[] xs) {
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) continue; //already on a visited cycle
+            int x = xs[i], j = i;
+            for (int k = perm[j]; k != i; k = perm[j]) {
+                perm[j] = ~k;
+                xs[j] = xs[k];
+                j = k;
+            }
+            perm[j] = ~i;
+            xs[j] = x;
+        }
+    }
+
+    private static void permute(int[] perm, long[] xs) {
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) continue;
+            long x = xs[i];
+            int j = i;
+            for (int k = perm[j]; k != i; k = perm[j]) {
+                perm[j] = ~k;
+                xs[j] = xs[k];
+                j = k;
+            }
+            perm[j] = ~i;
+            xs[j] = x;
+        }
+    }
+
+    private static void permute(int[] perm, double[] xs) {
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) continue;
+            double x = xs[i];
+            int j = i;
+            for (int k = perm[j]; k != i; k = perm[j]) {
+                perm[j] = ~k;
+                xs[j] = xs[k];
+                j = k;
+            }
+            perm[j] = ~i;
+            xs[j] = x;
+        }
+    }
+
+    private static void permute(int[] perm, Object[] xs) {
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) continue;
+            Object x = xs[i];
+            int j = i;
+            for (int k = perm[j]; k != i; k = perm[j]) {
+                perm[j] = ~k;
+                xs[j] = xs[k];
+                j = k;
+            }
+            perm[j] = ~i;
+            xs[j] = x;
+        }
+    }
+
     /**
      * prints a variable amount of objects
      *
@@ -86,6 +331,12 @@ public class Misc {
         System.out.println(Arrays.stream(xs).map(Object::toString).collect(Collectors.joining(" ")));
     }
 
-    private static record Pair(int fst, int snd) {
+    /**
+     * pair of indices, such as the bounds of a subarray
+     *
+     * @param fst first index
+     * @param snd second index
+     */
+    public record Pair(int fst, int snd) {
     }
 }
@@ -0,0 +1,194 @@
+package algos;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * parallel version of {@link LSDRadix#sort(int[], int[])}. the array is cut into one block per worker thread and
+ * every pass runs in two parallel phases: each block counts its own digits, and after a (sequential, 256 entries
+ * per block) prefix sum has given every block its own starting index for every digit, each block scatters its
+ * elements independently. since the scatter is bound by memory bandwidth, elements are first gathered in a small
+ * buffer per digit and written out a few cache lines at a time.
+ */
+public class ParallelRadix {
+    // arrays shorter than this are sorted sequentially
+    private static final int MIN_PARALLEL = 1 << 16;
+    // smallest block handed to a single thread
+    private static final int MIN_BLOCK = 1 << 14;
+    // elements buffered per digit before being written out, a power of two. four cache lines per digit, larger than a single line
+    // so that the cost of the copy call is spread over enough elements, small enough that all buffers of a block
+    // (64kb) stay in the cache
+    private static final int BUFFER = 64;
+
+    private final int[] xs;
+    private final int blocks, blockSize;
+    // per block counts of the current digit, turned into per block starting indices by the prefix sum
+    private final int[][] counts;
+    // per block write buffers (BUFFER entries per digit) and the next free slot for every digit
+    private final int[][] buffers, positions;
+
+    private ParallelRadix(int[] xs, int blocks) {
+        this.xs = xs;
+        this.blocks = blocks;
+        this.blockSize = (xs.length + blocks - 1) / blocks;
+        counts = new int[blocks][4 * 256];
+        buffers = new int[blocks][256 * BUFFER];
+        positions = new int[blocks][256];
+    }
+
+    /**
+     * sorts an array of integers with parallel radix sort on the common fork/join pool
+     *
+     * @param xs array to sort
+     * @return reference to array (now sorted)
+     */
+    public static int[] sort(int[] xs) {
+        return sort(xs, new int[xs.length], ForkJoinPool.commonPool());
+    }
+
+    /**
+     * sorts an array of integers with parallel radix sort on a dedicated pool with the given number of threads
+     *
+     * @param xs          array to sort
+     * @param parallelism number of worker threads
+     * @return reference to array (now sorted)
+     */
+    public static int[] sort(int[] xs, int parallelism) {
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            return sort(xs, new int[xs.length], pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * sorts an array of integers with parallel radix sort on the given pool. gives the same result as
+     * {@link LSDRadix#sort(int[], int[])}, including support for negative numbers and skipping passes over
+     * digits which every element shares.
+     *
+     * @param xs   array to sort
+     * @param temp buffer of at least the same length as the array, its contents are overwritten
+     * @param pool pool to run the sort in
+     * @return reference to array (now sorted)
+     */
+    public static int[] sort(int[] xs, int[] temp, ForkJoinPool pool) {
+        int n = xs.length;
+        if (temp.length < n) throw new IllegalArgumentException("buffer is smaller than the array to sort");
+        int blocks = Math.min(pool.getParallelism(), n / MIN_BLOCK);
+        if (n < MIN_PARALLEL || blocks < 2) return LSDRadix.sort(xs, temp);
+        new ParallelRadix(xs, blocks).sort(temp, pool);
+        return xs;
+    }
+
+    private void sort(int[] temp, ForkJoinPool pool) {
+        int n = xs.length;
+        // first pass counts every digit at once, which tells which passes can be skipped
+        pool.invoke(new ForEachBlock(0, blocks, this::countAll));
+        int[] total = new int[4 * 256];
+        for (var count : counts)
+            for (int i = 0; i < total.length; i++)
+                total[i] += count[i];
+
+        int[] src = xs, dst = temp;
+        boolean counted = true; // whether counts still hold the per block counts of the blocks of src
+        for (int d = 0; d < 4; d++) {
+            int shift = 8 * d, base = 256 * d, flip = d == 3 ? 0x80 : 0;
+            if (total[base + (xs[0] >>> shift & 0xff ^ flip)] == n) continue; //every element has the same digit
+            int[] from = src, to = dst;
+            if (!counted) pool.invoke(new ForEachBlock(0, blocks, b -> count(from, b, shift, base, flip)));
+            // block b writes digit r starting after all smaller digits and after digit r of blocks before b
+            for (int r = 0, sum = 0; r < 256; r++) {
+                for (int b = 0; b < blocks; b++) {
+                    int c = counts[b][base + r];
+                    counts[b][base + r] = sum;
+                    sum += c;
+                }
+            }
+            pool.invoke(new ForEachBlock(0, blocks, b -> scatter(from, to, b, shift, base, flip)));
+            counted = false;
+            src = to;
+            dst = from;
+        }
+        if (src != xs) System.arraycopy(src, 0, xs, 0, n);
+    }
+
+    // first index of block b, long arithmetic since the last block may end past the int range
+    private int start(int b) {
+        return (int) Math.min((long) b * blockSize, xs.length);
+    }
+
+    // counts all four digits of the elements in block b of xs
+    private void countAll(int b) {
+        int[] count = counts[b];
+        for (int i = start(b), hi = start(b + 1); i < hi; i++) {
+            int x = xs[i];
+            count[x & 0xff]++;
+            count[256 + (x >>> 8 & 0xff)]++;
+            count[512 + (x >>> 16 & 0xff)]++;
+            count[768 + (x >>> 24 ^ 0x80)]++;
+        }
+    }
+
+    // counts a single digit of the elements in block b of src
+    private void count(int[] src, int b, int shift, int base, int flip) {
+        int[] count = counts[b];
+        Arrays.fill(count, base, base + 256, 0);
+        for (int i = start(b), hi = start(b + 1); i < hi; i++)
+            count[base + (src[i] >>> shift & 0xff ^ flip)]++;
+    }
+
+    // moves the elements in block b of src to their place in dst, going through the write buffers
+    private void scatter(int[] src, int[] dst, int b, int shift, int base, int flip) {
+        int[] offset = counts[b], buffer = buffers[b], pos = positions[b];
+        // pos[r] is the next free slot in the buffer of digit r, which spans buffer[r * BUFFER..(r + 1) * BUFFER)
+        for (int r = 0; r < 256; r++)
+            pos[r] = r * BUFFER;
+        for (int i = start(b), hi = start(b + 1); i < hi; i++) {
+            int x = src[i];
+            int r = x >>> shift & 0xff ^ flip;
+            int p = pos[r];
+            buffer[p++] = x;
+            if ((p & BUFFER - 1) == 0) { //buffer full
+                p -= BUFFER;
+                System.arraycopy(buffer, p, dst, offset[base + r], BUFFER);
+                offset[base + r] += BUFFER;
+            }
+            pos[r] = p;
+        }
+        // flush what is left
+        for (int r = 0; r < 256; r++) {
+            int len = pos[r] - r * BUFFER;
+            if (len == 0) continue;
+            System.arraycopy(buffer, r * BUFFER, dst, offset[base + r], len);
+            offset[base + r] += len;
+        }
+    }
+
+    /**
+     * runs an action for every block index in [lo..hi), splitting the range in halves down to single blocks
+     */
+    @SuppressWarnings("serial")
+    private static final class ForEachBlock extends RecursiveAction {
+        private final int lo, hi;
+        private final IntConsumer action;
+
+        ForEachBlock(int lo, int hi, IntConsumer action) {
+            this.lo = lo;
+            this.hi = hi;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                action.accept(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ForEachBlock(lo, mid, action), new ForEachBlock(mid, hi, action));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package algos;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * parallel mergesort built on fork/join. the array is split in halves until pieces are at most {@code threshold}
+ * long, pieces are sorted with {@link Sort#sort(int[], int, int)}, and sorted halves are merged with a parallel
+ * merge which itself splits around the median of the longer run. the merge alternates between the array and a
+ * single auxiliary buffer, so that apart from that buffer only the tasks themselves and the buffers of pieces which
+ * are radix sorted get allocated.
+ */
+public class ParallelSort {
+    // smallest piece worth handing to another thread, same granularity as Arrays.parallelSort
+    private static final int MIN_THRESHOLD = 1 << 13;
+    // merges shorter than this are never split, which also guarantees every split makes progress
+    private static final int MIN_MERGE = 1 << 8;
+
+    /**
+     * sorts an array in parallel on the common fork/join pool
+     *
+     * @param xs array to sort
+     */
+    public static void sort(int[] xs) {
+        sort(xs, ForkJoinPool.commonPool(), defaultThreshold(xs.length, ForkJoinPool.getCommonPoolParallelism()));
+    }
+
+    /**
+     * sorts an array in parallel on a dedicated pool with the given number of worker threads
+     *
+     * @param xs          array to sort
+     * @param parallelism number of worker threads
+     * @param threshold   length at or below which subarrays are sorted sequentially
+     */
+    public static void sort(int[] xs, int parallelism, int threshold) {
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            sort(xs, pool, threshold);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * sorts an array in parallel on the given pool
+     *
+     * @param xs        array to sort
+     * @param pool      pool to run the sort in
+     * @param threshold length at or below which subarrays are sorted sequentially
+     */
+    public static void sort(int[] xs, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) throw new IllegalArgumentException("sequential threshold must be positive");
+        if (xs.length <= threshold || pool.getParallelism() == 1) {
+            sortLeaf(xs, 0, xs.length);
+            return;
+        }
+        pool.invoke(new Sorter(xs, new int[xs.length], 0, xs.length, false, threshold));
+    }
+
+    /**
+     * sequential threshold giving about four pieces per worker thread
+     *
+     * @param len         length of array
+     * @param parallelism number of worker threads
+     * @return threshold to pass to {@link #sort(int[], ForkJoinPool, int)}
+     */
+    public static int defaultThreshold(int len, int parallelism) {
+        return Math.max(len / (parallelism << 2), MIN_THRESHOLD);
+    }
+
+    // sorts xs[lo..hi) with whichever sequential algorithm suits the piece
+    private static void sortLeaf(int[] xs, int lo, int hi) {
+        Sort.sort(xs, lo, hi - 1);
+    }
+
+    // sequential stable merge of src[lo1..hi1) and src[lo2..hi2) into dst starting at out
+    private static void merge(int[] src, int[] dst, int lo1, int hi1, int lo2, int hi2, int out) {
+        while (lo1 < hi1 && lo2 < hi2)
+            dst[out++] = src[lo2] < src[lo1] ? src[lo2++] : src[lo1++];
+        if (lo1 < hi1) System.arraycopy(src, lo1, dst, out, hi1 - lo1);
+        else if (lo2 < hi2) System.arraycopy(src, lo2, dst, out, hi2 - lo2);
+    }
+
+    // first index in xs[lo..hi) holding a value >= key
+    private static int lowerBound(int[] xs, int lo, int hi, int key) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (xs[m] < key) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
+    // first index in xs[lo..hi) holding a value > key
+    private static int upperBound(int[] xs, int lo, int hi, int key) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (xs[m] <= key) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
+    /**
+     * sorts xs[lo..hi), leaving the result in w instead of xs if {@code toW} is set. the halves are sorted into
+     * the opposite array of the one the result should end up in, so every level does exactly one merge pass
+     */
+    @SuppressWarnings("serial")
+    private static final class Sorter extends RecursiveAction {
+        private final int[] xs, w;
+        private final int lo, hi, threshold;
+        private final boolean toW;
+
+        Sorter(int[] xs, int[] w, int lo, int hi, boolean toW, int threshold) {
+            this.xs = xs;
+            this.w = w;
+            this.lo = lo;
+            this.hi = hi;
+            this.toW = toW;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                sortLeaf(xs, lo, hi);
+                if (toW) System.arraycopy(xs, lo, w, lo, hi - lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Sorter(xs, w, lo, mid, !toW, threshold),
+                    new Sorter(xs, w, mid, hi, !toW, threshold));
+            int[] src = toW ? xs : w, dst = toW ? w : xs;
+            new Merger(src, dst, lo, mid, mid, hi, lo, threshold).compute();
+        }
+    }
+
+    /**
+     * merges src[lo1..hi1) and src[lo2..hi2) into dst starting at out. large merges take the median of the longer
+     * run, binary search for its position in the shorter one and merge both sides independently
+     */
+    @SuppressWarnings("serial")
+    private static final class Merger extends RecursiveAction {
+        private final int[] src, dst;
+        private final int lo1, hi1, lo2, hi2, out, threshold;
+
+        Merger(int[] src, int[] dst, int lo1, int hi1, int lo2, int hi2, int out, int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= Math.max(threshold, MIN_MERGE) || n1 == 0 || n2 == 0) {
+                merge(src, dst, lo1, hi1, lo2, hi2, out);
+                return;
+            }
+            // split points chosen so that equal values from the left run stay in front of the right run
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1]);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2]);
+            }
+            int mid = out + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new Merger(src, dst, lo1, m1, lo2, m2, out, threshold),
+                    new Merger(src, dst, m1, hi1, m2, hi2, mid, threshold));
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package algos;
 
+import java.util.Comparator;
+
 public class Quicksort {
+    // subarrays shorter than this are left to insertion sort by introsort
+    private static final int INSERTION_CUTOFF = 32;
+    // int subarrays up to this length are left to the leaf sort, which handles longer ones with a sorting network
+    private static final int LEAF_CUTOFF = SmallSort.VECTORIZED ? SmallSort.MAX : INSERTION_CUTOFF;
+
     //hoare partition
     @SuppressWarnings("StatementWithEmptyBody")
     private static int partition(int[] xs, int lo, int hi) {
@@ -34,4 +41,515 @@ public class Quicksort {
         Misc.shuffle(xs);
         quickSort(xs, 0, xs.length - 1);
     }
+
+    /**
+     * introsort: dual pivot quicksort which picks its pivots as the 2nd and 4th of five evenly spaced samples,
+     * switching to a three way partition when both pivots are equal (so runs of duplicates are finished in one
+     * pass). small subarrays are insertion sorted, only the smaller partitions are recursed on while the largest
+     * one is looped on, and once the depth exceeds 2 log n the remaining subarray is heapsorted, guaranteeing
+     * n log n time and a log n deep stack. unlike {@link #sort(int[])}, no shuffle is needed.
+     *
+     * @param xs array to sort
+     */
+    public static void introsort(int[] xs) {
+        introsort(xs, 0, xs.length - 1);
+    }
+
+    /**
+     * introsort on the subarray xs[lo..hi], see {@link #introsort(int[])}
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     */
+    public static void introsort(int[] xs, int lo, int hi) {
+        if (hi <= lo) return;
+        introsort(xs, lo, hi, 2 * (31 - Integer.numberOfLeadingZeros(hi - lo + 1)));
+    }
+
+    private static void introsort(int[] xs, int lo, int hi, int depth) {
+        while (hi - lo + 1 > LEAF_CUTOFF) {
+            if (depth-- == 0) {
+                Heapsort.sort(xs, lo, hi);
+                return;
+            }
+            // five evenly spaced samples around the middle, sorted in place
+            int seventh = (hi - lo + 1) / 7;
+            int e3 = (lo + hi) >>> 1;
+            int e2 = e3 - seventh, e1 = e2 - seventh;
+            int e4 = e3 + seventh, e5 = e4 + seventh;
+            sortFive(xs, e1, e2, e3, e4, e5);
+
+            if (xs[e2] == xs[e4]) {
+                // pivots equal, three way partition around it: xs[lo..lt-1] < p = xs[lt..gt] < xs[gt+1..hi]
+                int p = xs[e3];
+                int lt = lo, gt = hi, i = lo;
+                while (i <= gt) {
+                    int x = xs[i];
+                    if (x < p) swap(xs, i++, lt++);
+                    else if (x > p) swap(xs, i, gt--);
+                    else i++;
+                }
+                // recurse on the smaller side, loop on the larger
+                if (lt - lo < hi - gt) {
+                    introsort(xs, lo, lt - 1, depth);
+                    lo = gt + 1;
+                } else {
+                    introsort(xs, gt + 1, hi, depth);
+                    hi = lt - 1;
+                }
+                continue;
+            }
+
+            // dual pivot partition: xs[lo..lt-1] < p <= xs[lt+1..gt-1] <= q < xs[gt+1..hi], p at lt and q at gt
+            swap(xs, e2, lo);
+            swap(xs, e4, hi);
+            int p = xs[lo], q = xs[hi];
+            int lt = lo + 1, gt = hi - 1;
+            for (int k = lt; k <= gt; k++) {
+                int x = xs[k];
+                if (x < p) {
+                    swap(xs, k, lt++);
+                } else if (x > q) {
+                    while (xs[gt] > q && k < gt) gt--;
+                    swap(xs, k, gt--);
+                    if (xs[k] < p) swap(xs, k, lt++);
+                }
+            }
+            swap(xs, lo, --lt);
+            swap(xs, hi, ++gt);
+
+            // recurse on the two smaller of the three partitions and loop on the largest
+            int left = lt - lo, mid = gt - lt - 1, right = hi - gt;
+            if (left >= mid && left >= right) {
+                introsort(xs, lt + 1, gt - 1, depth);
+                introsort(xs, gt + 1, hi, depth);
+                hi = lt - 1;
+            } else if (mid >= right) {
+                introsort(xs, lo, lt - 1, depth);
+                introsort(xs, gt + 1, hi, depth);
+                lo = lt + 1;
+                hi = gt - 1;
+            } else {
+                introsort(xs, lo, lt - 1, depth);
+                introsort(xs, lt + 1, gt - 1, depth);
+                lo = gt + 1;
+            }
+        }
+        SmallSort.sort(xs, lo, hi);
+    }
+
+    // sorts the values at five indices with a 9 comparator sorting network, leaving them in order of the indices
+    private static void sortFive(int[] xs, int e1, int e2, int e3, int e4, int e5) {
+        compareSwap(xs, e1, e2);
+        compareSwap(xs, e4, e5);
+        compareSwap(xs, e3, e5);
+        compareSwap(xs, e3, e4);
+        compareSwap(xs, e1, e4);
+        compareSwap(xs, e1, e3);
+        compareSwap(xs, e2, e5);
+        compareSwap(xs, e2, e4);
+        compareSwap(xs, e2, e3);
+    }
+
+    private static void compareSwap(int[] xs, int i, int j) {
+        if (xs[j] < xs[i]) swap(xs, i, j);
+    }
+
+    // unchecked swap for the partitioning loops, unlike Misc.swap
+    private static void swap(int[] xs, int i, int j) {
+        int x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+    }
+
+    /**
+     * introsort on an object array in the order given by a comparator, see {@link #introsort(int[])}.
+     * the sort is not stable, {@link TimSort#sort(Object[], Comparator)} should be used when the relative
+     * order of equal elements matters.
+     *
+     * @param xs  array to sort
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void introsort(T[] xs, Comparator<? super T> c) {
+        introsort(xs, 0, xs.length - 1, c);
+    }
+
+    /**
+     * introsort on the subarray xs[lo..hi] of an object array, see {@link #introsort(Object[], Comparator)}
+     *
+     * @param xs  array to sort
+     * @param lo  start of subarray
+     * @param hi  end of subarray (inclusive)
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void introsort(T[] xs, int lo, int hi, Comparator<? super T> c) {
+        if (hi <= lo) return;
+        introsort(xs, lo, hi, 2 * (31 - Integer.numberOfLeadingZeros(hi - lo + 1)), c);
+    }
+
+    // comparator version of introsort(int[], int, int, int)
+    private static <T> void introsort(T[] xs, int lo, int hi, int depth, Comparator<? super T> c) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                Heapsort.sort(xs, lo, hi, c);
+                return;
+            }
+            int seventh = (hi - lo + 1) / 7;
+            int e3 = (lo + hi) >>> 1;
+            int e2 = e3 - seventh, e1 = e2 - seventh;
+            int e4 = e3 + seventh, e5 = e4 + seventh;
+            sortFive(xs, e1, e2, e3, e4, e5, c);
+
+            if (c.compare(xs[e2], xs[e4]) == 0) {
+                T p = xs[e3];
+                int lt = lo, gt = hi, i = lo;
+                while (i <= gt) {
+                    int cmp = c.compare(xs[i], p);
+                    if (cmp < 0) swap(xs, i++, lt++);
+                    else if (cmp > 0) swap(xs, i, gt--);
+                    else i++;
+                }
+                if (lt - lo < hi - gt) {
+                    introsort(xs, lo, lt - 1, depth, c);
+                    lo = gt + 1;
+                } else {
+                    introsort(xs, gt + 1, hi, depth, c);
+                    hi = lt - 1;
+                }
+                continue;
+            }
+
+            swap(xs, e2, lo);
+            swap(xs, e4, hi);
+            T p = xs[lo], q = xs[hi];
+            int lt = lo + 1, gt = hi - 1;
+            for (int k = lt; k <= gt; k++) {
+                T x = xs[k];
+                if (c.compare(x, p) < 0) {
+                    swap(xs, k, lt++);
+                } else if (c.compare(x, q) > 0) {
+                    while (c.compare(xs[gt], q) > 0 && k < gt) gt--;
+                    swap(xs, k, gt--);
+                    if (c.compare(xs[k], p) < 0) swap(xs, k, lt++);
+                }
+            }
+            swap(xs, lo, --lt);
+            swap(xs, hi, ++gt);
+
+            int left = lt - lo, mid = gt - lt - 1, right = hi - gt;
+            if (left >= mid && left >= right) {
+                introsort(xs, lt + 1, gt - 1, depth, c);
+                introsort(xs, gt + 1, hi, depth, c);
+                hi = lt - 1;
+            } else if (mid >= right) {
+                introsort(xs, lo, lt - 1, depth, c);
+                introsort(xs, gt + 1, hi, depth, c);
+                lo = lt + 1;
+                hi = gt - 1;
+            } else {
+                introsort(xs, lo, lt - 1, depth, c);
+                introsort(xs, lt + 1, gt - 1, depth, c);
+                lo = gt + 1;
+            }
+        }
+        Insertionsort.sort(xs, lo, hi, c);
+    }
+
+    private static <T> void sortFive(T[] xs, int e1, int e2, int e3, int e4, int e5, Comparator<? super T> c) {
+        compareSwap(xs, e1, e2, c);
+        compareSwap(xs, e4, e5, c);
+        compareSwap(xs, e3, e5, c);
+        compareSwap(xs, e3, e4, c);
+        compareSwap(xs, e1, e4, c);
+        compareSwap(xs, e1, e3, c);
+        compareSwap(xs, e2, e5, c);
+        compareSwap(xs, e2, e4, c);
+        compareSwap(xs, e2, e3, c);
+    }
+
+    private static <T> void compareSwap(T[] xs, int i, int j, Comparator<? super T> c) {
+        if (c.compare(xs[j], xs[i]) < 0) swap(xs, i, j);
+    }
+
+    private static void swap(Object[] xs, int i, int j) {
+        Object x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+    }
+
+    // long arrays: generated from templates/algos/Quicksort.java.template by tools/GenerateSorts.java, do not edit
+
+    /**
+     * introsort for an array of longs, see {@link #introsort(int[])}
+     *
+     * @param xs array to sort
+     */
+    public static void introsort(long[] xs) {
+        introsort(xs, 0, xs.length - 1);
+    }
+
+    /**
+     * introsort on the subarray xs[lo..hi] of an array of longs,
+     * see {@link #introsort(int[])}
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     */
+    public static void introsort(long[] xs, int lo, int hi) {
+        if (hi <= lo) return;
+        introsort(xs, lo, hi, 2 * (31 - Integer.numberOfLeadingZeros(hi - lo + 1)));
+    }
+
+    private static void introsort(long[] xs, int lo, int hi, int depth) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                Heapsort.sort(xs, lo, hi);
+                return;
+            }
+            // five evenly spaced samples around the middle, sorted in place
+            int seventh = (hi - lo + 1) / 7;
+            int e3 = (lo + hi) >>> 1;
+            int e2 = e3 - seventh, e1 = e2 - seventh;
+            int e4 = e3 + seventh, e5 = e4 + seventh;
+            sortFive(xs, e1, e2, e3, e4, e5);
+
+            if (xs[e2] == xs[e4]) {
+                // pivots equal, three way partition around it: xs[lo..lt-1] < p = xs[lt..gt] < xs[gt+1..hi]
+                long p = xs[e3];
+                int lt = lo, gt = hi, i = lo;
+                while (i <= gt) {
+                    long x = xs[i];
+                    if (x < p) swap(xs, i++, lt++);
+                    else if (x > p) swap(xs, i, gt--);
+                    else i++;
+                }
+                // recurse on the smaller side, loop on the larger
+                if (lt - lo < hi - gt) {
+                    introsort(xs, lo, lt - 1, depth);
+                    lo = gt + 1;
+                } else {
+                    introsort(xs, gt + 1, hi, depth);
+                    hi = lt - 1;
+                }
+                continue;
+            }
+
+            // dual pivot partition: xs[lo..lt-1] < p <= xs[lt+1..gt-1] <= q < xs[gt+1..hi], p at lt and q at gt
+            swap(xs, e2, lo);
+            swap(xs, e4, hi);
+            long p = xs[lo], q = xs[hi];
+            int lt = lo + 1, gt = hi - 1;
+            for (int k = lt; k <= gt; k++) {
+                long x = xs[k];
+                if (x < p) {
+                    swap(xs, k, lt++);
+                } else if (x > q) {
+                    while (xs[gt] > q && k < gt) gt--;
+                    swap(xs, k, gt--);
+                    if (xs[k] < p) swap(xs, k, lt++);
+                }
+            }
+            swap(xs, lo, --lt);
+            swap(xs, hi, ++gt);
+
+            // recurse on the two smaller of the three partitions and loop on the largest
+            int left = lt - lo, mid = gt - lt - 1, right = hi - gt;
+            if (left >= mid && left >= right) {
+                introsort(xs, lt + 1, gt - 1, depth);
+                introsort(xs, gt + 1, hi, depth);
+                hi = lt - 1;
+            } else if (mid >= right) {
+                introsort(xs, lo, lt - 1, depth);
+                introsort(xs, gt + 1, hi, depth);
+                lo = lt + 1;
+                hi = gt - 1;
+            } else {
+                introsort(xs, lo, lt - 1, depth);
+                introsort(xs, lt + 1, gt - 1, depth);
+                lo = gt + 1;
+            }
+        }
+        Insertionsort.sort(xs, lo, hi);
+    }
+
+    // sorts the values at five indices with a 9 comparator sorting network, leaving them in order of the indices
+    private static void sortFive(long[] xs, int e1, int e2, int e3, int e4, int e5) {
+        compareSwap(xs, e1, e2);
+        compareSwap(xs, e4, e5);
+        compareSwap(xs, e3, e5);
+        compareSwap(xs, e3, e4);
+        compareSwap(xs, e1, e4);
+        compareSwap(xs, e1, e3);
+        compareSwap(xs, e2, e5);
+        compareSwap(xs, e2, e4);
+        compareSwap(xs, e2, e3);
+    }
+
+    private static void compareSwap(long[] xs, int i, int j) {
+        if (xs[j] < xs[i]) swap(xs, i, j);
+    }
+
+    // unchecked swap for the partitioning loops, unlike Misc.swap
+    private static void swap(long[] xs, int i, int j) {
+        long x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+    }
+
+    // end of generated long code
+
+    // double arrays: generated from templates/algos/Quicksort.java.template by tools/GenerateSorts.java, do not edit
+
+    /**
+     * introsort for an array of doubles in the order of {@link Double#compare}, see {@link #introsort(int[])}
+     *
+     * @param xs array to sort
+     */
+    public static void introsort(double[] xs) {
+        introsort(xs, 0, xs.length - 1);
+    }
+
+    /**
+     * introsort on the subarray xs[lo..hi] of an array of doubles in the order of {@link Double#compare},
+     * see {@link #introsort(int[])}
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     */
+    public static void introsort(double[] xs, int lo, int hi) {
+        hi = Misc.moveNaNsToEnd(xs, lo, hi);
+        if (hi <= lo) return;
+        introsort(xs, lo, hi, 2 * (31 - Integer.numberOfLeadingZeros(hi - lo + 1)));
+        Misc.orderZeros(xs, lo, hi);
+    }
+
+    private static void introsort(double[] xs, int lo, int hi, int depth) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                Heapsort.sort(xs, lo, hi);
+                return;
+            }
+            // five evenly spaced samples around the middle, sorted in place
+            int seventh = (hi - lo + 1) / 7;
+            int e3 = (lo + hi) >>> 1;
+            int e2 = e3 - seventh, e1 = e2 - seventh;
+            int e4 = e3 + seventh, e5 = e4 + seventh;
+            sortFive(xs, e1, e2, e3, e4, e5);
+
+            if (xs[e2] == xs[e4]) {
+                // pivots equal, three way partition around it: xs[lo..lt-1] < p = xs[lt..gt] < xs[gt+1..hi]
+                double p = xs[e3];
+                int lt = lo, gt = hi, i = lo;
+                while (i <= gt) {
+                    double x = xs[i];
+                    if (x < p) swap(xs, i++, lt++);
+                    else if (x > p) swap(xs, i, gt--);
+                    else i++;
+                }
+                // recurse on the smaller side, loop on the larger
+                if (lt - lo < hi - gt) {
+                    introsort(xs, lo, lt - 1, depth);
+                    lo = gt + 1;
+                } else {
+                    introsort(xs, gt + 1, hi, depth);
+                    hi = lt - 1;
+                }
+                continue;
+            }
+
+            // dual pivot partition: xs[lo..lt-1] < p <= xs[lt+1..gt-1] <= q < xs[gt+1..hi], p at lt and q at gt
+            swap(xs, e2, lo);
+            swap(xs, e4, hi);
+            double p = xs[lo], q = xs[hi];
+            int lt = lo + 1, gt = hi - 1;
+            for (int k = lt; k <= gt; k++) {
+                double x = xs[k];
+                if (x < p) {
+                    swap(xs, k, lt++);
+                } else if (x > q) {
+                    while (xs[gt] > q && k < gt) gt--;
+                    swap(xs, k, gt--);
+                    if (xs[k] < p) swap(xs, k, lt++);
+                }
+            }
+            swap(xs, lo, --lt);
+            swap(xs, hi, ++gt);
+
+            // recurse on the two smaller of the three partitions and loop on the largest
+            int left = lt - lo, mid = gt - lt - 1, right = hi - gt;
+            if (left >= mid && left >= right) {
+                introsort(xs, lt + 1, gt - 1, depth);
+                introsort(xs, gt + 1, hi, depth);
+                hi = lt - 1;
+            } else if (mid >= right) {
+                introsort(xs, lo, lt - 1, depth);
+                introsort(xs, gt + 1, hi, depth);
+                lo = lt + 1;
+                hi = gt - 1;
+            } else {
+                introsort(xs, lo, lt - 1, depth);
+                introsort(xs, lt + 1, gt - 1, depth);
+                lo = gt + 1;
+            }
+        }
+        Insertionsort.sort(xs, lo, hi);
+    }
+
+    // sorts the values at five indices with a 9 comparator sorting network, leaving them in order of the indices
+    private static void sortFive(double[] xs, int e1, int e2, int e3, int e4, int e5) {
+        compareSwap(xs, e1, e2);
+        compareSwap(xs, e4, e5);
+        compareSwap(xs, e3, e5);
+        compareSwap(xs, e3, e4);
+        compareSwap(xs, e1, e4);
+        compareSwap(xs, e1, e3);
+        compareSwap(xs, e2, e5);
+        compareSwap(xs, e2, e4);
+        compareSwap(xs, e2, e3);
+    }
+
+    private static void compareSwap(double[] xs, int i, int j) {
+        if (xs[j] < xs[i]) swap(xs, i, j);
+    }
+
+    // unchecked swap for the partitioning loops, unlike Misc.swap
+    private static void swap(double[] xs, int i, int j) {
+        double x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+    }
+
+    // end of generated double code
+
+    /**
+     * sorts an array of shorts with {@link Counting#sort(short[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void introsort(short[] xs) {
+        Counting.sort(xs);
+    }
+
+    /**
+     * sorts an array of chars with {@link Counting#sort(char[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void introsort(char[] xs) {
+        Counting.sort(xs);
+    }
+
+    /**
+     * sorts an array of bytes with {@link Counting#sort(byte[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void introsort(byte[] xs) {
+        Counting.sort(xs);
+    }
 }
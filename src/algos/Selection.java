@@ -0,0 +1,382 @@
+package algos;
+
+import structures.lists.DynArray;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * selection of the k-th smallest element, and of the k smallest or largest elements, without sorting the whole
+ * array. {@link #select(int[], int, int, int)} is introselect: quickselect around the median of three, which takes
+ * linear time on average, until it has taken 2 log n partitioning steps without finishing, after which the pivot is
+ * the median of medians of groups of five, which guarantees linear time. partial sorts and top k first select the
+ * boundary element and then sort only the k elements on the right side of it, giving n + k log k time.
+ */
+public class Selection {
+    // subarrays at or below this length are finished with insertion sort
+    private static final int INSERTION_CUTOFF = 16;
+
+    /**
+     * rearranges an array so that xs[k] holds the value which would be at index k if the array were sorted,
+     * see {@link #select(int[], int, int, int)}
+     *
+     * @param xs array to select from
+     * @param k  index of the value to select (0 for the smallest)
+     * @return the k-th smallest value
+     */
+    public static int select(int[] xs, int k) {
+        return select(xs, 0, xs.length - 1, k);
+    }
+
+    /**
+     * rearranges the subarray xs[lo..hi] so that xs[k] holds the value which would be at index k if the subarray
+     * were sorted, with no larger value before it and no smaller value after it.
+     *
+     * @param xs array to select from
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     * @param k  index of the value to select, within lo..hi
+     * @return the value now at index k
+     */
+    public static int select(int[] xs, int lo, int hi, int k) {
+        if (k < lo || k > hi) throw new IllegalArgumentException("index to select is outside of the subarray");
+        select(xs, lo, hi, k, 2 * (32 - Integer.numberOfLeadingZeros(hi - lo + 1)));
+        return xs[k];
+    }
+
+    /**
+     * sorts the k smallest values of an array into xs[0..k-1], leaving the rest of the array in no particular order
+     *
+     * @param xs array to partially sort
+     * @param k  number of values to sort
+     */
+    public static void partialSort(int[] xs, int k) {
+        if (k < 0 || k > xs.length) throw new IllegalArgumentException("k must be within 0..length");
+        if (k == 0) return;
+        select(xs, 0, xs.length - 1, k - 1);
+        Quicksort.introsort(xs, 0, k - 2); //xs[k - 1] is already in place
+    }
+
+    /**
+     * the k largest values of an array, leaving the array itself unchanged (it is copied once)
+     *
+     * @param xs array to take the values from
+     * @param k  number of values to take, all of them if the array is shorter
+     * @return the k largest values, largest first
+     */
+    public static int[] topK(int[] xs, int k) {
+        if (k < 0) throw new IllegalArgumentException("k must not be negative");
+        int n = xs.length;
+        k = Math.min(k, n);
+        if (k == 0) return new int[0];
+        var copy = xs.clone();
+        select(copy, 0, n - 1, n - k);
+        var top = Arrays.copyOfRange(copy, n - k, n);
+        Quicksort.introsort(top, 1, k - 1); //top[0] is already the smallest of them
+        for (int i = 0, j = k - 1; i < j; i++, j--) {
+            int x = top[i];
+            top[i] = top[j];
+            top[j] = x;
+        }
+        return top;
+    }
+
+    // quickselect for the first depth partitions, median of medians after that (depth 0 only uses the latter)
+    private static void select(int[] xs, int lo, int hi, int k, int depth) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            int p = depth-- > 0 ? medianOfThree(xs, lo, (lo + hi) >>> 1, hi) : medianOfMedians(xs, lo, hi);
+            Misc.swap(xs, lo, p);
+            var eq = Misc.threePartition(xs, lo, hi);
+            if (k < eq.fst()) hi = eq.fst() - 1;
+            else if (k > eq.snd()) lo = eq.snd() + 1;
+            else return; //k falls within the run of values equal to the pivot
+        }
+        Insertionsort.sort(xs, lo, hi);
+    }
+
+    private static int medianOfThree(int[] xs, int a, int b, int c) {
+        return xs[a] < xs[b]
+                ? (xs[b] < xs[c] ? b : xs[a] < xs[c] ? c : a)
+                : (xs[a] < xs[c] ? a : xs[b] < xs[c] ? c : b);
+    }
+
+    // index of a value with at least 3/10 of xs[lo..hi] on either side: the medians of groups of five are moved to
+    // the front of the subarray and the median of those is selected with median of medians again
+    private static int medianOfMedians(int[] xs, int lo, int hi) {
+        int m = lo;
+        for (int g = lo; g <= hi; g += 5) {
+            int end = Math.min(g + 4, hi);
+            Insertionsort.sort(xs, g, end);
+            Misc.swap(xs, m++, (g + end) >>> 1);
+        }
+        int mid = (lo + m - 1) >>> 1;
+        select(xs, lo, m - 1, mid, 0);
+        return mid;
+    }
+
+    /**
+     * rearranges an array of longs so that xs[k] holds the value which would be at index k if the array were
+     * sorted, see {@link #select(int[], int, int, int)}
+     *
+     * @param xs array to select from
+     * @param k  index of the value to select (0 for the smallest)
+     * @return the k-th smallest value
+     */
+    public static long select(long[] xs, int k) {
+        return select(xs, 0, xs.length - 1, k);
+    }
+
+    /**
+     * selection on the subarray xs[lo..hi] of an array of longs, see {@link #select(int[], int, int, int)}
+     *
+     * @param xs array to select from
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     * @param k  index of the value to select, within lo..hi
+     * @return the value now at index k
+     */
+    public static long select(long[] xs, int lo, int hi, int k) {
+        if (k < lo || k > hi) throw new IllegalArgumentException("index to select is outside of the subarray");
+        select(xs, lo, hi, k, 2 * (32 - Integer.numberOfLeadingZeros(hi - lo + 1)));
+        return xs[k];
+    }
+
+    /**
+     * sorts the k smallest values of an array of longs into xs[0..k-1], see {@link #partialSort(int[], int)}
+     *
+     * @param xs array to partially sort
+     * @param k  number of values to sort
+     */
+    public static void partialSort(long[] xs, int k) {
+        if (k < 0 || k > xs.length) throw new IllegalArgumentException("k must be within 0..length");
+        if (k == 0) return;
+        select(xs, 0, xs.length - 1, k - 1);
+        Quicksort.introsort(xs, 0, k - 2);
+    }
+
+    /**
+     * the k largest values of an array of longs, see {@link #topK(int[], int)}
+     *
+     * @param xs array to take the values from
+     * @param k  number of values to take, all of them if the array is shorter
+     * @return the k largest values, largest first
+     */
+    public static long[] topK(long[] xs, int k) {
+        if (k < 0) throw new IllegalArgumentException("k must not be negative");
+        int n = xs.length;
+        k = Math.min(k, n);
+        if (k == 0) return new long[0];
+        var copy = xs.clone();
+        select(copy, 0, n - 1, n - k);
+        var top = Arrays.copyOfRange(copy, n - k, n);
+        Quicksort.introsort(top, 1, k - 1);
+        for (int i = 0, j = k - 1; i < j; i++, j--) {
+            long x = top[i];
+            top[i] = top[j];
+            top[j] = x;
+        }
+        return top;
+    }
+
+    private static void select(long[] xs, int lo, int hi, int k, int depth) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            int p = depth-- > 0 ? medianOfThree(xs, lo, (lo + hi) >>> 1, hi) : medianOfMedians(xs, lo, hi);
+            Misc.swap(xs, lo, p);
+            var eq = Misc.threePartition(xs, lo, hi);
+            if (k < eq.fst()) hi = eq.fst() - 1;
+            else if (k > eq.snd()) lo = eq.snd() + 1;
+            else return;
+        }
+        Insertionsort.sort(xs, lo, hi);
+    }
+
+    private static int medianOfThree(long[] xs, int a, int b, int c) {
+        return xs[a] < xs[b]
+                ? (xs[b] < xs[c] ? b : xs[a] < xs[c] ? c : a)
+                : (xs[a] < xs[c] ? a : xs[b] < xs[c] ? c : b);
+    }
+
+    private static int medianOfMedians(long[] xs, int lo, int hi) {
+        int m = lo;
+        for (int g = lo; g <= hi; g += 5) {
+            int end = Math.min(g + 4, hi);
+            Insertionsort.sort(xs, g, end);
+            Misc.swap(xs, m++, (g + end) >>> 1);
+        }
+        int mid = (lo + m - 1) >>> 1;
+        select(xs, lo, m - 1, mid, 0);
+        return mid;
+    }
+
+    /**
+     * rearranges an object array so that xs[k] holds the element which would be at index k if the array were
+     * sorted by the comparator, see {@link #select(int[], int, int, int)}
+     *
+     * @param xs  array to select from
+     * @param k   index of the element to select (0 for the smallest)
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     * @return the k-th smallest element
+     */
+    public static <T> T select(T[] xs, int k, Comparator<? super T> c) {
+        return select(xs, 0, xs.length - 1, k, c);
+    }
+
+    /**
+     * selection on the subarray xs[lo..hi] of an object array in the order given by a comparator,
+     * see {@link #select(int[], int, int, int)}
+     *
+     * @param xs  array to select from
+     * @param lo  start of subarray
+     * @param hi  end of subarray (inclusive)
+     * @param k   index of the element to select, within lo..hi
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     * @return the element now at index k
+     */
+    public static <T> T select(T[] xs, int lo, int hi, int k, Comparator<? super T> c) {
+        if (k < lo || k > hi) throw new IllegalArgumentException("index to select is outside of the subarray");
+        select(xs, lo, hi, k, 2 * (32 - Integer.numberOfLeadingZeros(hi - lo + 1)), c);
+        return xs[k];
+    }
+
+    /**
+     * sorts the k smallest elements of an object array into xs[0..k-1] in the order given by a comparator, see
+     * {@link #partialSort(int[], int)}. the relative order of equal elements is not preserved.
+     *
+     * @param xs  array to partially sort
+     * @param k   number of elements to sort
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void partialSort(T[] xs, int k, Comparator<? super T> c) {
+        if (k < 0 || k > xs.length) throw new IllegalArgumentException("k must be within 0..length");
+        if (k == 0) return;
+        select(xs, 0, xs.length - 1, k - 1, c);
+        TimSort.sort(xs, 0, k - 1, c);
+    }
+
+    /**
+     * the k largest elements of an object array in the order given by a comparator, leaving the array itself
+     * unchanged, see {@link #topK(int[], int)}
+     *
+     * @param xs  array to take the elements from
+     * @param k   number of elements to take, all of them if the array is shorter
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     * @return the k largest elements, largest first
+     */
+    public static <T> T[] topK(T[] xs, int k, Comparator<? super T> c) {
+        if (k < 0) throw new IllegalArgumentException("k must not be negative");
+        int n = xs.length;
+        k = Math.min(k, n);
+        var copy = xs.clone();
+        if (k > 0) select(copy, 0, n - 1, n - k, c);
+        var top = Arrays.copyOfRange(copy, n - k, n);
+        TimSort.sort(top, c.reversed());
+        return top;
+    }
+
+    /**
+     * the k largest elements of a sequence of unknown length in the order given by a comparator, taking a single
+     * pass and memory for only k elements. the smallest of the k largest elements seen so far is kept at the root
+     * of a min heap, so that most elements of a long sequence are rejected after a single comparison with it.
+     * takes n log k time in the worst case (ascending input).
+     *
+     * @param xs  elements to take the largest from
+     * @param k   number of elements to take
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     * @return the k largest elements, largest first, of the first ones seen for elements which compare equal
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> DynArray<T> topK(Iterable<? extends T> xs, int k, Comparator<? super T> c) {
+        if (k < 0) throw new IllegalArgumentException("k must not be negative");
+        T[] heap = (T[]) new Object[Math.min(k, 1 << 10)];
+        int size = 0;
+        for (T x : xs) {
+            if (size < k) {
+                if (size == heap.length) heap = Arrays.copyOf(heap, Math.min(k, 2 * size));
+                swim(heap, size++, x, c);
+            } else if (k > 0 && c.compare(x, heap[0]) > 0) {
+                sink(heap, size, x, c);
+            }
+        }
+        var top = Arrays.copyOf(heap, size);
+        TimSort.sort(top, c.reversed());
+        return DynArray.of(top);
+    }
+
+    // quickselect for the first depth partitions, median of medians after that
+    private static <T> void select(T[] xs, int lo, int hi, int k, int depth, Comparator<? super T> c) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            int p = depth-- > 0 ? medianOfThree(xs, lo, (lo + hi) >>> 1, hi, c) : medianOfMedians(xs, lo, hi, c);
+            swap(xs, lo, p);
+            var eq = threePartition(xs, lo, hi, c);
+            if (k < eq.fst()) hi = eq.fst() - 1;
+            else if (k > eq.snd()) lo = eq.snd() + 1;
+            else return;
+        }
+        Insertionsort.sort(xs, lo, hi, c);
+    }
+
+    // comparator version of Misc.threePartition
+    private static <T> Misc.Pair threePartition(T[] xs, int lo, int hi, Comparator<? super T> c) {
+        int lt = lo, i = lo, gt = hi;
+        T pivot = xs[lo];
+        while (i <= gt) {
+            int cmp = c.compare(xs[i], pivot);
+            if (cmp < 0) swap(xs, i++, lt++);
+            else if (cmp > 0) swap(xs, i, gt--);
+            else i++;
+        }
+        return new Misc.Pair(lt, gt);
+    }
+
+    private static <T> int medianOfThree(T[] xs, int a, int b, int d, Comparator<? super T> c) {
+        return c.compare(xs[a], xs[b]) < 0
+                ? (c.compare(xs[b], xs[d]) < 0 ? b : c.compare(xs[a], xs[d]) < 0 ? d : a)
+                : (c.compare(xs[a], xs[d]) < 0 ? a : c.compare(xs[b], xs[d]) < 0 ? d : b);
+    }
+
+    private static <T> int medianOfMedians(T[] xs, int lo, int hi, Comparator<? super T> c) {
+        int m = lo;
+        for (int g = lo; g <= hi; g += 5) {
+            int end = Math.min(g + 4, hi);
+            Insertionsort.sort(xs, g, end, c);
+            swap(xs, m++, (g + end) >>> 1);
+        }
+        int mid = (lo + m - 1) >>> 1;
+        select(xs, lo, m - 1, mid, 0, c);
+        return mid;
+    }
+
+    private static void swap(Object[] xs, int i, int j) {
+        Object x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+    }
+
+    // adds x at index i of the min heap heap[0..i] and moves it up to its place
+    private static <T> void swim(T[] heap, int i, T x, Comparator<? super T> c) {
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (c.compare(heap[parent], x) <= 0) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = x;
+    }
+
+    // replaces the root of the min heap heap[0..size) with x and moves it down to its place
+    private static <T> void sink(T[] heap, int size, T x, Comparator<? super T> c) {
+        int i = 0, child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size && c.compare(heap[child + 1], heap[child]) < 0) child++;
+            if (c.compare(x, heap[child]) <= 0) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = x;
+    }
+}
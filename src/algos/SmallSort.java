@@ -0,0 +1,97 @@
+package algos;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * leaf sort for the short subarrays left over by the int versions of {@link TimSort},
+ * {@link Quicksort#introsort(int[])} and {@link Mergesort}. subarrays of {@link #VECTOR_MIN} to {@link #MAX} ints
+ * are sorted by the bitonic network of {@code algos.VectorSort} when it can be loaded, anything else by insertion
+ * sort. the network lives in its own source root (src-vector), since it needs the incubating
+ * {@code jdk.incubator.vector} module to compile, and is looked up by reflection so that everything else builds
+ * and runs without it. it is used when its classes are on the class path and the module is present (run with
+ * {@code --add-modules jdk.incubator.vector}), and can be switched off with {@code -Dalgos.vector=false}, to
+ * compare the two.
+ */
+final class SmallSort {
+    /**
+     * shortest subarray sorted by the network, insertion sort is faster below it
+     */
+    static final int VECTOR_MIN = 24;
+    /**
+     * longest subarray sorted by the network, the {@code MAX} of {@code VectorSort}
+     */
+    static final int MAX = 64;
+    /**
+     * length of the buffer the network works in
+     */
+    static final int SCRATCH = MAX;
+    // VectorSort.sort(int[], int, int, int[]), or null if the network is not available or not enabled
+    private static final MethodHandle NETWORK = network();
+    /**
+     * whether the network is available and enabled
+     */
+    static final boolean VECTORIZED = NETWORK != null;
+
+    // VectorSort is only loaded once the module is known to be there, any failure to load it or to find its
+    // methods leaves the insertion sort
+    private static MethodHandle network() {
+        if (!Boolean.parseBoolean(System.getProperty("algos.vector", "true"))) return null;
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            var lookup = MethodHandles.lookup();
+            var cls = Class.forName("algos.VectorSort", true, SmallSort.class.getClassLoader());
+            var supported = lookup.findStatic(cls, "supported", MethodType.methodType(boolean.class));
+            if (!(boolean) supported.invokeExact()) return null;
+            return lookup.findStatic(cls, "sort",
+                    MethodType.methodType(void.class, int[].class, int.class, int.class, int[].class));
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param n length of a subarray
+     * @return whether the subarray would be sorted by the network
+     */
+    static boolean vectorized(int n) {
+        return VECTORIZED && n >= VECTOR_MIN && n <= MAX;
+    }
+
+    /**
+     * sorts xs[lo..hi] with the network if it is available and the subarray is of a length it suits, otherwise
+     * with insertion sort
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     */
+    static void sort(int[] xs, int lo, int hi) {
+        sort(xs, lo, hi, null);
+    }
+
+    /**
+     * the same as {@link #sort(int[], int, int)}, letting the network work in a caller supplied buffer
+     *
+     * @param xs      array to sort
+     * @param lo      start of subarray
+     * @param hi      end of subarray (inclusive)
+     * @param scratch buffer of at least {@link #SCRATCH} ints, or null to allocate one when needed
+     */
+    static void sort(int[] xs, int lo, int hi, int[] scratch) {
+        if (!vectorized(hi - lo + 1)) Insertionsort.sort(xs, lo, hi);
+        else network(xs, lo, hi, scratch != null && scratch.length >= SCRATCH ? scratch : new int[SCRATCH]);
+    }
+
+    // NETWORK is a constant, so the jit inlines the call as if it were a direct one
+    private static void network(int[] xs, int lo, int hi, int[] buf) {
+        try {
+            NETWORK.invokeExact(xs, lo, hi, buf);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package algos;
+
+import structures.lists.DynArray;
+import structures.lists.IList;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * entry points for sorting. int arrays are sorted by whichever algorithm suits the input best, see
+ * {@link #sort(int[], int, int)}, and batches of int arrays share their scratch space, see {@link #sortAll(int[][])}.
+ * objects are sorted either by a comparator or by a precomputed primitive key.
+ * stable sorts are done with {@link TimSort}, unstable ones with {@link Quicksort#introsort(Object[], Comparator)}.
+ * lists are sorted in place: a {@link DynArray} directly on its backing array, any other list by copying its
+ * elements out and adding them back in order.
+ */
+public class Sort {
+    // subarrays at or below this length are insertion sorted without looking at them any further
+    private static final int INSERTION_CUTOFF = 32;
+    // below this length introsort beats radix sort, whose passes over the 256 entry count arrays dominate
+    private static final int RADIX_MIN = 1 << 10;
+    // number of evenly spaced values sampled to estimate the number of distinct values
+    private static final int SAMPLE = 256;
+    // number of elements below which a batch (or part of it) is sorted on a single thread
+    private static final int MIN_BATCH = 1 << 15;
+    private static final int STRATEGIES = Strategy.values().length;
+
+    /**
+     * algorithm picked by {@link #sort(int[], int, int)}
+     */
+    public enum Strategy {
+        /**
+         * the input was already sorted, nothing was done
+         */
+        SORTED,
+        /**
+         * short input, sorted with {@link Insertionsort} or, for the longer ones when the vector api is available,
+         * a sorting network
+         */
+        INSERTION,
+        /**
+         * few runs (or few runs in descending order), merged by {@link TimSort}
+         */
+        TIMSORT,
+        /**
+         * values from a range of at most half the length, sorted with {@link Counting}
+         */
+        COUNTING,
+        /**
+         * short input or few distinct values, sorted with {@link Quicksort#introsort(int[], int, int)}
+         */
+        INTROSORT,
+        /**
+         * everything else, sorted with {@link LSDRadix#sort(int[], int, int, int[])}
+         */
+        RADIX
+    }
+
+    /**
+     * sorts an array of integers with the algorithm best suited to it, see {@link #sort(int[], int, int)}
+     *
+     * @param xs array to sort
+     * @return the algorithm used
+     */
+    public static Strategy sort(int[] xs) {
+        return sort(xs, 0, xs.length - 1);
+    }
+
+    /**
+     * sorts the subarray xs[lo..hi] with the algorithm best suited to it. a single pass beforehand finds the
+     * minimum, the maximum and the number of ascending and descending steps between neighbours, and a small sample
+     * estimates how many distinct values there are. then, in order:
+     * <ul>
+     *     <li>sorted input is left alone and short input is insertion sorted</li>
+     *     <li>input with less than 1 step in 32 going the wrong way is made up of a few long runs, which
+     *     {@link TimSort} merges in close to linear time</li>
+     *     <li>values from a range of at most half the length are sorted by {@link Counting}</li>
+     *     <li>input too short for radix sort, or of a moderate length with only a handful of distinct values, is
+     *     sorted by introsort, whose three way partitioning finishes equal values early</li>
+     *     <li>anything else is radix sorted, taking at most 4 linear passes</li>
+     * </ul>
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     * @return the algorithm used, for telemetry
+     */
+    public static Strategy sort(int[] xs, int lo, int hi) {
+        return dispatch(xs, lo, hi, null);
+    }
+
+    /**
+     * sorts the subarray xs[lo..hi] with the algorithm best suited to it, see {@link #sort(int[], int, int)}, using
+     * a caller supplied buffer for the radix passes, the merges and the counts, so that sorting many arrays one
+     * after another does not allocate for each of them
+     *
+     * @param xs      array to sort
+     * @param lo      start of subarray
+     * @param hi      end of subarray (inclusive)
+     * @param scratch buffer of at least the length of the subarray, its contents are overwritten
+     * @return the algorithm used, for telemetry
+     */
+    public static Strategy sort(int[] xs, int lo, int hi, int[] scratch) {
+        if (scratch.length < hi - lo + 1) throw new IllegalArgumentException("scratch buffer is smaller than the subarray to sort");
+        return dispatch(xs, lo, hi, scratch);
+    }
+
+    // scratch is null if the buffers are to be allocated as needed
+    private static Strategy dispatch(int[] xs, int lo, int hi, int[] scratch) {
+        int n = hi - lo + 1;
+        if (n <= INSERTION_CUTOFF) {
+            SmallSort.sort(xs, lo, hi, scratch);
+            return Strategy.INSERTION;
+        }
+        int min = xs[lo], max = xs[lo], ascents = 0, descents = 0;
+        for (int i = lo + 1; i <= hi; i++) {
+            int x = xs[i], prev = xs[i - 1];
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+            if (x > prev) ascents++;
+            else if (x < prev) descents++;
+        }
+        if (descents == 0) return Strategy.SORTED;
+        if (descents <= n >> 5 || ascents <= n >> 5) {
+            TimSort.sort(xs, lo, hi, scratch);
+            return Strategy.TIMSORT;
+        }
+        long range = (long) max - min + 1;
+        if (range <= n >> 1) {
+            if (scratch == null) Counting.sort(xs, lo, hi, min, max);
+            else Counting.sort(xs, lo, hi, min, max, scratch);
+            return Strategy.COUNTING;
+        }
+        if (n < RADIX_MIN || n < RADIX_MIN << 6 && fewDistinct(xs, lo, hi, scratch)) {
+            Quicksort.introsort(xs, lo, hi);
+            return Strategy.INTROSORT;
+        }
+        LSDRadix.sort(xs, lo, hi, scratch != null ? scratch : new int[n]);
+        return Strategy.RADIX;
+    }
+
+    // whether a sample of xs[lo..hi] has at most 16 distinct values, sorted in the scratch buffer if there is one
+    private static boolean fewDistinct(int[] xs, int lo, int hi, int[] scratch) {
+        int n = hi - lo + 1;
+        int[] sample = scratch != null ? scratch : new int[SAMPLE];
+        for (int i = 0; i < SAMPLE; i++)
+            sample[i] = xs[lo + (int) ((long) i * n / SAMPLE)];
+        Quicksort.introsort(sample, 0, SAMPLE - 1);
+        int distinct = 1;
+        for (int i = 1; i < SAMPLE; i++)
+            if (sample[i] != sample[i - 1]) distinct++;
+        return distinct <= 16;
+    }
+
+    /**
+     * outcome of sorting a batch of arrays with {@link #sortAll(int[][])}
+     *
+     * @param arrays     number of arrays sorted
+     * @param elements   total number of elements sorted
+     * @param nanos      wall clock time taken by the whole batch
+     * @param strategies number of arrays sorted with each {@link Strategy}, indexed by ordinal
+     */
+    public record BatchStats(int arrays, long elements, long nanos, int[] strategies) {
+        /**
+         * @param strategy algorithm
+         * @return number of arrays in the batch sorted with it
+         */
+        public int count(Strategy strategy) {
+            return strategies[strategy.ordinal()];
+        }
+
+        /**
+         * @return arrays sorted per second
+         */
+        public double arraysPerSecond() {
+            return arrays * 1e9 / Math.max(nanos, 1);
+        }
+
+        /**
+         * @return elements sorted per second
+         */
+        public double elementsPerSecond() {
+            return elements * 1e9 / Math.max(nanos, 1);
+        }
+    }
+
+    /**
+     * sorts every array of a batch with {@link #sort(int[], int, int, int[])}, one after another on the calling
+     * thread. a single scratch buffer, as long as the longest array, is allocated for the whole batch and shared by
+     * all the sorts, so small arrays cost no allocation beyond that.
+     *
+     * @param xss arrays to sort, each one independently
+     * @return size, timing and the algorithms used for the batch
+     */
+    public static BatchStats sortAll(int[][] xss) {
+        long start = System.nanoTime();
+        int[] counts = sortAll(xss, 0, xss.length);
+        return new BatchStats(xss.length, elements(xss), System.nanoTime() - start, counts);
+    }
+
+    /**
+     * sorts every array of a batch in parallel on a dedicated pool with the given number of worker threads,
+     * see {@link #sortAll(int[][], ForkJoinPool)}
+     *
+     * @param xss         arrays to sort, each one independently
+     * @param parallelism number of worker threads
+     * @return size, timing and the algorithms used for the batch
+     */
+    public static BatchStats sortAll(int[][] xss, int parallelism) {
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            return sortAll(xss, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * sorts every array of a batch in parallel on the given pool. the batch is split into consecutive groups of
+     * arrays holding about the same number of elements, and every group is sorted like {@link #sortAll(int[][])}
+     * with a scratch buffer of its own. batches too small to be worth splitting are sorted on the calling thread.
+     *
+     * @param xss  arrays to sort, each one independently
+     * @param pool pool to run the sorts in
+     * @return size, timing and the algorithms used for the batch
+     */
+    public static BatchStats sortAll(int[][] xss, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        // ends[i] is the number of elements in xss[0..i), so that groups can be split by elements
+        long[] ends = new long[xss.length + 1];
+        for (int i = 0; i < xss.length; i++)
+            ends[i + 1] = ends[i] + xss[i].length;
+        int[] counts = ends[xss.length] <= MIN_BATCH || pool.getParallelism() == 1
+                ? sortAll(xss, 0, xss.length)
+                : pool.invoke(new BatchSorter(xss, ends, 0, xss.length));
+        return new BatchStats(xss.length, ends[xss.length], System.nanoTime() - start, counts);
+    }
+
+    // sorts xss[from..to) sharing one scratch buffer, returns the number of arrays sorted with each strategy
+    private static int[] sortAll(int[][] xss, int from, int to) {
+        int max = 0;
+        for (int i = from; i < to; i++)
+            max = Math.max(max, xss[i].length);
+        int[] scratch = new int[Math.max(max, SmallSort.SCRATCH)];
+        int[] counts = new int[STRATEGIES];
+        for (int i = from; i < to; i++)
+            counts[dispatch(xss[i], 0, xss[i].length - 1, scratch).ordinal()]++;
+        return counts;
+    }
+
+    private static long elements(int[][] xss) {
+        long n = 0;
+        for (var xs : xss)
+            n += xs.length;
+        return n;
+    }
+
+    /**
+     * sorts the arrays xss[from..to), halving the group (by elements, not by arrays) until it is small enough to
+     * be sorted sequentially, and adds up the strategy counts of both halves
+     */
+    @SuppressWarnings("serial")
+    private static final class BatchSorter extends RecursiveTask<int[]> {
+        private final int[][] xss;
+        private final long[] ends;
+        private final int from, to;
+
+        BatchSorter(int[][] xss, long[] ends, int from, int to) {
+            this.xss = xss;
+            this.ends = ends;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (ends[to] - ends[from] <= MIN_BATCH || to - from == 1) return sortAll(xss, from, to);
+            // split after the first array which brings the left half to at least half of the elements, but keep
+            // both halves non empty
+            long half = (ends[from] + ends[to]) >>> 1;
+            int mid = Arrays.binarySearch(ends, from + 1, to, half);
+            if (mid < 0) mid = -mid - 1;
+            mid = Math.max(from + 1, Math.min(mid, to - 1));
+            var left = new BatchSorter(xss, ends, from, mid);
+            left.fork();
+            int[] counts = new BatchSorter(xss, ends, mid, to).compute();
+            int[] other = left.join();
+            for (int i = 0; i < counts.length; i++)
+                counts[i] += other[i];
+            return counts;
+        }
+    }
+
+    /**
+     * stable sort of an object array in the order given by a comparator
+     *
+     * @param xs  array to sort
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void sort(T[] xs, Comparator<? super T> c) {
+        TimSort.sort(xs, c);
+    }
+
+    /**
+     * unstable sort of an object array in the order given by a comparator, usually faster than
+     * {@link #sort(Object[], Comparator)} on unordered input
+     *
+     * @param xs  array to sort
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void sortUnstable(T[] xs, Comparator<? super T> c) {
+        Quicksort.introsort(xs, c);
+    }
+
+    /**
+     * stable sort of a list in the order given by a comparator
+     *
+     * @param xs  list to sort
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void sort(IList<T> xs, Comparator<? super T> c) {
+        if (xs instanceof DynArray<T> arr) {
+            arr.sort((ys, lo, hi) -> TimSort.sort(Sort.<T[]>cast(ys), lo, hi, c));
+            return;
+        }
+        T[] ys = toArray(xs);
+        TimSort.sort(ys, c);
+        refill(xs, ys);
+    }
+
+    /**
+     * unstable sort of a list in the order given by a comparator
+     *
+     * @param xs  list to sort
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void sortUnstable(IList<T> xs, Comparator<? super T> c) {
+        if (xs instanceof DynArray<T> arr) {
+            arr.sort((ys, lo, hi) -> Quicksort.introsort(Sort.<T[]>cast(ys), lo, hi, c));
+            return;
+        }
+        T[] ys = toArray(xs);
+        Quicksort.introsort(ys, c);
+        refill(xs, ys);
+    }
+
+    /**
+     * stable sort of an object array by an int key, which is extracted exactly once per element.
+     * keys are packed together with the original index of their element into longs and radix sorted,
+     * so no comparisons are made at all.
+     *
+     * @param xs  array to sort
+     * @param key function extracting the key of an element
+     * @param <T> type of elements
+     */
+    public static <T> void sortByIntKey(T[] xs, ToIntFunction<? super T> key) {
+        sortByIntKey(xs, 0, xs.length - 1, key);
+    }
+
+    /**
+     * stable sort of the subarray xs[lo..hi] (inclusive) by an int key, see {@link #sortByIntKey(Object[], ToIntFunction)}
+     *
+     * @param xs  array to sort
+     * @param lo  start of subarray
+     * @param hi  end of subarray
+     * @param key function extracting the key of an element
+     * @param <T> type of elements
+     */
+    public static <T> void sortByIntKey(T[] xs, int lo, int hi, ToIntFunction<? super T> key) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+        // key in the high half (keeping its sign), index in the low half as a tie breaker
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++)
+            packed[i] = (long) key.applyAsInt(xs[lo + i]) << 32 | i;
+        LSDRadix.sort(packed);
+        Object[] ys = Arrays.copyOfRange(xs, lo, hi + 1);
+        for (int i = 0; i < n; i++)
+            xs[lo + i] = cast(ys[(int) packed[i]]);
+    }
+
+    /**
+     * stable sort of an object array by a long key, which is extracted exactly once per element
+     *
+     * @param xs  array to sort
+     * @param key function extracting the key of an element
+     * @param <T> type of elements
+     */
+    public static <T> void sortByLongKey(T[] xs, ToLongFunction<? super T> key) {
+        sortByLongKey(xs, 0, xs.length - 1, key);
+    }
+
+    /**
+     * stable sort of the subarray xs[lo..hi] (inclusive) by a long key, see {@link #sortByLongKey(Object[], ToLongFunction)}
+     *
+     * @param xs  array to sort
+     * @param lo  start of subarray
+     * @param hi  end of subarray
+     * @param key function extracting the key of an element
+     * @param <T> type of elements
+     */
+    public static <T> void sortByLongKey(T[] xs, int lo, int hi, ToLongFunction<? super T> key) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = key.applyAsLong(xs[lo + i]);
+        int[] perm = LSDRadix.argsort(keys);
+        Object[] ys = Arrays.copyOfRange(xs, lo, hi + 1);
+        for (int i = 0; i < n; i++)
+            xs[lo + i] = cast(ys[perm[i]]);
+    }
+
+    /**
+     * stable sort of a list by an int key, see {@link #sortByIntKey(Object[], ToIntFunction)}
+     *
+     * @param xs  list to sort
+     * @param key function extracting the key of an element
+     * @param <T> type of elements
+     */
+    public static <T> void sortByIntKey(IList<T> xs, ToIntFunction<? super T> key) {
+        if (xs instanceof DynArray<T> arr) {
+            arr.sort((ys, lo, hi) -> sortByIntKey(Sort.<T[]>cast(ys), lo, hi, key));
+            return;
+        }
+        T[] ys = toArray(xs);
+        sortByIntKey(ys, key);
+        refill(xs, ys);
+    }
+
+    /**
+     * stable sort of a list by a long key, see {@link #sortByLongKey(Object[], ToLongFunction)}
+     *
+     * @param xs  list to sort
+     * @param key function extracting the key of an element
+     * @param <T> type of elements
+     */
+    public static <T> void sortByLongKey(IList<T> xs, ToLongFunction<? super T> key) {
+        if (xs instanceof DynArray<T> arr) {
+            arr.sort((ys, lo, hi) -> sortByLongKey(Sort.<T[]>cast(ys), lo, hi, key));
+            return;
+        }
+        T[] ys = toArray(xs);
+        sortByLongKey(ys, key);
+        refill(xs, ys);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object x) {
+        return (T) x;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] toArray(IList<T> xs) {
+        T[] ys = (T[]) new Object[xs.size()];
+        int i = 0;
+        for (var x : xs)
+            ys[i++] = x;
+        return ys;
+    }
+
+    // replaces the contents of a list with the (reordered) elements of an array
+    private static <T> void refill(IList<T> xs, T[] ys) {
+        xs.removeAll(x -> true);
+        for (var y : ys)
+            xs.add(y);
+    }
+}
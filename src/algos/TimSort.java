@@ -1,40 +1,1773 @@
 package algos;
 
-import structures.Pair;
-import structures.queues.ArrayStack;
-
-import java.util.List;
+import java.util.Comparator;
 
+/**
+ * TimSort: a stable, adaptive mergesort which finds the naturally ordered runs in the input, extends short ones
+ * to a minimum length with binary insertion sort, and merges them while keeping a stack of pending runs balanced.
+ * merges switch into "galloping" (exponential search) mode when one run keeps winning, so that partially
+ * ordered input is sorted in close to linear time.
+ */
 public class TimSort {
+    // arrays shorter than this are sorted with a single binary insertion sort
+    private static final int MIN_MERGE = 64;
+    // number of consecutive wins by one run before switching into galloping mode
+    private static final int MIN_GALLOP = 7;
 
     /**
      * get min run (threshold between mergesort and insertion sort)
-     * 8 < min run < 256 (shouldn't be to large (insertion sort n^2) and also not too small (merging expensive))
-     * 
+     * 32 <= min run <= 64 (shouldn't be to large (insertion sort n^2) and also not too small (merging expensive)),
+     * chosen so that len / minRun is equal to or slightly less than a power of 2
+     *
      * @param len length of array
      * @return length of minimum run
      */
-    private static int minRun(int len){
+    private static int minRun(int len) {
         int r = 0;
-        while (len >= 64){
+        while (len >= MIN_MERGE) {
             r |= len & 1; //check for off bit (1 if any , 0 if none)
             len >>= 1; // divide by 2
         }
         return len + r;
     }
 
-    public static void sort(int[] xs){
-        if (xs.length <= 1) return;
-        int mr = minRun(xs.length);
-        // sort small runs using insertion sort
-        for (int i = 0; i < xs.length; i += mr)
-            Insertionsort.sort(xs, i, Math.min(i + mr, xs.length)-1);
-        // merge small sorted arrays using mergesort merge
-        for (int size = mr; size < xs.length; size *= 2)
-            for (int l = 0; l < xs.length-size; l += 2*size) {
-                int m = l + size - 1;
-                int h = Math.min(l + 2 * size , xs.length) - 1;
-                Mergesort.merge(xs, l, m, h);
+    /**
+     * sorts an array of integers using TimSort
+     *
+     * @param xs array to sort
+     */
+    public static void sort(int[] xs) {
+        timSort(xs, 0, xs.length, null);
+    }
+
+    /**
+     * sorts the subarray xs[lo..hi] (inclusive) using TimSort
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray
+     */
+    public static void sort(int[] xs, int lo, int hi) {
+        timSort(xs, lo, hi + 1, null);
+    }
+
+    /**
+     * sorts the subarray xs[lo..hi] (inclusive) using TimSort, merging through a caller supplied buffer so that
+     * repeated sorts do not allocate one each time. a buffer of half the length of the subarray always suffices,
+     * a shorter one is replaced by a new array once a merge needs more.
+     *
+     * @param xs   array to sort
+     * @param lo   start of subarray
+     * @param hi   end of subarray
+     * @param work merge buffer, its contents are overwritten
+     */
+    public static void sort(int[] xs, int lo, int hi, int[] work) {
+        timSort(xs, lo, hi + 1, work);
+    }
+
+    /**
+     * sorts an array of objects with TimSort in the order given by a comparator.
+     * the sort is stable, meaning that elements which compare equal keep their relative order.
+     *
+     * @param xs  array to sort
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void sort(T[] xs, Comparator<? super T> c) {
+        timSort(xs, 0, xs.length, c);
+    }
+
+    /**
+     * stable sort of the subarray xs[lo..hi] (inclusive), see {@link #sort(Object[], Comparator)}
+     *
+     * @param xs  array to sort
+     * @param lo  start of subarray
+     * @param hi  end of subarray
+     * @param c   comparator to order elements by
+     * @param <T> type of elements
+     */
+    public static <T> void sort(T[] xs, int lo, int hi, Comparator<? super T> c) {
+        timSort(xs, lo, hi + 1, c);
+    }
+
+    /**
+     * stable argsort of an array of integers: computes the permutation which sorts the keys, without moving them.
+     * every key is packed together with its index into a long (key in the high half, index in the low half) and
+     * the longs are sorted with TimSort, so ties are broken by index and runs in the keys stay runs in the longs.
+     *
+     * @param keys keys to sort by, left unchanged
+     * @return array of indices such that keys[perm[0]] <= keys[perm[1]] <= ..., equal keys in original order
+     */
+    public static int[] argsort(int[] keys) {
+        int n = keys.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++)
+            packed[i] = (long) keys[i] << 32 | i;
+        sort(packed);
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++)
+            perm[i] = (int) packed[i];
+        return perm;
+    }
+
+    /**
+     * stable argsort of an array of objects in the order given by a comparator, see {@link #argsort(int[])}.
+     * the indices are sorted by comparing the keys they point to.
+     *
+     * @param keys keys to sort by, left unchanged
+     * @param c    comparator to order keys by
+     * @param <T>  type of keys
+     * @return array of indices such that keys[perm[0]] <= keys[perm[1]] <= ..., equal keys in original order
+     */
+    public static <T> int[] argsort(T[] keys, Comparator<? super T> c) {
+        int n = keys.length;
+        Integer[] indices = new Integer[n];
+        for (int i = 0; i < n; i++)
+            indices[i] = i;
+        sort(indices, (i, j) -> c.compare(keys[i], keys[j]));
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++)
+            perm[i] = indices[i];
+        return perm;
+    }
+
+    // hi is exclusive from here on, work is null if no buffer was supplied
+    private static void timSort(int[] xs, int lo, int hi, int[] work) {
+        int n = hi - lo;
+        if (n < 2) return;
+        if (n < MIN_MERGE) {
+            leafSort(xs, lo, hi, lo + countRunAndMakeAscending(xs, lo, hi));
+            return;
+        }
+        var runs = new IntRuns(xs, n, work);
+        int mr = minRun(n);
+        do {
+            int len = countRunAndMakeAscending(xs, lo, hi);
+            // extend short natural runs to min run
+            if (len < mr) {
+                int force = Math.min(n, mr);
+                leafSort(xs, lo, lo + force, lo + len);
+                len = force;
+            }
+            runs.push(lo, len);
+            runs.mergeCollapse();
+            lo += len;
+            n -= len;
+        } while (n != 0);
+        runs.mergeForceCollapse();
+    }
+
+    // length of the run starting at lo, reversing it in place if it is strictly descending
+    // (strictly, so that reversing never reorders equal elements)
+    private static int countRunAndMakeAscending(int[] xs, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+        if (xs[runHi++] < xs[lo]) {
+            while (runHi < hi && xs[runHi] < xs[runHi - 1]) runHi++;
+            reverse(xs, lo, runHi - 1);
+        } else {
+            while (runHi < hi && xs[runHi] >= xs[runHi - 1]) runHi++;
+        }
+        return runHi - lo;
+    }
+
+    private static void reverse(int[] xs, int lo, int hi) {
+        while (lo < hi) {
+            int x = xs[lo];
+            xs[lo++] = xs[hi];
+            xs[hi--] = x;
+        }
+    }
+
+    // sorts xs[lo..hi) of which xs[lo..start) is already sorted: binary insertion sort places the rest, unless
+    // enough of it is left for the sorting network of SmallSort to be faster (ints are stable either way)
+    private static void leafSort(int[] xs, int lo, int hi, int start) {
+        if (hi - start >= SmallSort.VECTOR_MIN && SmallSort.vectorized(hi - lo)) SmallSort.sort(xs, lo, hi - 1);
+        else binarySort(xs, lo, hi, start);
+    }
+
+    private static void binarySort(int[] xs, int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            int x = xs[start];
+            int l = lo, r = start;
+            while (l < r) {
+                int m = (l + r) >>> 1;
+                if (x < xs[m]) r = m;
+                else l = m + 1;
+            }
+            System.arraycopy(xs, l, xs, l + 1, start - l);
+            xs[l] = x;
+        }
+    }
+
+    /**
+     * finds the leftmost position at which key could be inserted into the sorted range xs[base..base+len),
+     * starting with an exponential search from base + hint
+     *
+     * @return k such that xs[base+k-1] < key <= xs[base+k]
+     */
+    private static int gallopLeft(int key, int[] xs, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (key > xs[base + hint]) {
+            // gallop right until xs[base+hint+lastOfs] < key <= xs[base+hint+ofs]
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key > xs[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs; //overflow
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            // gallop left until xs[base+hint-ofs] < key <= xs[base+hint-lastOfs]
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key <= xs[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        }
+        // binary search in xs[base+lastOfs+1..base+ofs]
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key > xs[base + m]) lastOfs = m + 1;
+            else ofs = m;
+        }
+        return ofs;
+    }
+
+    /**
+     * like {@link #gallopLeft} but finds the rightmost position, so equal elements stay in front of the key
+     *
+     * @return k such that xs[base+k-1] <= key < xs[base+k]
+     */
+    private static int gallopRight(int key, int[] xs, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (key < xs[base + hint]) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key < xs[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key >= xs[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key < xs[base + m]) ofs = m;
+            else lastOfs = m + 1;
+        }
+        return ofs;
+    }
+
+    /**
+     * stack of pending runs for a single sort, along with the merge buffer and the adaptive gallop threshold.
+     * runs on the stack always satisfy len[i-2] > len[i-1] + len[i] and len[i-1] > len[i], which keeps merges
+     * balanced and bounds the height of the stack by log_phi(n)
+     */
+    private static final class IntRuns {
+        private final int[] xs;
+        private final int[] runBase;
+        private final int[] runLen;
+        private int stackSize;
+        private int minGallop = MIN_GALLOP;
+        private int[] tmp;
+
+        IntRuns(int[] xs, int n, int[] work) {
+            this.xs = xs;
+            int len = n < 512 ? n >>> 1 : 256;
+            tmp = work != null && work.length >= len ? work : new int[len];
+            // bound on the stack height given the invariants and minimum run length
+            int stackLen = n < 120 ? 5 : n < 1542 ? 10 : n < 119151 ? 24 : 49;
+            runBase = new int[stackLen];
+            runLen = new int[stackLen];
+        }
+
+        void push(int base, int len) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = len;
+            stackSize++;
+        }
+
+        // merges adjacent runs until the stack invariants hold again
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        // merges every remaining run, called once the whole array has been split into runs
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        // merges the runs at i and i+1 on the stack
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // elements of run 1 which are <= the first element of run 2 are already in place
+            int k = gallopRight(xs[base2], xs, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+            // as are elements of run 2 which are >= the last element of run 1
+            len2 = gallopLeft(xs[base1 + len1 - 1], xs, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) mergeLo(base1, len1, base2, len2);
+            else mergeHi(base1, len1, base2, len2);
+        }
+
+        // merges left to right, copying the (shorter) first run into the buffer
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            int[] xs = this.xs;
+            int[] tmp = ensureCapacity(len1);
+            System.arraycopy(xs, base1, tmp, 0, len1);
+            int c1 = 0, c2 = base2, dest = base1;
+
+            // first element of run 2 is known to be the smallest (see mergeAt)
+            xs[dest++] = xs[c2++];
+            if (--len2 == 0) {
+                System.arraycopy(tmp, c1, xs, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(xs, c2, xs, dest, len2);
+                xs[dest + len2] = tmp[c1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0; //number of consecutive wins of each run
+                // one element at a time until a run starts winning consistently
+                do {
+                    if (xs[c2] < tmp[c1]) {
+                        xs[dest++] = xs[c2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    } else {
+                        xs[dest++] = tmp[c1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // gallop until neither run is winning consistently anymore
+                do {
+                    count1 = gallopRight(xs[c2], tmp, c1, len1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(tmp, c1, xs, dest, count1);
+                        dest += count1;
+                        c1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) break outer;
+                    }
+                    xs[dest++] = xs[c2++];
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallopLeft(tmp[c1], xs, c2, len2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(xs, c2, xs, dest, count2);
+                        dest += count2;
+                        c2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) break outer;
+                    }
+                    xs[dest++] = tmp[c1++];
+                    if (--len1 == 1) break outer;
+                    minGallop--; //galloping pays off, make it easier to enter again
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2; //penalty for leaving galloping mode
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len1 == 1) {
+                System.arraycopy(xs, c2, xs, dest, len2);
+                xs[dest + len2] = tmp[c1]; //last element of run 1 is the largest
+            } else {
+                System.arraycopy(tmp, c1, xs, dest, len1);
+            }
+        }
+
+        // merges right to left, copying the (shorter) second run into the buffer
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            int[] xs = this.xs;
+            int[] tmp = ensureCapacity(len2);
+            System.arraycopy(xs, base2, tmp, 0, len2);
+            int c1 = base1 + len1 - 1, c2 = len2 - 1, dest = base2 + len2 - 1;
+
+            // last element of run 1 is known to be the largest (see mergeAt)
+            xs[dest--] = xs[c1--];
+            if (--len1 == 0) {
+                System.arraycopy(tmp, 0, xs, dest - (len2 - 1), len2);
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                c1 -= len1;
+                System.arraycopy(xs, c1 + 1, xs, dest + 1, len1);
+                xs[dest] = tmp[c2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (tmp[c2] < xs[c1]) {
+                        xs[dest--] = xs[c1--];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) break outer;
+                    } else {
+                        xs[dest--] = tmp[c2--];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = len1 - gallopRight(tmp[c2], xs, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        c1 -= count1;
+                        len1 -= count1;
+                        System.arraycopy(xs, c1 + 1, xs, dest + 1, count1);
+                        if (len1 == 0) break outer;
+                    }
+                    xs[dest--] = tmp[c2--];
+                    if (--len2 == 1) break outer;
+
+                    count2 = len2 - gallopLeft(xs[c1], tmp, 0, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        c2 -= count2;
+                        len2 -= count2;
+                        System.arraycopy(tmp, c2 + 1, xs, dest + 1, count2);
+                        if (len2 <= 1) break outer;
+                    }
+                    xs[dest--] = xs[c1--];
+                    if (--len1 == 0) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len2 == 1) {
+                dest -= len1;
+                c1 -= len1;
+                System.arraycopy(xs, c1 + 1, xs, dest + 1, len1);
+                xs[dest] = tmp[c2]; //first element of run 2 is the smallest
+            } else {
+                System.arraycopy(tmp, 0, xs, dest - (len2 - 1), len2);
+            }
+        }
+
+        // grows the merge buffer to the next power of two, never beyond half of the array
+        private int[] ensureCapacity(int min) {
+            if (tmp.length < min) {
+                int size = Integer.highestOneBit(min) << 1;
+                if (size < 0) size = min;
+                else size = Math.min(size, xs.length >>> 1);
+                tmp = new int[Math.max(size, min)];
+            }
+            return tmp;
+        }
+    }
+
+    // object arrays: same algorithm as for int arrays, with comparisons going through the comparator
+
+    private static <T> void timSort(T[] xs, int lo, int hi, Comparator<? super T> c) {
+        int n = hi - lo;
+        if (n < 2) return;
+        if (n < MIN_MERGE) {
+            binarySort(xs, lo, hi, lo + countRunAndMakeAscending(xs, lo, hi, c), c);
+            return;
+        }
+        var runs = new ObjRuns<>(xs, n, c);
+        int mr = minRun(n);
+        do {
+            int len = countRunAndMakeAscending(xs, lo, hi, c);
+            if (len < mr) {
+                int force = Math.min(n, mr);
+                binarySort(xs, lo, lo + force, lo + len, c);
+                len = force;
+            }
+            runs.push(lo, len);
+            runs.mergeCollapse();
+            lo += len;
+            n -= len;
+        } while (n != 0);
+        runs.mergeForceCollapse();
+    }
+
+    private static void reverse(Object[] xs, int lo, int hi) {
+        while (lo < hi) {
+            Object x = xs[lo];
+            xs[lo++] = xs[hi];
+            xs[hi--] = x;
+        }
+    }
+
+    // comparator version of countRunAndMakeAscending above
+    private static <T> int countRunAndMakeAscending(T[] xs, int lo, int hi, Comparator<? super T> c) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+        if (c.compare(xs[runHi++], xs[lo]) < 0) {
+            while (runHi < hi && c.compare(xs[runHi], xs[runHi - 1]) < 0) runHi++;
+            reverse(xs, lo, runHi - 1);
+        } else {
+            while (runHi < hi && c.compare(xs[runHi], xs[runHi - 1]) >= 0) runHi++;
+        }
+        return runHi - lo;
+    }
+
+    // comparator version of binarySort above
+    private static <T> void binarySort(T[] xs, int lo, int hi, int start, Comparator<? super T> c) {
+        for (; start < hi; start++) {
+            T x = xs[start];
+            int l = lo, r = start;
+            while (l < r) {
+                int m = (l + r) >>> 1;
+                if (c.compare(x, xs[m]) < 0) r = m;
+                else l = m + 1;
+            }
+            System.arraycopy(xs, l, xs, l + 1, start - l);
+            xs[l] = x;
+        }
+    }
+
+    // comparator version of gallopLeft above
+    private static <T> int gallopLeft(T key, T[] xs, int base, int len, int hint, Comparator<? super T> c) {
+        int lastOfs = 0, ofs = 1;
+        if (c.compare(key, xs[base + hint]) > 0) {
+            // gallop right until xs[base+hint+lastOfs] < key <= xs[base+hint+ofs]
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && c.compare(key, xs[base + hint + ofs]) > 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs; //overflow
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            // gallop left until xs[base+hint-ofs] < key <= xs[base+hint-lastOfs]
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && c.compare(key, xs[base + hint - ofs]) <= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        }
+        // binary search in xs[base+lastOfs+1..base+ofs]
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (c.compare(key, xs[base + m]) > 0) lastOfs = m + 1;
+            else ofs = m;
+        }
+        return ofs;
+    }
+
+    // comparator version of gallopRight above
+    private static <T> int gallopRight(T key, T[] xs, int base, int len, int hint, Comparator<? super T> c) {
+        int lastOfs = 0, ofs = 1;
+        if (c.compare(key, xs[base + hint]) < 0) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && c.compare(key, xs[base + hint - ofs]) < 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && c.compare(key, xs[base + hint + ofs]) >= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (c.compare(key, xs[base + m]) < 0) ofs = m;
+            else lastOfs = m + 1;
+        }
+        return ofs;
+    }
+
+    // comparator version of IntRuns
+    private static final class ObjRuns<T> {
+        private final T[] xs;
+        private final Comparator<? super T> c;
+        private final int[] runBase;
+        private final int[] runLen;
+        private int stackSize;
+        private int minGallop = MIN_GALLOP;
+        private T[] tmp;
+
+        @SuppressWarnings("unchecked")
+        ObjRuns(T[] xs, int n, Comparator<? super T> c) {
+            this.xs = xs;
+            this.c = c;
+            tmp = (T[]) new Object[n < 512 ? n >>> 1 : 256];
+            // bound on the stack height given the invariants and minimum run length
+            int stackLen = n < 120 ? 5 : n < 1542 ? 10 : n < 119151 ? 24 : 49;
+            runBase = new int[stackLen];
+            runLen = new int[stackLen];
+        }
+
+        void push(int base, int len) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = len;
+            stackSize++;
+        }
+
+        // merges adjacent runs until the stack invariants hold again
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        // merges every remaining run, called once the whole array has been split into runs
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        // merges the runs at i and i+1 on the stack
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
             }
+            stackSize--;
+
+            // elements of run 1 which are <= the first element of run 2 are already in place
+            int k = gallopRight(xs[base2], xs, base1, len1, 0, c);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+            // as are elements of run 2 which are >= the last element of run 1
+            len2 = gallopLeft(xs[base1 + len1 - 1], xs, base2, len2, len2 - 1, c);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) mergeLo(base1, len1, base2, len2);
+            else mergeHi(base1, len1, base2, len2);
+        }
+
+        // merges left to right, copying the (shorter) first run into the buffer
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            T[] xs = this.xs;
+            T[] tmp = ensureCapacity(len1);
+            System.arraycopy(xs, base1, tmp, 0, len1);
+            int c1 = 0, c2 = base2, dest = base1;
+
+            // first element of run 2 is known to be the smallest (see mergeAt)
+            xs[dest++] = xs[c2++];
+            if (--len2 == 0) {
+                System.arraycopy(tmp, c1, xs, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(xs, c2, xs, dest, len2);
+                xs[dest + len2] = tmp[c1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0; //number of consecutive wins of each run
+                // one element at a time until a run starts winning consistently
+                do {
+                    if (c.compare(xs[c2], tmp[c1]) < 0) {
+                        xs[dest++] = xs[c2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    } else {
+                        xs[dest++] = tmp[c1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // gallop until neither run is winning consistently anymore
+                do {
+                    count1 = gallopRight(xs[c2], tmp, c1, len1, 0, c);
+                    if (count1 != 0) {
+                        System.arraycopy(tmp, c1, xs, dest, count1);
+                        dest += count1;
+                        c1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) break outer;
+                    }
+                    xs[dest++] = xs[c2++];
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallopLeft(tmp[c1], xs, c2, len2, 0, c);
+                    if (count2 != 0) {
+                        System.arraycopy(xs, c2, xs, dest, count2);
+                        dest += count2;
+                        c2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) break outer;
+                    }
+                    xs[dest++] = tmp[c1++];
+                    if (--len1 == 1) break outer;
+                    minGallop--; //galloping pays off, make it easier to enter again
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2; //penalty for leaving galloping mode
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len1 == 1) {
+                System.arraycopy(xs, c2, xs, dest, len2);
+                xs[dest + len2] = tmp[c1]; //last element of run 1 is the largest
+            } else {
+                System.arraycopy(tmp, c1, xs, dest, len1);
+            }
+        }
+
+        // merges right to left, copying the (shorter) second run into the buffer
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            T[] xs = this.xs;
+            T[] tmp = ensureCapacity(len2);
+            System.arraycopy(xs, base2, tmp, 0, len2);
+            int c1 = base1 + len1 - 1, c2 = len2 - 1, dest = base2 + len2 - 1;
+
+            // last element of run 1 is known to be the largest (see mergeAt)
+            xs[dest--] = xs[c1--];
+            if (--len1 == 0) {
+                System.arraycopy(tmp, 0, xs, dest - (len2 - 1), len2);
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                c1 -= len1;
+                System.arraycopy(xs, c1 + 1, xs, dest + 1, len1);
+                xs[dest] = tmp[c2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (c.compare(tmp[c2], xs[c1]) < 0) {
+                        xs[dest--] = xs[c1--];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) break outer;
+                    } else {
+                        xs[dest--] = tmp[c2--];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = len1 - gallopRight(tmp[c2], xs, base1, len1, len1 - 1, c);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        c1 -= count1;
+                        len1 -= count1;
+                        System.arraycopy(xs, c1 + 1, xs, dest + 1, count1);
+                        if (len1 == 0) break outer;
+                    }
+                    xs[dest--] = tmp[c2--];
+                    if (--len2 == 1) break outer;
+
+                    count2 = len2 - gallopLeft(xs[c1], tmp, 0, len2, len2 - 1, c);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        c2 -= count2;
+                        len2 -= count2;
+                        System.arraycopy(tmp, c2 + 1, xs, dest + 1, count2);
+                        if (len2 <= 1) break outer;
+                    }
+                    xs[dest--] = xs[c1--];
+                    if (--len1 == 0) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len2 == 1) {
+                dest -= len1;
+                c1 -= len1;
+                System.arraycopy(xs, c1 + 1, xs, dest + 1, len1);
+                xs[dest] = tmp[c2]; //first element of run 2 is the smallest
+            } else {
+                System.arraycopy(tmp, 0, xs, dest - (len2 - 1), len2);
+            }
+        }
+
+        // grows the merge buffer to the next power of two, never beyond half of the array
+        @SuppressWarnings("unchecked")
+        private T[] ensureCapacity(int min) {
+            if (tmp.length < min) {
+                int size = Integer.highestOneBit(min) << 1;
+                if (size < 0) size = min;
+                else size = Math.min(size, xs.length >>> 1);
+                tmp = (T[]) new Object[Math.max(size, min)];
+            }
+            return tmp;
+        }
+    }
+
+    // long arrays: generated from templates/algos/TimSort.java.template by tools/GenerateSorts.java, do not edit
+
+    /**
+     * sorts an array of longs using TimSort
+     *
+     * @param xs array to sort
+     */
+    public static void sort(long[] xs) {
+        sort(xs, 0, xs.length - 1, null);
+    }
+
+    /**
+     * sorts the subarray xs[lo..hi] (inclusive) of an array of longs
+     * using TimSort
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray
+     */
+    public static void sort(long[] xs, int lo, int hi) {
+        sort(xs, lo, hi, null);
+    }
+
+    /**
+     * sorts the subarray xs[lo..hi] (inclusive) of an array of longs
+     * using TimSort, merging through a caller supplied buffer,
+     * see {@link #sort(int[], int, int, int[])}
+     *
+     * @param xs   array to sort
+     * @param lo   start of subarray
+     * @param hi   end of subarray
+     * @param work merge buffer, its contents are overwritten
+     */
+    public static void sort(long[] xs, int lo, int hi, long[] work) {
+        timSort(xs, lo, hi + 1, work);
+    }
+
+    // hi is exclusive from here on, work is null if no buffer was supplied
+    private static void timSort(long[] xs, int lo, int hi, long[] work) {
+        int n = hi - lo;
+        if (n < 2) return;
+        if (n < MIN_MERGE) {
+            binarySort(xs, lo, hi, lo + countRunAndMakeAscending(xs, lo, hi));
+            return;
+        }
+        var runs = new LongRuns(xs, n, work);
+        int mr = minRun(n);
+        do {
+            int len = countRunAndMakeAscending(xs, lo, hi);
+            // extend short natural runs to min run
+            if (len < mr) {
+                int force = Math.min(n, mr);
+                binarySort(xs, lo, lo + force, lo + len);
+                len = force;
+            }
+            runs.push(lo, len);
+            runs.mergeCollapse();
+            lo += len;
+            n -= len;
+        } while (n != 0);
+        runs.mergeForceCollapse();
+    }
+
+    // length of the run starting at lo, reversing it in place if it is strictly descending
+    // (strictly, so that reversing never reorders equal elements)
+    private static int countRunAndMakeAscending(long[] xs, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+        if (xs[runHi++] < xs[lo]) {
+            while (runHi < hi && xs[runHi] < xs[runHi - 1]) runHi++;
+            reverse(xs, lo, runHi - 1);
+        } else {
+            while (runHi < hi && xs[runHi] >= xs[runHi - 1]) runHi++;
+        }
+        return runHi - lo;
+    }
+
+    private static void reverse(long[] xs, int lo, int hi) {
+        while (lo < hi) {
+            long x = xs[lo];
+            xs[lo++] = xs[hi];
+            xs[hi--] = x;
+        }
+    }
+
+    private static void binarySort(long[] xs, int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            long x = xs[start];
+            int l = lo, r = start;
+            while (l < r) {
+                int m = (l + r) >>> 1;
+                if (x < xs[m]) r = m;
+                else l = m + 1;
+            }
+            System.arraycopy(xs, l, xs, l + 1, start - l);
+            xs[l] = x;
+        }
+    }
+
+    /**
+     * finds the leftmost position at which key could be inserted into the sorted range xs[base..base+len),
+     * starting with an exponential search from base + hint
+     *
+     * @return k such that xs[base+k-1] < key <= xs[base+k]
+     */
+    private static int gallopLeft(long key, long[] xs, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (key > xs[base + hint]) {
+            // gallop right until xs[base+hint+lastOfs] < key <= xs[base+hint+ofs]
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key > xs[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs; //overflow
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            // gallop left until xs[base+hint-ofs] < key <= xs[base+hint-lastOfs]
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key <= xs[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        }
+        // binary search in xs[base+lastOfs+1..base+ofs]
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key > xs[base + m]) lastOfs = m + 1;
+            else ofs = m;
+        }
+        return ofs;
+    }
+
+    /**
+     * like {@link #gallopLeft} but finds the rightmost position, so equal elements stay in front of the key
+     *
+     * @return k such that xs[base+k-1] <= key < xs[base+k]
+     */
+    private static int gallopRight(long key, long[] xs, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (key < xs[base + hint]) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key < xs[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key >= xs[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key < xs[base + m]) ofs = m;
+            else lastOfs = m + 1;
+        }
+        return ofs;
+    }
+
+    /**
+     * stack of pending runs for a single sort, along with the merge buffer and the adaptive gallop threshold.
+     * runs on the stack always satisfy len[i-2] > len[i-1] + len[i] and len[i-1] > len[i], which keeps merges
+     * balanced and bounds the height of the stack by log_phi(n)
+     */
+    private static final class LongRuns {
+        private final long[] xs;
+        private final int[] runBase;
+        private final int[] runLen;
+        private int stackSize;
+        private int minGallop = MIN_GALLOP;
+        private long[] tmp;
+
+        LongRuns(long[] xs, int n, long[] work) {
+            this.xs = xs;
+            int len = n < 512 ? n >>> 1 : 256;
+            tmp = work != null && work.length >= len ? work : new long[len];
+            // bound on the stack height given the invariants and minimum run length
+            int stackLen = n < 120 ? 5 : n < 1542 ? 10 : n < 119151 ? 24 : 49;
+            runBase = new int[stackLen];
+            runLen = new int[stackLen];
+        }
+
+        void push(int base, int len) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = len;
+            stackSize++;
+        }
+
+        // merges adjacent runs until the stack invariants hold again
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        // merges every remaining run, called once the whole array has been split into runs
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        // merges the runs at i and i+1 on the stack
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // elements of run 1 which are <= the first element of run 2 are already in place
+            int k = gallopRight(xs[base2], xs, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+            // as are elements of run 2 which are >= the last element of run 1
+            len2 = gallopLeft(xs[base1 + len1 - 1], xs, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) mergeLo(base1, len1, base2, len2);
+            else mergeHi(base1, len1, base2, len2);
+        }
+
+        // merges left to right, copying the (shorter) first run into the buffer
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            long[] xs = this.xs;
+            long[] tmp = ensureCapacity(len1);
+            System.arraycopy(xs, base1, tmp, 0, len1);
+            int c1 = 0, c2 = base2, dest = base1;
+
+            // first element of run 2 is known to be the smallest (see mergeAt)
+            xs[dest++] = xs[c2++];
+            if (--len2 == 0) {
+                System.arraycopy(tmp, c1, xs, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(xs, c2, xs, dest, len2);
+                xs[dest + len2] = tmp[c1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0; //number of consecutive wins of each run
+                // one element at a time until a run starts winning consistently
+                do {
+                    if (xs[c2] < tmp[c1]) {
+                        xs[dest++] = xs[c2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    } else {
+                        xs[dest++] = tmp[c1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // gallop until neither run is winning consistently anymore
+                do {
+                    count1 = gallopRight(xs[c2], tmp, c1, len1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(tmp, c1, xs, dest, count1);
+                        dest += count1;
+                        c1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) break outer;
+                    }
+                    xs[dest++] = xs[c2++];
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallopLeft(tmp[c1], xs, c2, len2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(xs, c2, xs, dest, count2);
+                        dest += count2;
+                        c2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) break outer;
+                    }
+                    xs[dest++] = tmp[c1++];
+                    if (--len1 == 1) break outer;
+                    minGallop--; //galloping pays off, make it easier to enter again
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2; //penalty for leaving galloping mode
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len1 == 1) {
+                System.arraycopy(xs, c2, xs, dest, len2);
+                xs[dest + len2] = tmp[c1]; //last element of run 1 is the largest
+            } else {
+                System.arraycopy(tmp, c1, xs, dest, len1);
+            }
+        }
+
+        // merges right to left, copying the (shorter) second run into the buffer
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            long[] xs = this.xs;
+            long[] tmp = ensureCapacity(len2);
+            System.arraycopy(xs, base2, tmp, 0, len2);
+            int c1 = base1 + len1 - 1, c2 = len2 - 1, dest = base2 + len2 - 1;
+
+            // last element of run 1 is known to be the largest (see mergeAt)
+            xs[dest--] = xs[c1--];
+            if (--len1 == 0) {
+                System.arraycopy(tmp, 0, xs, dest - (len2 - 1), len2);
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                c1 -= len1;
+                System.arraycopy(xs, c1 + 1, xs, dest + 1, len1);
+                xs[dest] = tmp[c2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (tmp[c2] < xs[c1]) {
+                        xs[dest--] = xs[c1--];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) break outer;
+                    } else {
+                        xs[dest--] = tmp[c2--];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = len1 - gallopRight(tmp[c2], xs, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        c1 -= count1;
+                        len1 -= count1;
+                        System.arraycopy(xs, c1 + 1, xs, dest + 1, count1);
+                        if (len1 == 0) break outer;
+                    }
+                    xs[dest--] = tmp[c2--];
+                    if (--len2 == 1) break outer;
+
+                    count2 = len2 - gallopLeft(xs[c1], tmp, 0, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        c2 -= count2;
+                        len2 -= count2;
+                        System.arraycopy(tmp, c2 + 1, xs, dest + 1, count2);
+                        if (len2 <= 1) break outer;
+                    }
+                    xs[dest--] = xs[c1--];
+                    if (--len1 == 0) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len2 == 1) {
+                dest -= len1;
+                c1 -= len1;
+                System.arraycopy(xs, c1 + 1, xs, dest + 1, len1);
+                xs[dest] = tmp[c2]; //first element of run 2 is the smallest
+            } else {
+                System.arraycopy(tmp, 0, xs, dest - (len2 - 1), len2);
+            }
+        }
+
+        // grows the merge buffer to the next power of two, never beyond half of the array
+        private long[] ensureCapacity(int min) {
+            if (tmp.length < min) {
+                int size = Integer.highestOneBit(min) << 1;
+                if (size < 0) size = min;
+                else size = Math.min(size, xs.length >>> 1);
+                tmp = new long[Math.max(size, min)];
+            }
+            return tmp;
+        }
+    }
+
+    // end of generated long code
+
+    // double arrays: generated from templates/algos/TimSort.java.template by tools/GenerateSorts.java, do not edit
+
+    /**
+     * sorts an array of doubles using TimSort in the order of {@link Double#compare}
+     *
+     * @param xs array to sort
+     */
+    public static void sort(double[] xs) {
+        sort(xs, 0, xs.length - 1, null);
+    }
+
+    /**
+     * sorts the subarray xs[lo..hi] (inclusive) of an array of doubles
+     * using TimSort in the order of {@link Double#compare}
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray
+     */
+    public static void sort(double[] xs, int lo, int hi) {
+        sort(xs, lo, hi, null);
+    }
+
+    /**
+     * sorts the subarray xs[lo..hi] (inclusive) of an array of doubles
+     * using TimSort in the order of {@link Double#compare}, merging through a caller supplied buffer,
+     * see {@link #sort(int[], int, int, int[])}
+     *
+     * @param xs   array to sort
+     * @param lo   start of subarray
+     * @param hi   end of subarray
+     * @param work merge buffer, its contents are overwritten
+     */
+    public static void sort(double[] xs, int lo, int hi, double[] work) {
+        hi = Misc.moveNaNsToEnd(xs, lo, hi);
+        timSort(xs, lo, hi + 1, work);
+        Misc.orderZeros(xs, lo, hi);
+    }
+
+    // hi is exclusive from here on, work is null if no buffer was supplied
+    private static void timSort(double[] xs, int lo, int hi, double[] work) {
+        int n = hi - lo;
+        if (n < 2) return;
+        if (n < MIN_MERGE) {
+            binarySort(xs, lo, hi, lo + countRunAndMakeAscending(xs, lo, hi));
+            return;
+        }
+        var runs = new DoubleRuns(xs, n, work);
+        int mr = minRun(n);
+        do {
+            int len = countRunAndMakeAscending(xs, lo, hi);
+            // extend short natural runs to min run
+            if (len < mr) {
+                int force = Math.min(n, mr);
+                binarySort(xs, lo, lo + force, lo + len);
+                len = force;
+            }
+            runs.push(lo, len);
+            runs.mergeCollapse();
+            lo += len;
+            n -= len;
+        } while (n != 0);
+        runs.mergeForceCollapse();
+    }
+
+    // length of the run starting at lo, reversing it in place if it is strictly descending
+    // (strictly, so that reversing never reorders equal elements)
+    private static int countRunAndMakeAscending(double[] xs, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+        if (xs[runHi++] < xs[lo]) {
+            while (runHi < hi && xs[runHi] < xs[runHi - 1]) runHi++;
+            reverse(xs, lo, runHi - 1);
+        } else {
+            while (runHi < hi && xs[runHi] >= xs[runHi - 1]) runHi++;
+        }
+        return runHi - lo;
+    }
+
+    private static void reverse(double[] xs, int lo, int hi) {
+        while (lo < hi) {
+            double x = xs[lo];
+            xs[lo++] = xs[hi];
+            xs[hi--] = x;
+        }
+    }
+
+    private static void binarySort(double[] xs, int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            double x = xs[start];
+            int l = lo, r = start;
+            while (l < r) {
+                int m = (l + r) >>> 1;
+                if (x < xs[m]) r = m;
+                else l = m + 1;
+            }
+            System.arraycopy(xs, l, xs, l + 1, start - l);
+            xs[l] = x;
+        }
+    }
+
+    /**
+     * finds the leftmost position at which key could be inserted into the sorted range xs[base..base+len),
+     * starting with an exponential search from base + hint
+     *
+     * @return k such that xs[base+k-1] < key <= xs[base+k]
+     */
+    private static int gallopLeft(double key, double[] xs, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (key > xs[base + hint]) {
+            // gallop right until xs[base+hint+lastOfs] < key <= xs[base+hint+ofs]
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key > xs[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs; //overflow
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            // gallop left until xs[base+hint-ofs] < key <= xs[base+hint-lastOfs]
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key <= xs[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        }
+        // binary search in xs[base+lastOfs+1..base+ofs]
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key > xs[base + m]) lastOfs = m + 1;
+            else ofs = m;
+        }
+        return ofs;
+    }
+
+    /**
+     * like {@link #gallopLeft} but finds the rightmost position, so equal elements stay in front of the key
+     *
+     * @return k such that xs[base+k-1] <= key < xs[base+k]
+     */
+    private static int gallopRight(double key, double[] xs, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (key < xs[base + hint]) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key < xs[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key >= xs[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key < xs[base + m]) ofs = m;
+            else lastOfs = m + 1;
+        }
+        return ofs;
+    }
+
+    /**
+     * stack of pending runs for a single sort, along with the merge buffer and the adaptive gallop threshold.
+     * runs on the stack always satisfy len[i-2] > len[i-1] + len[i] and len[i-1] > len[i], which keeps merges
+     * balanced and bounds the height of the stack by log_phi(n)
+     */
+    private static final class DoubleRuns {
+        private final double[] xs;
+        private final int[] runBase;
+        private final int[] runLen;
+        private int stackSize;
+        private int minGallop = MIN_GALLOP;
+        private double[] tmp;
+
+        DoubleRuns(double[] xs, int n, double[] work) {
+            this.xs = xs;
+            int len = n < 512 ? n >>> 1 : 256;
+            tmp = work != null && work.length >= len ? work : new double[len];
+            // bound on the stack height given the invariants and minimum run length
+            int stackLen = n < 120 ? 5 : n < 1542 ? 10 : n < 119151 ? 24 : 49;
+            runBase = new int[stackLen];
+            runLen = new int[stackLen];
+        }
+
+        void push(int base, int len) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = len;
+            stackSize++;
+        }
+
+        // merges adjacent runs until the stack invariants hold again
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        // merges every remaining run, called once the whole array has been split into runs
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        // merges the runs at i and i+1 on the stack
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // elements of run 1 which are <= the first element of run 2 are already in place
+            int k = gallopRight(xs[base2], xs, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+            // as are elements of run 2 which are >= the last element of run 1
+            len2 = gallopLeft(xs[base1 + len1 - 1], xs, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) mergeLo(base1, len1, base2, len2);
+            else mergeHi(base1, len1, base2, len2);
+        }
+
+        // merges left to right, copying the (shorter) first run into the buffer
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            double[] xs = this.xs;
+            double[] tmp = ensureCapacity(len1);
+            System.arraycopy(xs, base1, tmp, 0, len1);
+            int c1 = 0, c2 = base2, dest = base1;
+
+            // first element of run 2 is known to be the smallest (see mergeAt)
+            xs[dest++] = xs[c2++];
+            if (--len2 == 0) {
+                System.arraycopy(tmp, c1, xs, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(xs, c2, xs, dest, len2);
+                xs[dest + len2] = tmp[c1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0; //number of consecutive wins of each run
+                // one element at a time until a run starts winning consistently
+                do {
+                    if (xs[c2] < tmp[c1]) {
+                        xs[dest++] = xs[c2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    } else {
+                        xs[dest++] = tmp[c1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // gallop until neither run is winning consistently anymore
+                do {
+                    count1 = gallopRight(xs[c2], tmp, c1, len1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(tmp, c1, xs, dest, count1);
+                        dest += count1;
+                        c1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) break outer;
+                    }
+                    xs[dest++] = xs[c2++];
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallopLeft(tmp[c1], xs, c2, len2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(xs, c2, xs, dest, count2);
+                        dest += count2;
+                        c2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) break outer;
+                    }
+                    xs[dest++] = tmp[c1++];
+                    if (--len1 == 1) break outer;
+                    minGallop--; //galloping pays off, make it easier to enter again
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2; //penalty for leaving galloping mode
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len1 == 1) {
+                System.arraycopy(xs, c2, xs, dest, len2);
+                xs[dest + len2] = tmp[c1]; //last element of run 1 is the largest
+            } else {
+                System.arraycopy(tmp, c1, xs, dest, len1);
+            }
+        }
+
+        // merges right to left, copying the (shorter) second run into the buffer
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            double[] xs = this.xs;
+            double[] tmp = ensureCapacity(len2);
+            System.arraycopy(xs, base2, tmp, 0, len2);
+            int c1 = base1 + len1 - 1, c2 = len2 - 1, dest = base2 + len2 - 1;
+
+            // last element of run 1 is known to be the largest (see mergeAt)
+            xs[dest--] = xs[c1--];
+            if (--len1 == 0) {
+                System.arraycopy(tmp, 0, xs, dest - (len2 - 1), len2);
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                c1 -= len1;
+                System.arraycopy(xs, c1 + 1, xs, dest + 1, len1);
+                xs[dest] = tmp[c2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (tmp[c2] < xs[c1]) {
+                        xs[dest--] = xs[c1--];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) break outer;
+                    } else {
+                        xs[dest--] = tmp[c2--];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = len1 - gallopRight(tmp[c2], xs, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        c1 -= count1;
+                        len1 -= count1;
+                        System.arraycopy(xs, c1 + 1, xs, dest + 1, count1);
+                        if (len1 == 0) break outer;
+                    }
+                    xs[dest--] = tmp[c2--];
+                    if (--len2 == 1) break outer;
+
+                    count2 = len2 - gallopLeft(xs[c1], tmp, 0, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        c2 -= count2;
+                        len2 -= count2;
+                        System.arraycopy(tmp, c2 + 1, xs, dest + 1, count2);
+                        if (len2 <= 1) break outer;
+                    }
+                    xs[dest--] = xs[c1--];
+                    if (--len1 == 0) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len2 == 1) {
+                dest -= len1;
+                c1 -= len1;
+                System.arraycopy(xs, c1 + 1, xs, dest + 1, len1);
+                xs[dest] = tmp[c2]; //first element of run 2 is the smallest
+            } else {
+                System.arraycopy(tmp, 0, xs, dest - (len2 - 1), len2);
+            }
+        }
+
+        // grows the merge buffer to the next power of two, never beyond half of the array
+        private double[] ensureCapacity(int min) {
+            if (tmp.length < min) {
+                int size = Integer.highestOneBit(min) << 1;
+                if (size < 0) size = min;
+                else size = Math.min(size, xs.length >>> 1);
+                tmp = new double[Math.max(size, min)];
+            }
+            return tmp;
+        }
+    }
+
+    // end of generated double code
+
+    /**
+     * sorts an array of shorts with {@link Counting#sort(short[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void sort(short[] xs) {
+        Counting.sort(xs);
+    }
+
+    /**
+     * sorts an array of chars with {@link Counting#sort(char[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void sort(char[] xs) {
+        Counting.sort(xs);
+    }
+
+    /**
+     * sorts an array of bytes with {@link Counting#sort(byte[])}, which is linear for types this small
+     *
+     * @param xs array to sort
+     */
+    public static void sort(byte[] xs) {
+        Counting.sort(xs);
     }
 }
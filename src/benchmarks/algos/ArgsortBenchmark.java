@@ -0,0 +1,76 @@
+package benchmarks.algos;
+
+import algos.Counting;
+import algos.LSDRadix;
+import algos.Misc;
+import algos.TimSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sorting a table of three columns (int keys, long timestamps, double payloads) by its key column: each argsort
+ * computes the permutation once and {@link Misc#applyPermutation} then reorders every column in place.
+ * {@link #argsortOnly()} leaves out the reordering, to see how the time splits between the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ArgsortBenchmark {
+    @Param({"100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"RANDOM", "NEARLY_SORTED", "FEW_UNIQUES"})
+    Distribution distribution;
+
+    int[] data;
+    int[] keys;
+    long[] timestamps;
+    double[] payloads;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = distribution.generate(size);
+        keys = new int[size];
+        timestamps = new long[size];
+        payloads = new double[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(data, 0, keys, 0, size);
+        for (int i = 0; i < size; i++) {
+            timestamps[i] = i;
+            payloads[i] = i;
+        }
+    }
+
+    @Benchmark
+    public int[] argsortOnly() {
+        return LSDRadix.argsort(keys);
+    }
+
+    @Benchmark
+    public int[] radix() {
+        int[] perm = LSDRadix.argsort(keys);
+        Misc.applyPermutation(perm, keys, timestamps, payloads);
+        return perm;
+    }
+
+    @Benchmark
+    public int[] counting() {
+        int[] perm = Counting.argsort(keys);
+        Misc.applyPermutation(perm, keys, timestamps, payloads);
+        return perm;
+    }
+
+    @Benchmark
+    public int[] timsort() {
+        int[] perm = TimSort.argsort(keys);
+        Misc.applyPermutation(perm, keys, timestamps, payloads);
+        return perm;
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks.algos;
+
+import algos.Mergesort;
+import algos.Sort;
+import algos.TimSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sorting a batch of many independent arrays, like {@code Main} does: each array on its own with the usual entry
+ * points, which allocate their buffers every time, against {@link Sort#sortAll(int[][])}, which shares one scratch
+ * buffer across the batch, and its parallel version. run with {@code -prof gc} to compare the allocation per batch.
+ * the arrays are restored before every invocation, so every batch sorts the same unsorted input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BatchSortBenchmark {
+    // number of arrays in the batch and maximum length of each, lengths are uniform below it
+    @Param({"1000:2000", "100000:32", "10000:256"})
+    String batch;
+
+    @Param({"4"})
+    int parallelism;
+
+    int[][] data;
+    int[][] xss;
+    ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] parts = batch.split(":");
+        int count = Integer.parseInt(parts[0]), maxLen = Integer.parseInt(parts[1]);
+        var gen = new Random(42);
+        data = new int[count][];
+        xss = new int[count][];
+        for (int i = 0; i < count; i++) {
+            data[i] = Distribution.RANDOM.generate(gen.nextInt(maxLen));
+            xss[i] = new int[data[i].length];
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        for (int i = 0; i < data.length; i++)
+            System.arraycopy(data[i], 0, xss[i], 0, data[i].length);
+    }
+
+    @Benchmark
+    public int[][] mergesort() {
+        for (var xs : xss)
+            Mergesort.sort(xs);
+        return xss;
+    }
+
+    @Benchmark
+    public int[][] timsort() {
+        for (var xs : xss)
+            TimSort.sort(xs);
+        return xss;
+    }
+
+    @Benchmark
+    public int[][] adaptive() {
+        for (var xs : xss)
+            Sort.sort(xs);
+        return xss;
+    }
+
+    @Benchmark
+    public Sort.BatchStats sortAll() {
+        return Sort.sortAll(xss);
+    }
+
+    @Benchmark
+    public Sort.BatchStats sortAllParallel() {
+        return Sort.sortAll(xss, pool);
+    }
+}
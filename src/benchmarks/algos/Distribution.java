@@ -0,0 +1,70 @@
+package benchmarks.algos;
+
+import java.util.Random;
+
+/**
+ * shapes of input used by the sorting benchmarks. all generated values are non-negative and bounded by the
+ * length of the array, so that every sorter in {@code algos} (including {@code Counting} and the decimal, unsigned
+ * {@code LSDRadix}) accepts the same inputs.
+ */
+public enum Distribution {
+    RANDOM {
+        @Override
+        void fill(int[] xs, Random gen) {
+            for (int i = 0; i < xs.length; i++)
+                xs[i] = gen.nextInt(xs.length);
+        }
+    },
+    SORTED {
+        @Override
+        void fill(int[] xs, Random gen) {
+            for (int i = 0; i < xs.length; i++)
+                xs[i] = i;
+        }
+    },
+    REVERSED {
+        @Override
+        void fill(int[] xs, Random gen) {
+            for (int i = 0; i < xs.length; i++)
+                xs[i] = xs.length - i;
+        }
+    },
+    NEARLY_SORTED {
+        // ascending with roughly 1% of the elements displaced, like late arriving event timestamps
+        @Override
+        void fill(int[] xs, Random gen) {
+            for (int i = 0; i < xs.length; i++)
+                xs[i] = gen.nextInt(100) == 0 ? gen.nextInt(xs.length) : i;
+        }
+    },
+    FEW_UNIQUES {
+        @Override
+        void fill(int[] xs, Random gen) {
+            for (int i = 0; i < xs.length; i++)
+                xs[i] = gen.nextInt(8);
+        }
+    },
+    SAWTOOTH {
+        @Override
+        void fill(int[] xs, Random gen) {
+            int tooth = Math.max(1, (int) Math.sqrt(xs.length));
+            for (int i = 0; i < xs.length; i++)
+                xs[i] = i % tooth;
+        }
+    };
+
+    abstract void fill(int[] xs, Random gen);
+
+    /**
+     * generates an array of the given length with this distribution, using a fixed seed so that every fork
+     * measures the exact same input
+     *
+     * @param len length of array
+     * @return new array
+     */
+    public int[] generate(int len) {
+        int[] xs = new int[len];
+        fill(xs, new Random(42));
+        return xs;
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks.algos;
+
+import algos.ExternalSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExternalSort} on generated files of random ints from 1 to 8gb, with memory budgets well below the file
+ * size so that every configuration spills runs, and fan ins small enough to need more than one merge pass.
+ * every invocation sorts the whole file once, so this is timed as a single shot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExternalSortBenchmark {
+    // number of ints in the file: 1gb, 4gb and 8gb
+    @Param({"268435456", "1073741824", "2147483648"})
+    long size;
+
+    // memory budget in bytes: 64mb and 512mb
+    @Param({"67108864", "536870912"})
+    long budget;
+
+    @Param({"8", "64"})
+    int fanIn;
+
+    Path dir, in, out;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("external-sort");
+        in = dir.resolve("in.bin");
+        out = dir.resolve("out.bin");
+        var rand = new Random(42);
+        var buf = ByteBuffer.allocateDirect(1 << 20);
+        try (var ch = FileChannel.open(in, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            for (long i = 0; i < size; i++) {
+                buf.putInt(rand.nextInt());
+                if (!buf.hasRemaining()) {
+                    buf.flip();
+                    while (buf.hasRemaining()) ch.write(buf);
+                    buf.clear();
+                }
+            }
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(in);
+        Files.deleteIfExists(out);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public Path sortInts() throws IOException {
+        ExternalSort.sortInts(in, out, budget, fanIn);
+        return out;
+    }
+}
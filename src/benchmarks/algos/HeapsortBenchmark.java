@@ -0,0 +1,78 @@
+package benchmarks.algos;
+
+import algos.Heapsort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Heapsort} on arrays from 10^6 to 10^8 elements for every heap arity, where cache misses along the path
+ * from root to leaf dominate. {@link #comparisons} additionally counts the comparisons made by the comparator
+ * version, for comparison with the n log2 n of an optimal sort.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HeapsortBenchmark {
+    @Param({"1000000", "10000000", "100000000"})
+    int size;
+
+    @Param({"2", "4", "8", "16"})
+    int arity;
+
+    @Param({"RANDOM", "FEW_UNIQUES"})
+    Distribution distribution;
+
+    int[] data;
+    int[] xs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = distribution.generate(size);
+        xs = new int[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(data, 0, xs, 0, size);
+    }
+
+    @Benchmark
+    public int[] heapsort() {
+        Heapsort.sort(xs, arity);
+        return xs;
+    }
+
+    /**
+     * comparisons made by the comparator version, summed over each iteration by jmh (divide by the number of
+     * operations for the comparisons per sort). the comparator version always uses a binary heap, so the arity
+     * parameter does not affect it
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Comparisons {
+        public long comparisons;
+        Integer[] boxed;
+
+        @Setup(Level.Invocation)
+        public void reset(HeapsortBenchmark b) {
+            if (boxed == null) boxed = new Integer[b.size];
+            for (int i = 0; i < b.size; i++)
+                boxed[i] = b.data[i];
+        }
+    }
+
+    @Benchmark
+    public Integer[] comparisons(Comparisons counter) {
+        Comparator<Integer> c = (x, y) -> {
+            counter.comparisons++;
+            return Integer.compare(x, y);
+        };
+        Heapsort.sort(counter.boxed, 0, size - 1, c);
+        return counter.boxed;
+    }
+}
@@ -0,0 +1,42 @@
+package benchmarks.algos;
+
+import algos.Insertionsort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * insertion sort is quadratic, so it is benchmarked separately on the small sizes where it is used as a leaf
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InsertionsortBenchmark {
+    @Param({"16", "64", "256", "2048"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUES", "SAWTOOTH"})
+    Distribution distribution;
+
+    int[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = distribution.generate(size);
+    }
+
+    @Benchmark
+    public int[] copy() {
+        return data.clone();
+    }
+
+    @Benchmark
+    public int[] insertionsort() {
+        int[] xs = data.clone();
+        Insertionsort.sort(xs);
+        return xs;
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks.algos;
+
+import algos.Mergesort;
+import algos.Quicksort;
+import algos.TimSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the int sorters on short arrays, where the leaf sort dominates, with the vector api sorting network as leaf
+ * and with the scalar insertion sorts. the network is picked once per jvm, so every variant runs in its own fork:
+ * the vector ones with the {@code jdk.incubator.vector} module added, the scalar ones with it switched off. the
+ * vector ones need the classes of src-vector on the class path, without them they fall back to the scalar sorts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LeafSortBenchmark {
+    private static final String VECTOR = "--add-modules=jdk.incubator.vector";
+
+    @Param({"16", "32", "64", "256", "2000"})
+    int size;
+
+    @Param({"RANDOM", "FEW_UNIQUES"})
+    Distribution distribution;
+
+    int[] data;
+    int[] xs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = distribution.generate(size);
+        xs = new int[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(data, 0, xs, 0, size);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VECTOR})
+    public int[] timsortVector() {
+        TimSort.sort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VECTOR, "-Dalgos.vector=false"})
+    public int[] timsortScalar() {
+        TimSort.sort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VECTOR})
+    public int[] introsortVector() {
+        Quicksort.introsort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VECTOR, "-Dalgos.vector=false"})
+    public int[] introsortScalar() {
+        Quicksort.introsort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VECTOR})
+    public int[] mergesortVector() {
+        Mergesort.sort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VECTOR, "-Dalgos.vector=false"})
+    public int[] mergesortScalar() {
+        Mergesort.sort(xs);
+        return xs;
+    }
+}
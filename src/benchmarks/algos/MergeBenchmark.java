@@ -0,0 +1,94 @@
+package benchmarks.algos;
+
+import algos.Merge;
+import algos.Sort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Merge} on sorted shards of random ints with {@code size} elements in total: the k way merge of all shards
+ * against sorting their concatenation from scratch, and the two way merge of the first half of the shards with the
+ * second half, sequentially, along the merge path in parallel, and in place with buffers of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MergeBenchmark {
+    @Param({"1000000", "10000000"})
+    int size;
+
+    // number of shards
+    @Param({"8", "64"})
+    int shards;
+
+    // buffer for the in place merge as a fraction of the shorter run: 1/buffer
+    @Param({"1", "16"})
+    int buffer;
+
+    int[][] runs;
+    int[] left, right, dst, halves, scratch;
+    ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int[] data = Distribution.RANDOM.generate(size);
+        runs = new int[shards][];
+        for (int i = 0; i < shards; i++) {
+            runs[i] = Arrays.copyOfRange(data, (int) ((long) size * i / shards), (int) ((long) size * (i + 1) / shards));
+            Arrays.sort(runs[i]);
+        }
+        left = Arrays.copyOfRange(data, 0, size / 2);
+        right = Arrays.copyOfRange(data, size / 2, size);
+        Arrays.sort(left);
+        Arrays.sort(right);
+        dst = new int[size];
+        halves = new int[size];
+        scratch = new int[Math.max(left.length, right.length) / buffer];
+        pool = new ForkJoinPool();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] kWay() {
+        return Merge.merge(runs, dst);
+    }
+
+    @Benchmark
+    public int[] concatenateAndSort() {
+        int k = 0;
+        for (var run : runs) {
+            System.arraycopy(run, 0, dst, k, run.length);
+            k += run.length;
+        }
+        Sort.sort(dst);
+        return dst;
+    }
+
+    @Benchmark
+    public int[] twoWay() {
+        return Merge.merge(left, right, dst);
+    }
+
+    @Benchmark
+    public int[] twoWayParallel() {
+        return Merge.parallelMerge(left, right, dst, pool);
+    }
+
+    @Benchmark
+    public int[] inPlace() {
+        System.arraycopy(left, 0, halves, 0, left.length);
+        System.arraycopy(right, 0, halves, left.length, right.length);
+        Merge.mergeInPlace(halves, 0, left.length - 1, size - 1, scratch);
+        return halves;
+    }
+}
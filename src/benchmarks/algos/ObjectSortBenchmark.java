@@ -0,0 +1,78 @@
+package benchmarks.algos;
+
+import algos.Sort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sorting records by comparator and by extracted key, against Arrays.sort
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ObjectSortBenchmark {
+    public record Event(int id, long timestamp) {
+    }
+
+    private static final Comparator<Event> BY_ID = Comparator.comparingInt(Event::id);
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    Event[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var gen = new Random(42);
+        data = new Event[size];
+        for (int i = 0; i < size; i++)
+            data[i] = new Event(gen.nextInt(size), gen.nextLong());
+    }
+
+    @Benchmark
+    public Event[] copy() {
+        return data.clone();
+    }
+
+    @Benchmark
+    public Event[] timsort() {
+        var xs = data.clone();
+        Sort.sort(xs, BY_ID);
+        return xs;
+    }
+
+    @Benchmark
+    public Event[] introsort() {
+        var xs = data.clone();
+        Sort.sortUnstable(xs, BY_ID);
+        return xs;
+    }
+
+    @Benchmark
+    public Event[] intKey() {
+        var xs = data.clone();
+        Sort.sortByIntKey(xs, Event::id);
+        return xs;
+    }
+
+    @Benchmark
+    public Event[] longKey() {
+        var xs = data.clone();
+        Sort.sortByLongKey(xs, Event::timestamp);
+        return xs;
+    }
+
+    @Benchmark
+    public Event[] jdk() {
+        var xs = data.clone();
+        Arrays.sort(xs, BY_ID);
+        return xs;
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks.algos;
+
+import algos.LSDRadix;
+import algos.ParallelRadix;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * scaling of {@link ParallelRadix} with the number of worker threads, against the sequential
+ * {@link LSDRadix#sort(int[], int[])} it parallelizes (which does not depend on the parallelism parameter)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ParallelRadixBenchmark {
+    @Param({"10000000", "100000000"})
+    int size;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    int parallelism;
+
+    @Param({"RANDOM", "FEW_UNIQUES"})
+    Distribution distribution;
+
+    int[] data;
+    int[] xs;
+    int[] temp;
+    ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = distribution.generate(size);
+        xs = new int[size];
+        temp = new int[size];
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(data, 0, xs, 0, size);
+    }
+
+    @Benchmark
+    public int[] parallelRadix() {
+        return ParallelRadix.sort(xs, temp, pool);
+    }
+
+    @Benchmark
+    public int[] lsdRadix() {
+        return LSDRadix.sort(xs, temp);
+    }
+}
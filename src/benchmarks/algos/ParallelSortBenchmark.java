@@ -0,0 +1,64 @@
+package benchmarks.algos;
+
+import algos.ParallelSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * scaling of {@link ParallelSort} with the number of worker threads, against {@link Arrays#parallelSort}
+ * running in a pool of the same size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ParallelSortBenchmark {
+    @Param({"10000000", "100000000"})
+    int size;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    int parallelism;
+
+    @Param({"RANDOM", "NEARLY_SORTED"})
+    Distribution distribution;
+
+    int[] data;
+    int[] xs;
+    ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = distribution.generate(size);
+        xs = new int[size];
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    // copying back in place of clone() keeps the 400mb allocation out of the measurement
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(data, 0, xs, 0, size);
+    }
+
+    @Benchmark
+    public int[] parallelSort() {
+        ParallelSort.sort(xs, pool, ParallelSort.defaultThreshold(size, parallelism));
+        return xs;
+    }
+
+    @Benchmark
+    public int[] jdkParallelSort() {
+        // tasks forked from inside a worker stay in that worker's pool rather than the common pool
+        pool.submit(() -> Arrays.parallelSort(xs)).join();
+        return xs;
+    }
+}
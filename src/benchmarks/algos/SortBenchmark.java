@@ -0,0 +1,140 @@
+package benchmarks.algos;
+
+import algos.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput benchmark for the n log n (and linear) sorters in {@code algos}.
+ * every benchmark sorts a fresh copy of the generated input, the cost of which is measured on its own by
+ * {@link #copy()} so that it can be subtracted from both the time and the allocation figures.
+ * run with {@code -prof gc} (or through {@link #main}) to get the allocation rate per operation.
+ * the benchmarks need to be compiled with the JMH annotation processor, as {@code tools/benchmarks.sh} does,
+ * e.g. {@code tools/benchmarks.sh SortBenchmark -prof gc}.
+ * {@link #adaptive()} should come close to the best of the fixed algorithms for every size and distribution,
+ * since {@link Sort#sort(int[])} dispatches to one of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SortBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "NEARLY_SORTED", "FEW_UNIQUES", "SAWTOOTH"})
+    Distribution distribution;
+
+    int[] data;
+    int[] scratch;
+    final Quicksort quicksort = new Quicksort();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = distribution.generate(size);
+        scratch = new int[size];
+    }
+
+    @Benchmark
+    public int[] copy() {
+        return data.clone();
+    }
+
+    @Benchmark
+    public int[] quicksort() {
+        int[] xs = data.clone();
+        quicksort.sort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    public int[] introsort() {
+        int[] xs = data.clone();
+        Quicksort.introsort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    public int[] mergesort() {
+        int[] xs = data.clone();
+        Mergesort.sort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    public int[] mergesortScratch() {
+        int[] xs = data.clone();
+        Mergesort.sort(xs, scratch);
+        return xs;
+    }
+
+    @Benchmark
+    public int[] timsort() {
+        int[] xs = data.clone();
+        TimSort.sort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    public int[] heapsort() {
+        int[] xs = data.clone();
+        Heapsort.sort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    public int[] counting() {
+        return Counting.sort(data.clone());
+    }
+
+    @Benchmark
+    public int[] lsdRadix() {
+        return LSDRadix.sort(data.clone());
+    }
+
+    @Benchmark
+    public int[] lsdRadixScratch() {
+        return LSDRadix.sort(data.clone(), scratch);
+    }
+
+    @Benchmark
+    public int[] lsdRadixDecimal() {
+        return LSDRadix.sort(data.clone(), (int) Math.log10(size) + 1);
+    }
+
+    @Benchmark
+    public int[] adaptive() {
+        int[] xs = data.clone();
+        Sort.sort(xs);
+        return xs;
+    }
+
+    @Benchmark
+    public int[] jdk() {
+        int[] xs = data.clone();
+        Arrays.sort(xs);
+        return xs;
+    }
+
+    /**
+     * runs every benchmark in {@code benchmarks.algos} with the gc profiler, on classes compiled by
+     * {@code tools/benchmarks.sh} (which also runs them directly)
+     *
+     * @param args ignored
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include("benchmarks.algos.")
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package benchmarks.algos;
+
+import algos.Mergesort;
+import algos.TimSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the stable object sorts: {@link Mergesort} with its auxiliary array, its in place version with a fixed buffer,
+ * and {@link TimSort}, on records with many equal keys. run with {@code -prof gc}: gc.alloc.rate.norm is the
+ * memory allocated per sort, a reference per element for the auxiliary array against a constant for the in place
+ * sort, which is what bounds the peak heap a sort needs on top of the array itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StableSortBenchmark {
+    public record Event(int key, int seq) {
+    }
+
+    private static final Comparator<Event> BY_KEY = Comparator.comparingInt(Event::key);
+
+    @Param({"100000", "1000000", "10000000"})
+    int size;
+
+    Event[] data;
+    Event[] xs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var gen = new Random(42);
+        data = new Event[size];
+        for (int i = 0; i < size; i++)
+            data[i] = new Event(gen.nextInt(size / 16 + 1), i);
+        xs = new Event[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(data, 0, xs, 0, size);
+    }
+
+    @Benchmark
+    public Event[] mergesort() {
+        Mergesort.sort(xs, BY_KEY);
+        return xs;
+    }
+
+    @Benchmark
+    public Event[] mergesortInPlace() {
+        Mergesort.sortInPlace(xs, BY_KEY);
+        return xs;
+    }
+
+    @Benchmark
+    public Event[] timsort() {
+        TimSort.sort(xs, BY_KEY);
+        return xs;
+    }
+}
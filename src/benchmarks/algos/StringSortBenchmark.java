@@ -0,0 +1,66 @@
+package benchmarks.algos;
+
+import algos.LSDRadix;
+import algos.MSDRadix;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * string sorting on keys shaped like the ones we sort in production: urls and log keys which share long prefixes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class StringSortBenchmark {
+    @Param({"10000", "1000000"})
+    int size;
+
+    @Param({"URL", "LOG_KEY", "RANDOM"})
+    String keys;
+
+    String[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var gen = new Random(42);
+        data = new String[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = switch (keys) {
+                case "URL" -> "https://api.example.com/v2/tenants/" + gen.nextInt(50) + "/users/"
+                        + gen.nextInt(size) + "/events?page=" + gen.nextInt(20);
+                case "LOG_KEY" -> "service.ingest.worker-" + gen.nextInt(32) + ".2026-10-18T"
+                        + String.format("%02d:%02d:%02d.%03d", gen.nextInt(24), gen.nextInt(60), gen.nextInt(60),
+                        gen.nextInt(1000));
+                default -> Long.toString(gen.nextLong() & Long.MAX_VALUE, 36);
+            };
+        }
+    }
+
+    @Benchmark
+    public String[] copy() {
+        return data.clone();
+    }
+
+    @Benchmark
+    public String[] msdRadix() {
+        return MSDRadix.sort(data.clone());
+    }
+
+    @Benchmark
+    public String[] lsdRadix() {
+        return LSDRadix.sort(data.clone());
+    }
+
+    @Benchmark
+    public String[] jdk() {
+        String[] xs = data.clone();
+        Arrays.sort(xs);
+        return xs;
+    }
+}
@@ -0,0 +1,102 @@
+package benchmarks.structures.lists;
+
+import org.openjdk.jmh.annotations.*;
+import structures.lists.DynArray;
+import structures.lists.LongDynArray;
+import structures.lists.OffHeapLongList;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gc pauses with a large table of longs held on the heap (boxed in a {@link DynArray}, or in a
+ * {@link LongDynArray}) or outside of it (an {@link OffHeapLongList}), while the application allocates
+ * short lived objects, a few of which survive long enough to be promoted. {@link #churn} reports the total gc time
+ * and number of collections per iteration as the {@code gcMillis} and {@code gcCount} counters, {@link #fullGc}
+ * times a full collection, which has to mark every object of the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g", "-XX:MaxDirectMemorySize=8g"})
+public class OffHeapGcBenchmark {
+    public enum Kind {BOXED, LONGS, OFF_HEAP}
+
+    @Param({"BOXED", "LONGS", "OFF_HEAP"})
+    Kind kind;
+
+    // 64m and 256m longs, 512mb and 2gb of values (about 9gb of heap when boxed)
+    @Param({"67108864", "268435456"})
+    long size;
+
+    DynArray<Long> boxed;
+    LongDynArray longs;
+    OffHeapLongList offHeap;
+    // objects which live long enough to be promoted, replaced round robin
+    Object[] survivors = new Object[1 << 16];
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class GcTime {
+        public long gcMillis, gcCount;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var rand = new Random(42);
+        switch (kind) {
+            case BOXED -> {
+                if (size > Integer.MAX_VALUE) throw new IllegalArgumentException("too large for a DynArray");
+                boxed = new DynArray<>();
+                for (long i = 0; i < size; i++) boxed.add(rand.nextLong());
+            }
+            case LONGS -> {
+                if (size > Integer.MAX_VALUE) throw new IllegalArgumentException("too large for a LongDynArray");
+                longs = new LongDynArray();
+                for (long i = 0; i < size; i++) longs.add(rand.nextLong());
+            }
+            case OFF_HEAP -> {
+                offHeap = new OffHeapLongList();
+                for (long i = 0; i < size; i++) offHeap.add(rand.nextLong());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (offHeap != null) offHeap.close();
+    }
+
+    private static long[] gcStats() {
+        long millis = 0, count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(gc.getCollectionTime(), 0);
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return new long[]{millis, count};
+    }
+
+    @Benchmark
+    public Object[] churn(GcTime time) {
+        long[] before = gcStats();
+        var rand = new Random(7);
+        for (int i = 0; i < 50_000_000; i++) {
+            var garbage = new long[4 + (i & 15)];
+            if ((i & 255) == 0) survivors[rand.nextInt(survivors.length)] = garbage;
+        }
+        long[] after = gcStats();
+        time.gcMillis = after[0] - before[0];
+        time.gcCount = after[1] - before[1];
+        return survivors;
+    }
+
+    @Benchmark
+    public Object fullGc() {
+        System.gc();
+        return kind == Kind.BOXED ? boxed : kind == Kind.LONGS ? longs : offHeap;
+    }
+}
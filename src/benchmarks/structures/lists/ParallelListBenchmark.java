@@ -0,0 +1,90 @@
+package benchmarks.structures.lists;
+
+import org.openjdk.jmh.annotations.*;
+import structures.lists.DynArray;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+/**
+ * the parallel bulk operations of {@link DynArray} on pools of 1 to 8 threads, to see how close they get to a
+ * linear speedup, against the sequential operations and a parallel stream over the SIZED spliterator of the list.
+ * the mapped function does a little arithmetic per element so that the work is not only memory bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ParallelListBenchmark {
+    @Param({"1000000", "10000000"})
+    int size;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    DynArray<Integer> xs;
+    ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var rand = new Random(42);
+        xs = new DynArray<>(size);
+        for (int i = 0; i < size; i++)
+            xs.add(rand.nextInt());
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static long mix(long x) {
+        x *= 0x9E3779B97F4A7C15L;
+        return x ^ (x >>> 29);
+    }
+
+    @Benchmark
+    public long foldl() {
+        return xs.foldl(0L, (acc, x) -> acc + mix(x));
+    }
+
+    @Benchmark
+    public long parallelFoldl() {
+        return xs.parallelFoldl(0L, (acc, x) -> acc + mix(x), Long::sum, pool);
+    }
+
+    @Benchmark
+    public long parallelStream() throws Exception {
+        return pool.submit(() -> StreamSupport.stream(xs.spliterator(), true).mapToLong(x -> mix(x)).sum()).get();
+    }
+
+    @Benchmark
+    public Integer parallelReduce() {
+        return xs.parallelReduce(Math::max, pool);
+    }
+
+    @Benchmark
+    public Object map() {
+        return xs.map(x -> (int) mix(x));
+    }
+
+    @Benchmark
+    public Object parallelMap() {
+        return xs.parallelMap(x -> (int) mix(x), pool);
+    }
+
+    @Benchmark
+    public Object filter() {
+        return xs.filter(x -> (mix(x) & 3) == 0);
+    }
+
+    @Benchmark
+    public Object parallelFilter() {
+        return xs.parallelFilter(x -> (mix(x) & 3) == 0, pool);
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks.structures.lists;
+
+import org.openjdk.jmh.annotations.*;
+import structures.lists.DynArray;
+import structures.lists.IList;
+import structures.lists.LinkedList;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * a map, filter, foldl chain over a list of random ints, run eagerly through {@link IList#map} and
+ * {@link IList#filter} (which build two intermediate lists) against the fused {@link IList#view()} pipeline and
+ * a sequential stream over it. {@link #firstMatch} shows the short circuiting of findFirst on a match halfway.
+ * run with {@code -prof gc} to see the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PipelineBenchmark {
+    @Param({"1000000", "10000000"})
+    int size;
+
+    @Param({"DYN_ARRAY", "LINKED_LIST"})
+    String list;
+
+    IList<Integer> xs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var rand = new Random(42);
+        xs = list.equals("DYN_ARRAY") ? new DynArray<>() : new LinkedList<>();
+        for (int i = 0; i < size; i++)
+            xs.add(rand.nextInt(1000));
+    }
+
+    @Benchmark
+    public long eager() {
+        return xs.map(x -> (long) x * x).filter(x -> x % 3 == 0).foldl(0L, Long::sum);
+    }
+
+    @Benchmark
+    public long fused() {
+        return xs.view().map(x -> (long) x * x).filter(x -> x % 3 == 0).foldl(0L, Long::sum);
+    }
+
+    @Benchmark
+    public long stream() {
+        return xs.view().map(x -> (long) x * x).stream().filter(x -> x % 3 == 0).mapToLong(x -> x).sum();
+    }
+
+    @Benchmark
+    public Object firstMatch() {
+        int target = xs.get(size / 2);
+        return xs.view().filter(x -> x == target).findFirst();
+    }
+}
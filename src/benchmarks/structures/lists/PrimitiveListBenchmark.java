@@ -0,0 +1,110 @@
+package benchmarks.structures.lists;
+
+import org.openjdk.jmh.annotations.*;
+import structures.lists.DoubleDynArray;
+import structures.lists.DynArray;
+import structures.lists.IntDynArray;
+import structures.lists.LongDynArray;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * per element footprint of {@link IntDynArray}, {@link LongDynArray} and {@link DoubleDynArray} against the boxed
+ * {@link DynArray}: every invocation builds a list of random values (out of the range of the {@link Integer}
+ * cache) by appending one at a time, and reports the retained heap after a full gc divided by the size as the
+ * {@code bytesPerElement} counter. both kinds of list grow the same way, so the slack of the last doubling is
+ * counted alike. the sum benchmarks then time a full scan, where the boxed list chases a pointer per element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PrimitiveListBenchmark {
+    @Param({"1000000", "10000000"})
+    int size;
+
+    int[] data;
+    DynArray<Integer> boxed;
+    IntDynArray ints;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double bytesPerElement;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var rand = new Random(42);
+        data = new int[size];
+        for (int i = 0; i < size; i++)
+            data[i] = rand.nextInt();
+        boxed = new DynArray<>();
+        ints = new IntDynArray();
+        for (int x : data) {
+            boxed.add(x);
+            ints.add(x);
+        }
+    }
+
+    // heap in use after collecting everything unreachable
+    private static long usedHeap() {
+        var rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    @Benchmark
+    public DynArray<Integer> boxedFootprint(Footprint fp) {
+        long before = usedHeap();
+        var xs = new DynArray<Integer>();
+        for (int x : data)
+            xs.add(x);
+        fp.bytesPerElement = (double) (usedHeap() - before) / size;
+        return xs;
+    }
+
+    @Benchmark
+    public IntDynArray intFootprint(Footprint fp) {
+        long before = usedHeap();
+        var xs = new IntDynArray();
+        for (int x : data)
+            xs.add(x);
+        fp.bytesPerElement = (double) (usedHeap() - before) / size;
+        return xs;
+    }
+
+    @Benchmark
+    public LongDynArray longFootprint(Footprint fp) {
+        long before = usedHeap();
+        var xs = new LongDynArray();
+        for (int x : data)
+            xs.add(x);
+        fp.bytesPerElement = (double) (usedHeap() - before) / size;
+        return xs;
+    }
+
+    @Benchmark
+    public DoubleDynArray doubleFootprint(Footprint fp) {
+        long before = usedHeap();
+        var xs = new DoubleDynArray();
+        for (int x : data)
+            xs.add(x);
+        fp.bytesPerElement = (double) (usedHeap() - before) / size;
+        return xs;
+    }
+
+    @Benchmark
+    public int boxedSum() {
+        return boxed.foldl(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int intSum() {
+        return ints.foldl(0, Integer::sum);
+    }
+}
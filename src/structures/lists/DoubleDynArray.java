@@ -0,0 +1,412 @@
+// generated from templates/structures/lists/PrimitiveDynArray.java.template by tools/GenerateSorts.java, do not edit
+package structures.lists;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Dynamic array of unboxed doubles, see {@link IntDynArray}. an element takes 8 bytes instead of a reference to a
+ * 24 byte {@link Double}.
+ */
+public final class DoubleDynArray implements Iterable<Double> {
+    private double[] xs;
+    private int size;
+    private int capacity;
+
+    /**
+     * creates an empty dynamic array with initial capacity 2
+     */
+    public DoubleDynArray() {
+        xs = new double[2];
+        capacity = 2;
+        size = 0;
+    }
+
+    /**
+     * creates an empty dynamic array with initial capacity greater than the given length
+     *
+     * @param len length
+     */
+    public DoubleDynArray(int len) {
+        if (len < 0) throw new IllegalArgumentException("length must be non negative");
+        capacity = capacityFor(len);
+        size = 0;
+        xs = new double[capacity];
+    }
+
+    /**
+     * creates a dynamic array with initial size len filled with a default value
+     *
+     * @param len initial size
+     * @param v   value
+     */
+    public DoubleDynArray(int len, double v) {
+        this(len);
+        size = len;
+        Arrays.fill(xs, 0, len, v);
+    }
+
+    /**
+     * creates a dynamic array with initial capacity equal to the next power of 2 > the length of the input
+     *
+     * @param xs array of values to insert
+     */
+    public DoubleDynArray(double... xs) {
+        if (xs == null) throw new NullPointerException("expect an array, got null instead");
+        capacity = capacityFor(xs.length);
+        size = xs.length;
+        this.xs = new double[capacity];
+        System.arraycopy(xs, 0, this.xs, 0, xs.length);
+    }
+
+    /**
+     * creates a dynamic array with initial capacity equal to the next power of 2 > the length of the input
+     *
+     * @param xs array of values to insert
+     * @return a dynamic array with the given values
+     */
+    public static DoubleDynArray of(double... xs) {
+        return new DoubleDynArray(xs);
+    }
+
+    /**
+     * checks whether the array is empty
+     *
+     * @return whether the array is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * getter for array size
+     *
+     * @return the size of the dynamic array
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * gets the ith element of the array
+     *
+     * @param i index
+     * @return ith element
+     */
+    public double get(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        return xs[i];
+    }
+
+    /**
+     * sets an index within the array to a value
+     *
+     * @param i index
+     * @param v new value
+     */
+    public void set(int i, double v) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        xs[i] = v;
+    }
+
+    /**
+     * swaps two indexes within the array
+     *
+     * @param i first index
+     * @param j second index
+     */
+    public void swap(int i, int j) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        if (j < 0 || j >= size) throw new IndexOutOfBoundsException(j);
+        double temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    /**
+     * sorts the list in place by handing the underlying array to a sorting algorithm, e.g.
+     * {@code xs.sort(Quicksort::introsort)} with {@code algos.Quicksort}
+     *
+     * @param sorter algorithm sorting xs[lo..hi] of the underlying array
+     */
+    public void sort(RangeSorter<double[]> sorter) {
+        sorter.sort(xs, 0, size - 1);
+    }
+
+    /**
+     * adds an element to the end of the array
+     * if the array is full, it doubles the size
+     *
+     * @param x value to append
+     */
+    public void add(double x) {
+        if (size >= capacity) resize(capacity * 2); //double size if full
+        xs[size++] = x;
+    }
+
+    /**
+     * checks whether the list contains a given value, comparing as {@link Double#equals} does so that NaN is found
+     *
+     * @param v value
+     * @return whether the list contains the value
+     */
+    public boolean contains(double v) {
+        for (int i = 0; i < size; i++)
+            if (Double.doubleToLongBits(xs[i]) == Double.doubleToLongBits(v))
+                return true;
+        return false;
+    }
+
+    /**
+     * maps an operation on all elements of the list and returns the resulting list
+     *
+     * @param f function to apply
+     * @return new list
+     */
+    public DoubleDynArray map(DoubleUnaryOperator f) {
+        var arr = new DoubleDynArray(size);
+        for (int i = 0; i < size; i++)
+            arr.xs[i] = f.applyAsDouble(xs[i]);
+        arr.size = size;
+        return arr;
+    }
+
+    /**
+     * maps an operation returning objects on all elements of the list and returns the resulting list
+     *
+     * @param f   function to apply
+     * @param <U> type of values in the new list
+     * @return new list
+     */
+    public <U> DynArray<U> mapToObj(DoubleFunction<U> f) {
+        var arr = new DynArray<U>(size);
+        for (int i = 0; i < size; i++)
+            arr.add(f.apply(xs[i]));
+        return arr;
+    }
+
+    /**
+     * maps an operation on all elements of the list and flattens the resulting lists before returning them
+     *
+     * @param f function to apply
+     * @return new list
+     */
+    public DoubleDynArray flatMap(DoubleFunction<DoubleDynArray> f) {
+        var arr = new DoubleDynArray();
+        for (int i = 0; i < size; i++) {
+            var ys = f.apply(xs[i]);
+            arr.addAll(ys.xs, ys.size);
+        }
+        return arr;
+    }
+
+    /**
+     * returns a list of all elements of the previous list which fulfill a given predicate
+     *
+     * @param pred given predicate
+     * @return new list
+     */
+    public DoubleDynArray filter(DoublePredicate pred) {
+        var arr = new DoubleDynArray();
+        for (int i = 0; i < size; i++)
+            if (pred.test(xs[i]))
+                arr.add(xs[i]);
+        return arr;
+    }
+
+    /**
+     * reduces a list with a binary operation and an initial value going from left to right
+     *
+     * @param init initial value
+     * @param f    binary operation to apply
+     * @return result of reduction
+     */
+    public double foldl(double init, DoubleBinaryOperator f) {
+        for (int i = 0; i < size; i++)
+            init = f.applyAsDouble(init, xs[i]);
+        return init;
+    }
+
+    /**
+     * reduces a list using its first element as the initial value, erroring if empty
+     *
+     * @param f binary operation to apply
+     * @return result of reduction
+     */
+    public double reduce(DoubleBinaryOperator f) {
+        if (size < 1) throw new NoSuchElementException();
+        double init = xs[0];
+        for (int i = 1; i < size; i++)
+            init = f.applyAsDouble(init, xs[i]);
+        return init;
+    }
+
+    /**
+     * checks whether any element of the list fulfills a given predicate
+     *
+     * @param pred predicate
+     * @return whether an element fulfills the predicate
+     */
+    public boolean exists(DoublePredicate pred) {
+        for (int i = 0; i < size; i++)
+            if (pred.test(xs[i]))
+                return true;
+        return false;
+    }
+
+    /**
+     * checks whether all elements of the list fulfill a given predicate
+     *
+     * @param pred predicate
+     * @return whether all elements fulfill the predicate
+     */
+    public boolean forall(DoublePredicate pred) {
+        return !exists(pred.negate());
+    }
+
+    /**
+     * inserts an element in an arbitrary index within the array
+     *
+     * @param x element to insert
+     * @param i index to insert at
+     */
+    public void insert(double x, int i) {
+        if (i < 0 || i > size) throw new IndexOutOfBoundsException(i);
+        if (size >= capacity) resize(capacity * 2); //double size if full
+        System.arraycopy(xs, i, xs, i + 1, size - i);
+        xs[i] = x;
+        size++;
+    }
+
+    /**
+     * removes last element from an array and returns it.
+     * if the array is near empty (capacity / 4), the array is shrank by half
+     *
+     * @return last element
+     */
+    public double pop() {
+        if (size == 0) throw new NoSuchElementException("attempted to remove from empty array");
+        if (size <= capacity / 4) resize(capacity / 2); //halve if near empty
+        return xs[--size];
+    }
+
+    /**
+     * removes the ith element and returns it.
+     * if the array is near empty (capacity / 4), the array is shrank by half
+     *
+     * @param i index
+     * @return ith element
+     */
+    public double remove(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        if (size <= capacity / 4) resize(capacity / 2); //halve if near empty
+        double x = xs[i];
+        System.arraycopy(xs, i + 1, xs, i, size - i - 1);
+        size--;
+        return x;
+    }
+
+    /**
+     * removes all elements which fulfill a given predicate in a single pass, keeping the order of the rest
+     *
+     * @param pred predicate to fulfill
+     */
+    public void removeAll(DoublePredicate pred) {
+        int n = 0;
+        for (int i = 0; i < size; i++)
+            if (!pred.test(xs[i]))
+                xs[n++] = xs[i];
+        size = n;
+        int cap = capacity;
+        while (cap > 2 && size <= cap / 4) cap /= 2; //halve as pop would have while removing
+        if (cap != capacity) resize(cap);
+    }
+
+    /**
+     * appends all elements of the array to the end of the underlying array.
+     * Resizes to fit the array
+     *
+     * @param xs array to append
+     */
+    public void addAll(double... xs) {
+        addAll(xs, xs.length);
+    }
+
+    private void addAll(double[] ys, int len) {
+        int newCap = capacity;
+        while (len + size > newCap) newCap *= 2; //double new capacity until it can fit the other array
+        if (newCap != capacity) resize(newCap);
+        System.arraycopy(ys, 0, xs, size, len);
+        size += len;
+    }
+
+    /**
+     * @return a copy of the elements of the list
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(xs, size);
+    }
+
+    private void resize(int newCap) {
+        double[] nxs = new double[newCap];
+        capacity = newCap;
+        System.arraycopy(xs, 0, nxs, 0, size);
+        xs = nxs;
+    }
+
+    // next power of 2 > len, as in DynArray
+    private static int capacityFor(int len) {
+        return Integer.highestOneBit(Math.max(len, 1)) << 1;
+    }
+
+    @Override
+    public String toString() {
+        return "Seq" + Arrays.toString(toArray());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DoubleDynArray that = (DoubleDynArray) o;
+        return Arrays.equals(xs, 0, size, that.xs, 0, that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++)
+            result = 31 * result + Double.hashCode(xs[i]);
+        return result;
+    }
+
+    /**
+     * iterator over the elements, {@link PrimitiveIterator.OfDouble#nextDouble()} reads them without boxing
+     *
+     * @return iterator over the list
+     */
+    @Override
+    public @NotNull PrimitiveIterator.OfDouble iterator() {
+        return new PrimitiveIterator.OfDouble() {
+            int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < size;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (i >= size) throw new NoSuchElementException();
+                return xs[i++];
+            }
+        };
+    }
+}
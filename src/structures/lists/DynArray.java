@@ -3,11 +3,18 @@ package structures.lists;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 
 /**
@@ -19,6 +26,8 @@ import java.util.function.Predicate;
  * @param <T> type of values in array
  */
 public final class DynArray<T> implements IList<T> {
+    // smallest number of elements per segment of a parallel operation
+    private static final int MIN_SEGMENT = 1 << 13;
     private T[] xs;
     private int size;
     private int capacity;
@@ -109,6 +118,15 @@ public final class DynArray<T> implements IList<T> {
         return size;
     }
 
+    /**
+     * getter for the length of the underlying array
+     *
+     * @return the number of elements the array can hold before resizing
+     */
+    public int capacity() {
+        return capacity;
+    }
+
     /**
      * gets the ith element of the array
      *
@@ -143,6 +161,17 @@ public final class DynArray<T> implements IList<T> {
         xs[j] = temp;
     }
 
+    /**
+     * sorts the list in place by handing the underlying array to a sorting algorithm. the array is an Object[]
+     * whatever the type of elements, so the sorter has to take it as one: see {@code algos.Sort} for stable,
+     * unstable and key based sorts of lists, which come here for dynamic arrays
+     *
+     * @param sorter algorithm sorting xs[lo..hi] of the underlying array
+     */
+    public void sort(RangeSorter<Object[]> sorter) {
+        sorter.sort(xs, 0, size - 1);
+    }
+
     /**
      * adds an element to the end of the array
      * if the array is full, it doubles the size
@@ -178,7 +207,7 @@ public final class DynArray<T> implements IList<T> {
      */
     @Override
     public <U> IList<U> map(Function<T, U> f) {
-        var arr = new DynArray<U>(capacity);
+        var arr = new DynArray<U>(size);
         for (var x : this)
             arr.add(f.apply(x));
         return arr;
@@ -192,7 +221,7 @@ public final class DynArray<T> implements IList<T> {
      */
     @Override
     public <U> DynArray<U> flatMap(Function<T, ? extends IList<U>> f) {
-        var arr = new DynArray<U>(capacity);
+        var arr = new DynArray<U>();
         for (var elem : this)
             for (var nelem : f.apply(elem))
                 arr.add(nelem);
@@ -244,21 +273,265 @@ public final class DynArray<T> implements IList<T> {
         return init;
     }
 
+    /**
+     * reduces the list in parallel on the common fork/join pool,
+     * see {@link #parallelFoldl(Object, BiFunction, BinaryOperator, ForkJoinPool)}
+     *
+     * @param init     identity of the combiner
+     * @param f        binary operation to apply
+     * @param combiner associative operation combining the reductions of two parts of the list
+     * @param <U>      type of the result
+     * @return result of reduction
+     */
+    public <U> U parallelFoldl(U init, BiFunction<U, ? super T, U> f, BinaryOperator<U> combiner) {
+        return parallelFoldl(init, f, combiner, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * reduces the list in parallel. the list is cut into segments of equal length, each segment is reduced from
+     * left to right starting with init, and the reductions of adjacent segments are combined in order.
+     * this gives the same result as {@link #foldl} when init is an identity of the combiner and
+     * {@code combiner(u, f(init, x)) = f(u, x)}, as for sums with init 0
+     *
+     * @param init     identity of the combiner
+     * @param f        binary operation to apply
+     * @param combiner associative operation combining the reductions of two parts of the list
+     * @param pool     pool to run the reduction in
+     * @param <U>      type of the result
+     * @return result of reduction
+     */
+    public <U> U parallelFoldl(U init, BiFunction<U, ? super T, U> f, BinaryOperator<U> combiner, ForkJoinPool pool) {
+        return inParallel(pool, (lo, hi) -> {
+            var acc = init;
+            for (int i = lo; i < hi; i++)
+                acc = f.apply(acc, xs[i]);
+            return acc;
+        }, combiner);
+    }
+
+    /**
+     * reduces the list in parallel on the common fork/join pool, see {@link #parallelReduce(BinaryOperator, ForkJoinPool)}
+     *
+     * @param f associative binary operation to apply
+     * @return result of reduction
+     */
+    public T parallelReduce(BinaryOperator<T> f) {
+        return parallelReduce(f, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * reduces the list in parallel using the first element of every segment as its initial value, erroring if
+     * empty. gives the same result as {@link #reduce} when the operation is associative
+     *
+     * @param f    associative binary operation to apply
+     * @param pool pool to run the reduction in
+     * @return result of reduction
+     */
+    public T parallelReduce(BinaryOperator<T> f, ForkJoinPool pool) {
+        if (size < 1) throw new NoSuchElementException();
+        return inParallel(pool, (lo, hi) -> {
+            var acc = xs[lo];
+            for (int i = lo + 1; i < hi; i++)
+                acc = f.apply(acc, xs[i]);
+            return acc;
+        }, f);
+    }
+
+    /**
+     * maps an operation on all elements of the list in parallel on the common fork/join pool,
+     * see {@link #parallelMap(Function, ForkJoinPool)}
+     *
+     * @param f   function to apply
+     * @param <U> type of values in the new list
+     * @return new list
+     */
+    public <U> DynArray<U> parallelMap(Function<? super T, ? extends U> f) {
+        return parallelMap(f, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * maps an operation on all elements of the list in parallel, every segment writing its results straight
+     * into its part of the new list
+     *
+     * @param f    function to apply, must not return null
+     * @param pool pool to run the operation in
+     * @param <U>  type of values in the new list
+     * @return new list
+     */
+    public <U> DynArray<U> parallelMap(Function<? super T, ? extends U> f, ForkJoinPool pool) {
+        var arr = new DynArray<U>(size);
+        inParallel(pool, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                var y = f.apply(xs[i]);
+                if (y == null) throw new NullPointerException("expected element to insert, got null instead");
+                arr.xs[i] = y;
+            }
+            return null;
+        }, (a, b) -> null);
+        arr.size = size;
+        return arr;
+    }
+
+    /**
+     * returns a list of all elements which fulfill a given predicate, tested in parallel on the common fork/join
+     * pool, see {@link #parallelFilter(Predicate, ForkJoinPool)}
+     *
+     * @param pred given predicate
+     * @return new list
+     */
+    public DynArray<T> parallelFilter(Predicate<? super T> pred) {
+        return parallelFilter(pred, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * returns a list of all elements which fulfill a given predicate, keeping their order. every segment first
+     * collects the elements it keeps, then the segments are copied into the new list in parallel at the offsets
+     * given by the counts of the segments before them
+     *
+     * @param pred given predicate
+     * @param pool pool to run the operation in
+     * @return new list
+     */
+    @SuppressWarnings("unchecked")
+    public DynArray<T> parallelFilter(Predicate<? super T> pred, ForkJoinPool pool) {
+        int segments = segments(pool);
+        if (segments <= 1) {
+            var arr = new DynArray<T>();
+            for (int i = 0; i < size; i++)
+                if (pred.test(xs[i])) arr.add(xs[i]);
+            return arr;
+        }
+        var kept = new Object[segments][];
+        var counts = new int[segments + 1];
+        pool.invoke(new Segments<>(s -> {
+            int lo = bound(s, segments), hi = bound(s + 1, segments), n = 0;
+            var ys = new Object[hi - lo];
+            for (int i = lo; i < hi; i++)
+                if (pred.test(xs[i])) ys[n++] = xs[i];
+            kept[s] = ys;
+            counts[s + 1] = n;
+            return null;
+        }, (a, b) -> null, 0, segments));
+        for (int s = 0; s < segments; s++)
+            counts[s + 1] += counts[s];
+        var arr = new DynArray<T>(counts[segments]);
+        pool.invoke(new Segments<>(s -> {
+            System.arraycopy(kept[s], 0, arr.xs, counts[s], counts[s + 1] - counts[s]);
+            return null;
+        }, (a, b) -> null, 0, segments));
+        arr.size = counts[segments];
+        return arr;
+    }
+
+    // number of segments a parallel operation cuts the list into
+    private int segments(ForkJoinPool pool) {
+        return Math.min(4 * pool.getParallelism(), size / MIN_SEGMENT);
+    }
+
+    // start of segment s out of the given number of equal segments
+    private int bound(int s, int segments) {
+        return (int) ((long) size * s / segments);
+    }
+
+    /**
+     * applies an operation to every segment [lo, hi) of the list in parallel, combining the results of adjacent
+     * segments in order. runs on the calling thread when the list is too short to be worth splitting
+     */
+    private <R> R inParallel(ForkJoinPool pool, SegmentFunction<R> f, BinaryOperator<R> combine) {
+        int segments = segments(pool);
+        if (segments <= 1) return f.apply(0, size);
+        return pool.invoke(new Segments<>(s -> f.apply(bound(s, segments), bound(s + 1, segments)),
+                combine, 0, segments));
+    }
+
+    @FunctionalInterface
+    private interface SegmentFunction<R> {
+        R apply(int lo, int hi);
+    }
+
+    /**
+     * computes the segments [from, to) out of the given number, halving the range of segments until a single
+     * one is left, and combines the results of both halves
+     */
+    @SuppressWarnings("serial")
+    private static final class Segments<R> extends RecursiveTask<R> {
+        private final int from, to;
+        private final IntFunction<R> leaf;
+        private final BinaryOperator<R> combine;
+
+        Segments(IntFunction<R> leaf, BinaryOperator<R> combine, int from, int to) {
+            this.leaf = leaf;
+            this.combine = combine;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from == 1) return leaf.apply(from);
+            int mid = (from + to) >>> 1;
+            var right = new Segments<>(leaf, combine, mid, to);
+            right.fork();
+            var left = new Segments<>(leaf, combine, from, mid).compute();
+            return combine.apply(left, right.join());
+        }
+    }
+
     /**
      * inserts an element in an arbitrary index within the array
      *
      * @param x element to insert
      * @param i index to insert at
      */
-    @SuppressWarnings("ManualArrayCopy")
     public void insert(T x, int i) {
-        //if (i < 0 || i > size) throw new ArrayIndexOutOfBoundsException();
+        if (i < 0 || i > size) throw new IndexOutOfBoundsException(i);
         if (x == null) throw new NullPointerException("expected element to insert, got null instead");
         if (size >= capacity) resize(capacity * 2); //double size if full
-        for (int j = size; j > i; j--) {
-            xs[j] = xs[j - 1];
-        }
+        System.arraycopy(xs, i, xs, i + 1, size - i);
         xs[i] = x;
+        size++;
+    }
+
+    /**
+     * inserts all elements of an array at an arbitrary index within the array, keeping their order.
+     * resizes at most once and shifts the elements after the index once
+     *
+     * @param i  index to insert at
+     * @param xs elements to insert
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") //xs is only read from, never stored or handed out
+    public final void insertAll(int i, T... xs) {
+        if (i < 0 || i > size) throw new IndexOutOfBoundsException(i);
+        requireNonNulls(xs, xs.length);
+        ensureCapacity(size + xs.length);
+        System.arraycopy(this.xs, i, this.xs, i + xs.length, size - i);
+        System.arraycopy(xs, 0, this.xs, i, xs.length);
+        size += xs.length;
+    }
+
+    /**
+     * inserts all elements of a list at an arbitrary index within the array, keeping their order.
+     * resizes at most once and shifts the elements after the index once
+     *
+     * @param i  index to insert at
+     * @param ys elements to insert
+     */
+    public void insertAll(int i, IList<? extends T> ys) {
+        if (i < 0 || i > size) throw new IndexOutOfBoundsException(i);
+        if (ys == this) {
+            insertAll(i, Arrays.copyOf(xs, size)); //the shift would overwrite the elements to insert
+            return;
+        }
+        for (var y : ys)
+            if (y == null) throw new NullPointerException("expected element to insert, got null instead");
+        int n = ys.size();
+        ensureCapacity(size + n);
+        System.arraycopy(xs, i, xs, i + n, size - i);
+        int j = i;
+        for (var y : ys)
+            xs[j++] = y;
+        size += n;
     }
 
     /**
@@ -284,45 +557,144 @@ public final class DynArray<T> implements IList<T> {
      */
     public T remove(int i) {
         if (size == 0) throw new NullPointerException("attempted to remove from empty array");
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
         if (size <= capacity / 4) resize(capacity / 2); //halve if near empty
         var x = xs[i];
-        for (int j = i; i < size - 1; j++) {
-            xs[j] = xs[j + 1];
-        }
+        System.arraycopy(xs, i + 1, xs, i, size - i - 1);
         xs[--size] = null;
         return x;
     }
 
     /**
-     * moves all elements which fulfill a given predicate
+     * removes the elements xs[lo..hi] (inclusive), shifting the elements after them once.
+     * shrinks the array as removing them one at a time would have
+     *
+     * @param lo index of the first element to remove
+     * @param hi index of the last element to remove
+     */
+    public void removeRange(int lo, int hi) {
+        if (lo < 0 || hi >= size || lo > hi + 1)
+            throw new IndexOutOfBoundsException("range [" + lo + ", " + hi + "] out of bounds for size " + size);
+        int n = hi - lo + 1;
+        System.arraycopy(xs, hi + 1, xs, lo, size - hi - 1);
+        Arrays.fill(xs, size - n, size, null);
+        size -= n;
+        shrink();
+    }
+
+    /**
+     * removes all elements which fulfill a given predicate, see {@link #removeIf(Predicate)}
      *
      * @param pred predicate to fulfill
      */
     @Override
     public void removeAll(Predicate<T> pred) {
-        for (int i = size - 1; i >= 0; i--) {
-            if (pred.test(xs[i])) {
-                remove(i);
-                i--;
-            }
-        }
+        removeIf(pred);
+    }
+
+    /**
+     * removes all elements which fulfill a given predicate in a single pass, moving every element which is kept
+     * at most once and keeping their order. shrinks the array as removing them one at a time would have
+     *
+     * @param pred predicate to fulfill
+     * @return whether any element was removed
+     */
+    public boolean removeIf(Predicate<? super T> pred) {
+        int n = 0;
+        for (int i = 0; i < size; i++)
+            if (!pred.test(xs[i]))
+                xs[n++] = xs[i];
+        if (n == size) return false;
+        Arrays.fill(xs, n, size, null);
+        size = n;
+        shrink();
+        return true;
     }
 
     /**
      * appends all elements of the array to the end of the underlying array.
-     * Resizes to fit the array
+     * resizes at most once, only if the array cannot fit them
      *
      * @param xs array to append
      */
     @SafeVarargs
+    @SuppressWarnings("varargs") //xs is only read from, never stored or handed out
     public final void addAll(T... xs) {
-        int newCap = capacity;
-        while (xs.length + size > newCap) newCap *= 2; //double new capacity until it can fit the other array
-        resize(newCap);
+        requireNonNulls(xs, xs.length);
+        ensureCapacity(size + xs.length);
         System.arraycopy(xs, 0, this.xs, size, xs.length);
         size += xs.length;
     }
 
+    /**
+     * appends all elements of a list to the end of the array, resizing at most once.
+     * elements of another dynamic array are copied over with a single array copy, those of other lists are
+     * checked for nulls first, so that the array is left unchanged if one is found
+     *
+     * @param ys list to append
+     */
+    public void addAll(IList<? extends T> ys) {
+        if (ys instanceof DynArray<? extends T> arr) {
+            ensureCapacity(size + arr.size);
+            System.arraycopy(arr.xs, 0, xs, size, arr.size); //arr may be this, so size is updated after copying
+            size += arr.size;
+            return;
+        }
+        for (var y : ys)
+            if (y == null) throw new NullPointerException("expected element to insert, got null instead");
+        ensureCapacity(size + ys.size());
+        for (var y : ys)
+            xs[size++] = y;
+    }
+
+    /**
+     * appends all elements of an iterable to the end of the array. lists and collections are sized upfront
+     * so that the array resizes at most once, other iterables double the array as needed while adding
+     *
+     * @param ys elements to append
+     */
+    public void addAll(Iterable<? extends T> ys) {
+        if (ys instanceof IList<? extends T> list) {
+            addAll(list);
+            return;
+        }
+        if (ys instanceof Collection<? extends T> c) ensureCapacity(size + c.size());
+        for (var y : ys)
+            add(y);
+    }
+
+    /**
+     * grows the underlying array so that it can hold at least n elements without resizing
+     *
+     * @param n number of elements
+     */
+    public void ensureCapacity(int n) {
+        if (n <= capacity) return;
+        int newCap = capacity;
+        while (n > newCap) newCap *= 2; //double new capacity until it can fit n elements
+        resize(newCap);
+    }
+
+    /**
+     * shrinks the underlying array to the smallest power of two which fits the elements
+     */
+    public void trimToSize() {
+        int newCap = Integer.highestOneBit(Math.max(size, 2) - 1) << 1;
+        if (newCap < capacity) resize(newCap);
+    }
+
+    // halves the capacity as long as the array is only a quarter full, as successive pops would
+    private void shrink() {
+        int newCap = capacity;
+        while (newCap > 2 && size <= newCap / 4) newCap /= 2;
+        if (newCap < capacity) resize(newCap);
+    }
+
+    private static void requireNonNulls(Object[] xs, int n) {
+        for (int i = 0; i < n; i++)
+            if (xs[i] == null) throw new NullPointerException("expected element to insert, got null instead");
+    }
+
     @SuppressWarnings("unchecked")
     private void resize(int newCap) {
         T[] nxs = (T[]) new Object[newCap];
@@ -333,7 +705,7 @@ public final class DynArray<T> implements IList<T> {
 
     @Override
     public String toString() {
-        return "Seq" + Arrays.toString(xs).replaceAll(", null", "");
+        return "Seq" + Arrays.toString(Arrays.copyOf(xs, size));
     }
 
     @Override
@@ -342,20 +714,33 @@ public final class DynArray<T> implements IList<T> {
         if (o == null || getClass() != o.getClass()) return false;
         DynArray<?> dynArray = (DynArray<?>) o;
         if (size != dynArray.size()) return false;
-        boolean p = true;
         for (int i = 0; i < size; i++) {
-            p = p && (xs[i] == dynArray.get(i));
+            if (!Objects.equals(xs[i], dynArray.get(i))) return false;
         }
-        return p;
+        return true;
     }
 
     @Override
     public int hashCode() {
         int result = Objects.hash(size);
-        result = 31 * result + Arrays.hashCode(xs);
+        for (int i = 0; i < size; i++)
+            result = 31 * result + Objects.hashCode(xs[i]);
         return result;
     }
 
+    /**
+     * spliterator over the elements in the array, which splits in halves and knows the exact size of every part
+     * (SIZED and SUBSIZED), so that parallel streams over the list split evenly without copying. it does not
+     * report NONNULL, since set and the constructors may put nulls in the array. the list must not be changed while
+     * the spliterator is in use
+     *
+     * @return spliterator over the list
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(xs, 0, size, Spliterator.ORDERED);
+    }
+
     @Override
     public @NotNull Iterator<T> iterator() {
         return new Iterator<>() {
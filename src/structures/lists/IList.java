@@ -115,4 +115,13 @@ public interface IList<T> extends Iterable<T>{
     default boolean forall(Predicate<T> cond){
         return foldl(true, (p, x) -> p && cond.test(x));
     }
+
+    /**
+     * lazy view of the list, whose map, filter and flatMap stages run fused in a single pass
+     * without building intermediate lists
+     * @return a pipeline reading the list
+     */
+    default Pipeline<T> view(){
+        return Pipeline.of(this);
+    }
 }
@@ -0,0 +1,405 @@
+package structures.lists;
+
+import org.jetbrains.annotations.NotNull;
+import util.Buffers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * growable list of longs stored outside of the java heap, in direct (or memory mapped) byte buffers of at most
+ * 1gb each, so that it can hold more than {@code Integer.MAX_VALUE} elements and adds nothing for the garbage
+ * collector to copy or scan. indices are longs. element i lives in chunk {@code i >>> shift}, chunks have a
+ * power of two length and are never moved once full, so growing past the first chunk only allocates the next
+ * one. the first chunk starts small and doubles until it reaches the chunk length, as in {@link LongDynArray}.
+ * <p>
+ * the memory is released by {@link #close()}, after which the list is empty and unusable. a list which is never
+ * closed is released whenever the garbage collector gets to its buffers, which for large lists may be never
+ * before direct memory runs out (the limit is {@code -XX:MaxDirectMemorySize}, by default the maximum heap).
+ * <p>
+ * {@link #map} backs the list by a file of big endian longs instead (the format of
+ * {@link java.io.DataOutputStream}, as in {@link algos.ExternalSort}), which the os pages in and out as needed.
+ */
+public final class OffHeapLongList implements Iterable<Long>, AutoCloseable {
+    /**
+     * default chunk length in longs, 1gb
+     */
+    public static final int DEFAULT_CHUNK = 1 << 27;
+    // initial length of the first chunk
+    private static final int FIRST_CHUNK = 1 << 10;
+
+    private final int shift, chunkLen;
+    private final long mask;
+    private ByteBuffer[] chunks;
+    // long views of the chunks, used for all accesses
+    private LongBuffer[] views;
+    private int nchunks;
+    private long size;
+    private long capacity;
+    // backing file and how it is mapped, null for lists in anonymous memory
+    private final FileChannel file;
+    private final FileChannel.MapMode mode;
+
+    /**
+     * creates an empty list with chunks of {@link #DEFAULT_CHUNK} longs
+     */
+    public OffHeapLongList() {
+        this(DEFAULT_CHUNK);
+    }
+
+    /**
+     * creates an empty list with chunks of the given length
+     *
+     * @param chunkLen length of a chunk in longs, a power of two up to {@link #DEFAULT_CHUNK}
+     */
+    public OffHeapLongList(int chunkLen) {
+        this(chunkLen, null, null);
+    }
+
+    private OffHeapLongList(int chunkLen, FileChannel file, FileChannel.MapMode mode) {
+        if (chunkLen < 1 || chunkLen > DEFAULT_CHUNK || Integer.bitCount(chunkLen) != 1)
+            throw new IllegalArgumentException("chunk length must be a power of two up to " + DEFAULT_CHUNK);
+        this.chunkLen = chunkLen;
+        this.shift = Integer.numberOfTrailingZeros(chunkLen);
+        this.mask = chunkLen - 1;
+        this.file = file;
+        this.mode = mode;
+        chunks = new ByteBuffer[2];
+        views = new LongBuffer[2];
+    }
+
+    /**
+     * maps a file of big endian longs as a list with chunks of {@link #DEFAULT_CHUNK} longs, see
+     * {@link #map(Path, FileChannel.MapMode, int)}
+     *
+     * @param path file to map
+     * @param mode how to map the file
+     * @return a list of the longs in the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static OffHeapLongList map(Path path, FileChannel.MapMode mode) throws IOException {
+        return map(path, mode, DEFAULT_CHUNK);
+    }
+
+    /**
+     * maps a file of big endian longs as a list. with {@link FileChannel.MapMode#READ_WRITE} the file is created
+     * if it does not exist, changes are written through to it, and the list can grow: the file is extended a chunk
+     * at a time while the list is open and truncated to the size of the list by {@link #close()}.
+     * {@link FileChannel.MapMode#READ_ONLY} lists cannot be changed, and {@link FileChannel.MapMode#PRIVATE} lists
+     * can be set but not grown, without the changes reaching the file.
+     *
+     * @param path     file to map
+     * @param mode     how to map the file
+     * @param chunkLen length of a mapped chunk in longs, a power of two up to {@link #DEFAULT_CHUNK}
+     * @return a list of the longs in the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static OffHeapLongList map(Path path, FileChannel.MapMode mode, int chunkLen) throws IOException {
+        var ch = mode == FileChannel.MapMode.READ_ONLY
+                ? FileChannel.open(path, StandardOpenOption.READ)
+                : mode == FileChannel.MapMode.READ_WRITE
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long bytes = ch.size();
+            if (bytes % Long.BYTES != 0)
+                throw new IllegalArgumentException("file size is not a multiple of " + Long.BYTES + " bytes");
+            var list = new OffHeapLongList(chunkLen, ch, mode);
+            long len = bytes / Long.BYTES;
+            // read only and private mappings must stay within the file, writable ones map whole chunks
+            while (list.capacity < len)
+                list.addChunk(mode == FileChannel.MapMode.READ_WRITE
+                        ? chunkLen : (int) Math.min(chunkLen, len - list.capacity));
+            list.size = len;
+            return list;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /**
+     * checks whether the list is empty
+     *
+     * @return whether the list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * getter for list size
+     *
+     * @return the number of elements in the list
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * gets the ith element of the list
+     *
+     * @param i index
+     * @return ith element
+     */
+    public long get(long i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("index " + i + " out of bounds for size " + size);
+        return views[(int) (i >>> shift)].get((int) (i & mask));
+    }
+
+    /**
+     * sets an index within the list to a value
+     *
+     * @param i index
+     * @param v new value
+     */
+    public void set(long i, long v) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("index " + i + " out of bounds for size " + size);
+        views[(int) (i >>> shift)].put((int) (i & mask), v);
+    }
+
+    /**
+     * adds an element to the end of the list, allocating (or mapping) more memory if it is full
+     *
+     * @param x value to append
+     */
+    public void add(long x) {
+        if (size == capacity) ensureCapacity(size + 1);
+        views[(int) (size >>> shift)].put((int) (size & mask), x);
+        size++;
+    }
+
+    /**
+     * removes the last element of the list and returns it. the memory is kept for later additions,
+     * see {@link #trimToSize()}
+     *
+     * @return last element
+     */
+    public long pop() {
+        if (size == 0) throw new NoSuchElementException("attempted to remove from empty list");
+        long x = get(size - 1);
+        size--;
+        return x;
+    }
+
+    /**
+     * appends all values of an array to the end of the list, growing it at most once
+     *
+     * @param xs array to append
+     */
+    public void addAll(long... xs) {
+        addAll(xs, 0, xs.length);
+    }
+
+    /**
+     * appends the values xs[off..off+len-1] to the end of the list, growing it at most once
+     *
+     * @param xs  array to append from
+     * @param off start of the values in the array
+     * @param len number of values
+     */
+    public void addAll(long[] xs, int off, int len) {
+        Objects.checkFromIndexSize(off, len, xs.length);
+        ensureCapacity(size + len);
+        size += len;
+        copyFrom(xs, off, size - len, len);
+    }
+
+    /**
+     * copies len elements of the list, starting at index from, into an array
+     *
+     * @param from index of the first element to copy
+     * @param dst  array to copy to
+     * @param off  start of the copy in the array
+     * @param len  number of elements to copy
+     */
+    public void copyTo(long from, long[] dst, int off, int len) {
+        Objects.checkFromIndexSize(from, len, size);
+        Objects.checkFromIndexSize(off, len, dst.length);
+        while (len > 0) {
+            int i = (int) (from & mask), n = Math.min(len, chunkLen - i);
+            views[(int) (from >>> shift)].get(i, dst, off, n);
+            from += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * copies the values src[off..off+len-1] into the list, overwriting the elements from index to onwards
+     *
+     * @param src array to copy from
+     * @param off start of the values in the array
+     * @param to  index of the first element to overwrite
+     * @param len number of values to copy
+     */
+    public void copyFrom(long[] src, int off, long to, int len) {
+        Objects.checkFromIndexSize(to, len, size);
+        Objects.checkFromIndexSize(off, len, src.length);
+        while (len > 0) {
+            int i = (int) (to & mask), n = Math.min(len, chunkLen - i);
+            views[(int) (to >>> shift)].put(i, src, off, n);
+            to += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * reduces the list with a binary operation and an initial value going from left to right
+     *
+     * @param init initial value
+     * @param f    binary operation to apply
+     * @return result of reduction
+     */
+    public long foldl(long init, LongBinaryOperator f) {
+        for (int c = 0; c < nchunks; c++) {
+            var view = views[c];
+            int n = (int) Math.min(chunkLen, size - ((long) c << shift));
+            for (int i = 0; i < n; i++)
+                init = f.applyAsLong(init, view.get(i));
+        }
+        return init;
+    }
+
+    /**
+     * grows the list's memory so that it can hold at least n elements without allocating
+     *
+     * @param n number of elements
+     */
+    public void ensureCapacity(long n) {
+        if (n <= capacity) return;
+        checkOpen();
+        if (file != null && mode != FileChannel.MapMode.READ_WRITE)
+            throw new UnsupportedOperationException("only lists mapped with READ_WRITE can grow");
+        if (file == null && nchunks <= 1 && capacity < chunkLen) {
+            // the first chunk doubles up to the chunk length, which also covers a list without chunks
+            long len = Math.max(FIRST_CHUNK, capacity);
+            while (len < n && len < chunkLen) len *= 2;
+            len = Math.min(len, chunkLen);
+            var chunk = allocate((int) len);
+            if (nchunks == 1) {
+                chunk.asLongBuffer().put(0, views[0], 0, (int) size);
+                Buffers.free(chunks[0]);
+                nchunks = 0;
+            }
+            capacity = 0;
+            add(chunk);
+        }
+        try {
+            while (capacity < n) addChunk(chunkLen);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * releases the chunks which hold no elements, keeping the others as they are
+     */
+    public void trimToSize() {
+        checkOpen();
+        int keep = (int) ((size + mask) >>> shift);
+        while (nchunks > keep) {
+            capacity -= views[nchunks - 1].capacity();
+            Buffers.free(chunks[--nchunks]);
+            chunks[nchunks] = null;
+            views[nchunks] = null;
+        }
+    }
+
+    /**
+     * removes all elements, keeping the memory for later additions
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * releases the memory of the list (for mapped lists, unmaps the file after truncating it to the size of the
+     * list if it was mapped for writing). the list is left empty, and any further change to it fails
+     */
+    @Override
+    public void close() {
+        if (chunks == null) return;
+        for (int c = 0; c < nchunks; c++)
+            Buffers.free(chunks[c]);
+        chunks = null;
+        views = null;
+        nchunks = 0;
+        capacity = 0;
+        long len = size;
+        size = 0;
+        if (file == null) return;
+        try (var ch = file) {
+            if (mode == FileChannel.MapMode.READ_WRITE) ch.truncate(len * Long.BYTES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void checkOpen() {
+        if (chunks == null) throw new IllegalStateException("list is closed");
+    }
+
+    // appends a chunk of len longs, allocated or mapped from the file after the current ones
+    private void addChunk(int len) throws IOException {
+        add(file == null ? allocate(len)
+                : file.map(mode, capacity * Long.BYTES, (long) len * Long.BYTES).order(ByteOrder.BIG_ENDIAN));
+    }
+
+    private void add(ByteBuffer chunk) {
+        if (nchunks == chunks.length) {
+            chunks = Arrays.copyOf(chunks, nchunks * 2);
+            views = Arrays.copyOf(views, nchunks * 2);
+        }
+        chunks[nchunks] = chunk;
+        views[nchunks++] = chunk.asLongBuffer();
+        capacity += chunk.capacity() / Long.BYTES;
+    }
+
+    private static ByteBuffer allocate(int len) {
+        return ByteBuffer.allocateDirect(len * Long.BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder("OffHeap[");
+        for (long i = 0; i < Math.min(size, 16); i++)
+            sb.append(i == 0 ? "" : ", ").append(get(i));
+        return sb.append(size > 16 ? ", ... (" + size + " elements)]" : "]").toString();
+    }
+
+    /**
+     * iterator over the elements, {@link PrimitiveIterator.OfLong#nextLong()} reads them without boxing
+     *
+     * @return iterator over the list
+     */
+    @Override
+    public @NotNull PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            long i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (i >= size) throw new NoSuchElementException();
+                return get(i++);
+            }
+        };
+    }
+}
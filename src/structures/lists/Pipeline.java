@@ -0,0 +1,352 @@
+package structures.lists;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * lazy view of a list (or any iterable) with stages that are fused into a single pass. map, filter, flatMap and
+ * limit only compose functions, nothing is read until a terminal operation (foldl, reduce, findFirst, exists, ...)
+ * pushes the elements of the source through all stages at once, so no intermediate list is ever built.
+ * terminal operations which do not need every element stop reading the source as soon as they have their result.
+ * <p>
+ * unlike a {@link Stream}, a pipeline can be run any number of times, every run reads its source anew. it is also
+ * a {@link Spliterator} factory: {@link #stream()} and {@link #parallelStream()} hand it over to java.util.stream,
+ * splitting the source for parallel runs, except after {@link #limit}, which needs the elements in order.
+ *
+ * @param <T> type of values coming out of the pipeline
+ */
+public final class Pipeline<T> implements Iterable<T> {
+    // source of the elements, asked for a new spliterator on every run
+    private final Supplier<? extends Spliterator<?>> source;
+    // all stages fused into one function from the downstream sink to the sink the source pushes into
+    private final Function<Sink<? super T>, Sink<Object>> stages;
+    // whether a stage may stop the run early (limit), in which case the source cannot be split
+    private final boolean limited;
+
+    /**
+     * receiver of the elements of a run
+     */
+    @FunctionalInterface
+    private interface Sink<T> {
+        /**
+         * @param x next element
+         * @return whether more elements are wanted
+         */
+        boolean accept(T x);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Pipeline(Supplier<? extends Spliterator<?>> source, Function<? super Sink<? super T>, ? extends Sink<?>> stages, boolean limited) {
+        this.source = source;
+        this.stages = sink -> (Sink<Object>) stages.apply(sink);
+        this.limited = limited;
+    }
+
+    /**
+     * creates a pipeline reading the elements of an iterable, through its spliterator
+     *
+     * @param xs  source
+     * @param <T> type of values in the source
+     * @return a pipeline without stages
+     */
+    public static <T> Pipeline<T> of(Iterable<T> xs) {
+        return new Pipeline<T>(xs::spliterator, sink -> sink, false);
+    }
+
+    /**
+     * adds a stage applying a function to every element
+     *
+     * @param f   function to apply
+     * @param <U> type of the results
+     * @return new pipeline
+     */
+    public <U> Pipeline<U> map(Function<? super T, ? extends U> f) {
+        return new Pipeline<U>(source, sink -> stages.apply((T x) -> sink.accept(f.apply(x))), limited);
+    }
+
+    /**
+     * adds a stage keeping only the elements which fulfill a given predicate
+     *
+     * @param pred given predicate
+     * @return new pipeline
+     */
+    public Pipeline<T> filter(Predicate<? super T> pred) {
+        return new Pipeline<T>(source, sink -> stages.apply((T x) -> !pred.test(x) || sink.accept(x)), limited);
+    }
+
+    /**
+     * adds a stage replacing every element by the elements of an iterable (a list, or another pipeline)
+     *
+     * @param f   function to apply
+     * @param <U> type of the results
+     * @return new pipeline
+     */
+    public <U> Pipeline<U> flatMap(Function<? super T, ? extends Iterable<? extends U>> f) {
+        return new Pipeline<U>(source, sink -> stages.apply((T x) -> {
+            for (U y : f.apply(x))
+                if (!sink.accept(y)) return false;
+            return true;
+        }), limited);
+    }
+
+    /**
+     * adds a stage passing on at most the first n elements, after which the source is no longer read
+     *
+     * @param n maximum number of elements
+     * @return new pipeline
+     */
+    public Pipeline<T> limit(long n) {
+        if (n < 0) throw new IllegalArgumentException("limit must be non negative");
+        return new Pipeline<T>(source, sink -> {
+            if (n == 0) return x -> false;
+            long[] left = {n}; //state of a single run, the stages are rebuilt for every run
+            return stages.apply((T x) -> sink.accept(x) && --left[0] > 0);
+        }, true);
+    }
+
+    // pushes the elements of a new run through the stages into the sink, until the source or the sink is done
+    private void run(Sink<? super T> sink, boolean shortCircuit) {
+        var spl = source.get();
+        var head = stages.apply(sink);
+        if (!shortCircuit && !limited) {
+            spl.forEachRemaining(head::accept);
+            return;
+        }
+        var more = new boolean[]{true};
+        Consumer<Object> push = x -> more[0] = head.accept(x);
+        while (more[0] && spl.tryAdvance(push)) ;
+    }
+
+    /**
+     * reduces the pipeline with a binary operation and an initial value going from left to right
+     *
+     * @param init initial value
+     * @param f    binary operation to apply
+     * @param <U>  type of the result
+     * @return result of reduction
+     */
+    public <U> U foldl(U init, BiFunction<U, ? super T, U> f) {
+        var acc = new Object[]{init};
+        run(x -> {
+            @SuppressWarnings("unchecked") var u = (U) acc[0];
+            acc[0] = f.apply(u, x);
+            return true;
+        }, false);
+        @SuppressWarnings("unchecked") var u = (U) acc[0];
+        return u;
+    }
+
+    /**
+     * reduces the pipeline using its first element as the initial value, erroring if empty
+     *
+     * @param f binary operation to apply
+     * @return result of reduction
+     */
+    public T reduce(BiFunction<T, T, T> f) {
+        var acc = new Object[1];
+        var empty = new boolean[]{true};
+        run(x -> {
+            if (empty[0]) {
+                acc[0] = x;
+                empty[0] = false;
+            } else {
+                @SuppressWarnings("unchecked") var t = (T) acc[0];
+                acc[0] = f.apply(t, x);
+            }
+            return true;
+        }, false);
+        if (empty[0]) throw new NoSuchElementException();
+        @SuppressWarnings("unchecked") var t = (T) acc[0];
+        return t;
+    }
+
+    /**
+     * @return the first element coming out of the pipeline, reading no further than needed to find it
+     */
+    public Optional<T> findFirst() {
+        var first = new Object[1];
+        var found = new boolean[1];
+        run(x -> {
+            first[0] = x;
+            found[0] = true;
+            return false;
+        }, true);
+        @SuppressWarnings("unchecked") var t = (T) first[0];
+        return found[0] ? Optional.of(t) : Optional.empty();
+    }
+
+    /**
+     * checks whether some element fulfills a condition (anyMatch), stopping at the first which does
+     *
+     * @param cond condition to fulfill
+     * @return whether the condition is fulfilled
+     */
+    public boolean exists(Predicate<? super T> cond) {
+        var found = new boolean[1];
+        run(x -> !(found[0] = cond.test(x)), true);
+        return found[0];
+    }
+
+    /**
+     * checks whether all elements fulfill a condition (allMatch), stopping at the first which does not
+     *
+     * @param cond condition to fulfill
+     * @return whether the condition is fulfilled
+     */
+    public boolean forall(Predicate<? super T> cond) {
+        return !exists(cond.negate());
+    }
+
+    /**
+     * @return the number of elements coming out of the pipeline
+     */
+    public long count() {
+        var n = new long[1];
+        run(x -> {
+            n[0]++;
+            return true;
+        }, false);
+        return n[0];
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> f) {
+        run(x -> {
+            f.accept(x);
+            return true;
+        }, false);
+    }
+
+    /**
+     * runs the pipeline into a new list
+     *
+     * @return dynamic array of the elements coming out of the pipeline
+     */
+    public DynArray<T> toList() {
+        var arr = new DynArray<T>();
+        run(x -> {
+            arr.add(x);
+            return true;
+        }, false);
+        return arr;
+    }
+
+    /**
+     * @return sequential stream of the elements coming out of the pipeline
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(this::spliterator, Spliterator.ORDERED, false);
+    }
+
+    /**
+     * @return parallel stream of the elements coming out of the pipeline, which splits the source as its
+     * spliterator does (not at all after a limit)
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(this::spliterator, Spliterator.ORDERED, true);
+    }
+
+    /**
+     * @return spliterator over the elements of a new run of the pipeline
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new Split(source.get());
+    }
+
+    @Override
+    public @NotNull Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * spliterator running the stages over a part of the source. elements are pushed into a target which is a
+     * buffer while advancing one at a time (a flatMap stage may emit more than one element per source element),
+     * and the consumer itself for the remainder. the buffer is a list rather than a deque, since stages may emit
+     * nulls. the stages are built once, so limits keep their count
+     */
+    private final class Split implements Spliterator<T> {
+        private final Spliterator<?> spl;
+        private final Sink<Object> head;
+        private final ArrayList<T> buffer = new ArrayList<>();
+        private int next; //index of the next buffered element
+        private Consumer<? super T> target = buffer::add;
+        private boolean done;
+
+        Split(Spliterator<?> spl) {
+            this.spl = spl;
+            this.head = stages.apply(x -> {
+                target.accept(x);
+                return true;
+            });
+        }
+
+        private void push(Object x) {
+            if (!head.accept(x)) done = true;
+        }
+
+        private boolean buffered() {
+            return next < buffer.size();
+        }
+
+        // next buffered element, emptying the buffer once everything in it has been taken
+        private T poll() {
+            T x = buffer.get(next++);
+            if (next == buffer.size()) {
+                buffer.clear();
+                next = 0;
+            }
+            return x;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (!buffered() && !done)
+                if (!spl.tryAdvance(this::push)) done = true;
+            if (!buffered()) return false;
+            action.accept(poll());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (buffered())
+                action.accept(poll());
+            target = action;
+            if (!limited) spl.forEachRemaining(this::push);
+            else while (!done)
+                if (!spl.tryAdvance(this::push)) done = true;
+            done = true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (limited || done || buffered()) return null;
+            var prefix = spl.trySplit();
+            return prefix == null ? null : new Split(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return limited ? Long.MAX_VALUE : spl.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return spl.characteristics() & Spliterator.ORDERED;
+        }
+    }
+}
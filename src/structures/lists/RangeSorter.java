@@ -0,0 +1,22 @@
+package structures.lists;
+
+/**
+ * sorting algorithm for a range of an array, which the array backed lists hand their underlying array to.
+ * the lists only know how to sort themselves through one, so they do not depend on any particular algorithm:
+ * {@code xs.sort(Sort::sort)} for an {@link IntDynArray} and {@code xs.sort(Quicksort::introsort)} for a
+ * {@link LongDynArray} or {@link DoubleDynArray}, while the list sorts of {@code algos.Sort} do the same for a
+ * {@link DynArray}.
+ *
+ * @param <A> type of the array
+ */
+@FunctionalInterface
+public interface RangeSorter<A> {
+    /**
+     * sorts the subarray xs[lo..hi] in place
+     *
+     * @param xs array to sort
+     * @param lo start of subarray
+     * @param hi end of subarray (inclusive)
+     */
+    void sort(A xs, int lo, int hi);
+}
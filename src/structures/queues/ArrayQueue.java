@@ -5,6 +5,8 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * resizing array implemented queue to achieve all queue operations in amortized constant time
@@ -19,16 +21,23 @@ public class ArrayQueue<T> implements Queue<T> {
     private int tail;
 
 
+    /**
+     * creates a queue holding the given elements, the first of which is at the front
+     *
+     * @param xs elements to enqueue, none of which may be null
+     */
     @SafeVarargs
     @SuppressWarnings("unchecked")
     public ArrayQueue(T... xs) {
+        for (var x : xs)
+            if (x == null) throw new IllegalArgumentException();
         int cap = 1 << (int) (Math.log(xs.length) / Math.log(2) + 1);
         arr = (T[]) new Object[cap];
         System.arraycopy(xs, 0, arr, 0, xs.length);
         capacity = cap;
         size = xs.length;
         head = 0;
-        tail = size - 1;
+        tail = size;
     }
 
     /**
@@ -115,6 +124,73 @@ public class ArrayQueue<T> implements Queue<T> {
         };
     }
 
+    /**
+     * spliterator over the elements from front to back, read in place from the circular array. it splits in
+     * halves and knows the exact size of every part (SIZED and SUBSIZED), so that parallel streams over the queue
+     * split evenly without copying. the queue must not be changed while the spliterator is in use
+     *
+     * @return spliterator over the queue
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new QueueSpliterator<>(arr, head, 0, size);
+    }
+
+    /**
+     * spliterator over the elements at positions [lo, hi) from the head of a circular array
+     */
+    private static final class QueueSpliterator<T> implements Spliterator<T> {
+        private final T[] arr;
+        private final int head;
+        private int lo;
+        private final int hi;
+
+        QueueSpliterator(T[] arr, int head, int lo, int hi) {
+            this.arr = arr;
+            this.head = head;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (lo >= hi) return false;
+            action.accept(arr[(head + lo++) % arr.length]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            // the positions wrap around at most once, so the rest is at most two runs of the array
+            int start = (head + lo) % arr.length, n = hi - lo;
+            int first = Math.min(n, arr.length - start);
+            for (int i = start; i < start + first; i++)
+                action.accept(arr[i]);
+            for (int i = 0; i < n - first; i++)
+                action.accept(arr[i]);
+            lo = hi;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (lo + hi) >>> 1;
+            if (mid <= lo) return null;
+            var prefix = new QueueSpliterator<>(arr, head, lo, mid);
+            lo = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return hi - lo;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void resize(int newCap) {
         T[] nArr = (T[]) new Object[newCap];
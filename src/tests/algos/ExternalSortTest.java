@@ -0,0 +1,118 @@
+package tests.algos;
+
+import algos.ExternalSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class ExternalSortTest {
+    // smallest budget allowed, which fits 131072 ints or 65536 longs per run
+    private static final long BUDGET = 2 << 20;
+
+    static Stream<Arguments> intData() {
+        var rand = new Random(42);
+        return Stream.of(
+                Arguments.of("empty", new int[0], ExternalSort.DEFAULT_FAN_IN),
+                Arguments.of("single run", rand.ints(1000).toArray(), ExternalSort.DEFAULT_FAN_IN),
+                Arguments.of("one merge", rand.ints(500_000).toArray(), ExternalSort.DEFAULT_FAN_IN),
+                Arguments.of("several merge passes", rand.ints(600_000).toArray(), 2),
+                Arguments.of("few distinct", rand.ints(400_000, 0, 5).toArray(), 3),
+                Arguments.of("descending", IntStream.range(0, 300_000).map(i -> -i).toArray(), 2)
+        );
+    }
+
+    @ParameterizedTest(name = "# {index}- Test external sort of {0} ints with fan in {2}")
+    @MethodSource("intData")
+    void sortInts(String name, int[] xs, int fanIn) throws IOException {
+        var dir = Files.createTempDirectory("extsort");
+        try {
+            Path in = dir.resolve("in.bin"), out = dir.resolve("out.bin");
+            try (var os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(in)))) {
+                for (var x : xs) os.writeInt(x);
+            }
+            ExternalSort.sortInts(in, out, BUDGET, fanIn);
+            var expected = xs.clone();
+            Arrays.sort(expected);
+            int[] sorted = new int[xs.length];
+            try (var is = new DataInputStream(new BufferedInputStream(Files.newInputStream(out)))) {
+                for (int i = 0; i < sorted.length; i++) sorted[i] = is.readInt();
+            }
+            assertArrayEquals(expected, sorted);
+            assertEquals(4L * xs.length, Files.size(out));
+            assertEquals(List.of(in, out), list(dir)); //the runs and their directory are gone
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @ParameterizedTest(name = "# {index}- Test external sort of {0} longs with fan in {2}")
+    @MethodSource("intData")
+    void sortLongs(String name, int[] keys, int fanIn) throws IOException {
+        long[] xs = Arrays.stream(keys).mapToLong(x -> (long) x << 32 | x & 0xffff).toArray();
+        var dir = Files.createTempDirectory("extsort");
+        try {
+            Path in = dir.resolve("in.bin"), out = dir.resolve("out.bin");
+            try (var os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(in)))) {
+                for (var x : xs) os.writeLong(x);
+            }
+            ExternalSort.sortLongs(in, out, BUDGET, fanIn);
+            var expected = xs.clone();
+            Arrays.sort(expected);
+            long[] sorted = new long[xs.length];
+            try (var is = new DataInputStream(new BufferedInputStream(Files.newInputStream(out)))) {
+                for (int i = 0; i < sorted.length; i++) sorted[i] = is.readLong();
+            }
+            assertArrayEquals(expected, sorted);
+            assertEquals(8L * xs.length, Files.size(out));
+            assertEquals(List.of(in, out), list(dir));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void invalidArguments() throws IOException {
+        var dir = Files.createTempDirectory("extsort");
+        try {
+            Path in = dir.resolve("in.bin"), out = dir.resolve("out.bin");
+            Files.write(in, new byte[6]);
+            assertThrows(IllegalArgumentException.class, () -> ExternalSort.sortInts(in, out, BUDGET, 8));
+            assertThrows(IllegalArgumentException.class, () -> ExternalSort.sortLongs(in, out, BUDGET, 8));
+            Files.write(in, new byte[8]);
+            assertThrows(IllegalArgumentException.class, () -> ExternalSort.sortInts(in, out, BUDGET, 1));
+            assertThrows(IllegalArgumentException.class, () -> ExternalSort.sortInts(in, out, BUDGET / 2, 8));
+            assertEquals(List.of(in), list(dir));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        for (var file : list(dir))
+            Files.delete(file);
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,67 @@
+package tests.algos;
+
+import algos.LSDRadix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class LSDRadixTest {
+
+    static Stream<Arguments> intData() {
+        var rand = new Random(42);
+        return Stream.of(
+                Arguments.of("empty", new int[0]),
+                Arguments.of("single", new int[]{-7}),
+                Arguments.of("random", rand.ints(20_000).toArray()),
+                Arguments.of("negative", rand.ints(20_000, Integer.MIN_VALUE, 0).toArray()),
+                Arguments.of("low byte only", rand.ints(20_000, 0, 256).toArray()),
+                Arguments.of("shared high bytes", rand.ints(20_000, 1 << 24, (1 << 24) + 1000).toArray()),
+                Arguments.of("all equal", new int[1000]),
+                Arguments.of("descending", IntStream.range(0, 20_000).map(i -> -i).toArray()),
+                Arguments.of("extremes", new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, Integer.MIN_VALUE, 1})
+        );
+    }
+
+    @ParameterizedTest(name = "# {index}- Test sort of {0} ints")
+    @MethodSource("intData")
+    void sortInts(String name, int[] xs) {
+        var expected = xs.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, LSDRadix.sort(xs));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test sort of a subarray of {0} ints")
+    @MethodSource("intData")
+    void sortIntRange(String name, int[] xs) {
+        int lo = xs.length / 4, hi = xs.length - xs.length / 3 - 1;
+        var expected = xs.clone();
+        Arrays.sort(expected, lo, hi + 1);
+        LSDRadix.sort(xs, lo, hi, new int[Math.max(hi - lo + 1, 0)]);
+        assertArrayEquals(expected, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test sort of {0} longs")
+    @MethodSource("intData")
+    void sortLongs(String name, int[] keys) {
+        long[] xs = Arrays.stream(keys).mapToLong(x -> (long) x << 32 | x & 0xffff).toArray();
+        var expected = xs.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, LSDRadix.sort(xs));
+    }
+
+    @Test
+    void bufferTooSmall() {
+        assertThrows(IllegalArgumentException.class, () -> LSDRadix.sort(new int[10], new int[9]));
+        assertThrows(IllegalArgumentException.class, () -> LSDRadix.sort(new int[10], 2, 7, new int[5]));
+        assertThrows(IllegalArgumentException.class, () -> LSDRadix.sort(new long[10], new long[9]));
+    }
+}
@@ -0,0 +1,56 @@
+package tests.algos;
+
+import algos.MSDRadix;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class MSDRadixTest {
+
+    static Stream<Arguments> stringData() {
+        var rand = new Random(42);
+        String prefix = "x".repeat(300);
+        return Stream.of(
+                Arguments.of("empty", new String[0]),
+                Arguments.of("short", new String[]{"b", "", "ab", "a", "", "ba"}),
+                Arguments.of("random ascii", randomStrings(rand, 5000, 'a', 'e', 12)),
+                Arguments.of("random unicode", randomStrings(rand, 5000, 0, 0xffff, 6)),
+                Arguments.of("shared prefix", Arrays.stream(randomStrings(rand, 3000, 'a', 'c', 8))
+                        .map(s -> prefix + s).toArray(String[]::new)),
+                Arguments.of("prefixes of each other", IntStream.range(0, 2000)
+                        .mapToObj(i -> "ab".repeat(i % 100)).toArray(String[]::new)),
+                Arguments.of("all equal", IntStream.range(0, 1000).mapToObj(i -> "same").toArray(String[]::new)),
+                // chars sharing their high byte or their low byte, which are digits of their own
+                Arguments.of("split chars", IntStream.range(0, 2000)
+                        .mapToObj(i -> String.valueOf((char) (i % 2 == 0 ? 0x4100 + i % 256 : 0x41 + (i % 64 << 8))))
+                        .toArray(String[]::new))
+        );
+    }
+
+    static String[] randomStrings(Random rand, int n, int lo, int hi, int maxLen) {
+        var xs = new String[n];
+        for (int i = 0; i < n; i++) {
+            var sb = new StringBuilder();
+            for (int len = rand.nextInt(maxLen + 1); len > 0; len--)
+                sb.append((char) (lo + rand.nextInt(hi - lo + 1)));
+            xs[i] = sb.toString();
+        }
+        return xs;
+    }
+
+    @ParameterizedTest(name = "# {index}- Test sort of {0} strings")
+    @MethodSource("stringData")
+    void sort(String name, String[] xs) {
+        var expected = xs.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, MSDRadix.sort(xs));
+    }
+}
@@ -0,0 +1,149 @@
+package tests.algos;
+
+import algos.Merge;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class MergeTest {
+
+    record Item(int key, int source) {
+    }
+
+    // pairs of sorted runs
+    static Stream<Arguments> runData() {
+        var rand = new Random(42);
+        return Stream.of(
+                Arguments.of("both empty", sorted(new int[0]), sorted(new int[0])),
+                Arguments.of("one empty", sorted(rand.ints(100).toArray()), sorted(new int[0])),
+                Arguments.of("random", sorted(rand.ints(5000).toArray()), sorted(rand.ints(3000).toArray())),
+                Arguments.of("duplicates", sorted(rand.ints(5000, 0, 10).toArray()), sorted(rand.ints(5000, 0, 10).toArray())),
+                Arguments.of("disjoint", IntStream.range(0, 2000).toArray(), IntStream.range(-3000, 0).toArray()),
+                Arguments.of("very uneven", sorted(rand.ints(10_000).toArray()), sorted(rand.ints(3).toArray()))
+        );
+    }
+
+    static int[] sorted(int[] xs) {
+        Arrays.sort(xs);
+        return xs;
+    }
+
+    static int[] concatSorted(int[]... runs) {
+        return sorted(Arrays.stream(runs).flatMapToInt(Arrays::stream).toArray());
+    }
+
+    @ParameterizedTest(name = "# {index}- Test merge of {0} runs")
+    @MethodSource("runData")
+    void merge(String name, int[] a, int[] b) {
+        assertArrayEquals(concatSorted(a, b), Merge.merge(a, b, new int[a.length + b.length]));
+        long[] la = Arrays.stream(a).asLongStream().toArray(), lb = Arrays.stream(b).asLongStream().toArray();
+        var expected = Arrays.stream(concatSorted(a, b)).asLongStream().toArray();
+        assertArrayEquals(expected, Merge.merge(la, lb, new long[a.length + b.length]));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test merge of subarrays of {0} runs")
+    @MethodSource("runData")
+    void mergeRange(String name, int[] a, int[] b) {
+        // a[1..a.length-2] and b[0..b.length-1] written after 3 untouched elements
+        int aLo = Math.min(1, a.length), aHi = a.length - 2;
+        int[] dst = new int[a.length + b.length + 3];
+        Arrays.fill(dst, 42);
+        Merge.merge(a, aLo, aHi, b, 0, b.length - 1, dst, 3);
+        int[] expected = new int[dst.length];
+        Arrays.fill(expected, 42);
+        var merged = concatSorted(Arrays.copyOfRange(a, aLo, Math.max(aHi + 1, aLo)), b);
+        System.arraycopy(merged, 0, expected, 3, merged.length);
+        assertArrayEquals(expected, dst);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test in place merge of {0} runs")
+    @MethodSource("runData")
+    void mergeInPlace(String name, int[] a, int[] b) {
+        var expected = concatSorted(a, b);
+        int shorter = Math.min(a.length, b.length);
+        // no buffer, a buffer too short for either run, and one fitting the shorter run
+        for (int len : new int[]{0, 7, shorter}) {
+            int[] xs = new int[a.length + b.length + 2];
+            System.arraycopy(a, 0, xs, 1, a.length);
+            System.arraycopy(b, 0, xs, 1 + a.length, b.length);
+            Merge.mergeInPlace(xs, 1, a.length, a.length + b.length, new int[len]);
+            assertArrayEquals(expected, Arrays.copyOfRange(xs, 1, xs.length - 1));
+            assertEquals(0, xs[0]);
+            assertEquals(0, xs[xs.length - 1]);
+        }
+    }
+
+    @ParameterizedTest(name = "# {index}- Test parallel merge of {0} runs")
+    @MethodSource("runData")
+    void parallelMerge(String name, int[] a, int[] b) {
+        var pool = new ForkJoinPool(4);
+        try {
+            assertArrayEquals(concatSorted(a, b), Merge.parallelMerge(a, b, new int[a.length + b.length], pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelMergeLong() {
+        // long enough to be cut into several segments, with duplicates across the cuts
+        var rand = new Random(5);
+        int[] a = sorted(rand.ints(400_000, 0, 1000).toArray()), b = sorted(rand.ints(300_000, 0, 1000).toArray());
+        var pool = new ForkJoinPool(4);
+        try {
+            assertArrayEquals(concatSorted(a, b), Merge.parallelMerge(a, b, new int[a.length + b.length], pool));
+            long[] la = Arrays.stream(a).asLongStream().toArray(), lb = Arrays.stream(b).asLongStream().toArray();
+            var expected = Arrays.stream(concatSorted(a, b)).asLongStream().toArray();
+            assertArrayEquals(expected, Merge.parallelMerge(la, lb, new long[la.length + lb.length], pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void kWayMerge() {
+        var rand = new Random(7);
+        for (int k : new int[]{0, 1, 2, 3, 8, 65}) {
+            int[][] runs = new int[k][];
+            for (int i = 0; i < k; i++)
+                runs[i] = sorted(rand.ints(rand.nextInt(500), -50, 50).toArray()); //some are empty
+            assertArrayEquals(concatSorted(runs), Merge.merge(runs));
+            long[][] longRuns = Arrays.stream(runs).map(r -> Arrays.stream(r).asLongStream().toArray()).toArray(long[][]::new);
+            assertArrayEquals(Arrays.stream(concatSorted(runs)).asLongStream().toArray(), Merge.merge(longRuns));
+        }
+    }
+
+    @Test
+    void iteratorMergeIsStable() {
+        var rand = new Random(9);
+        var sources = new ArrayList<Iterator<Item>>();
+        var all = new ArrayList<Item>();
+        for (int s = 0; s < 5; s++) {
+            int source = s;
+            var run = sorted(rand.ints(200, 0, 20).toArray());
+            List<Item> items = Arrays.stream(run).mapToObj(x -> new Item(x, source)).toList();
+            all.addAll(items);
+            sources.add(items.iterator());
+        }
+        // stable sort of the concatenation: equal keys in the order of their sources
+        var expected = all.toArray(Item[]::new);
+        Arrays.sort(expected, Comparator.comparingInt(Item::key));
+        var merged = new ArrayList<Item>();
+        Merge.merge(sources, Comparator.comparingInt(Item::key)).forEachRemaining(merged::add);
+        assertArrayEquals(expected, merged.toArray(Item[]::new));
+    }
+}
@@ -0,0 +1,80 @@
+package tests.algos;
+
+import algos.Merge;
+import algos.Mergesort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class MergesortTest {
+
+    record Item(int key, int index) {
+    }
+
+    private static final Comparator<Item> BY_KEY = Comparator.comparingInt(Item::key);
+
+    static Stream<Arguments> keyData() {
+        var rand = new Random(42);
+        // long enough for the in place sort to merge runs longer than its buffer
+        return Stream.of(
+                Arguments.of("empty", new int[0]),
+                Arguments.of("short", rand.ints(20, 0, 3).toArray()),
+                Arguments.of("few distinct", rand.ints(5000, 0, 4).toArray()),
+                Arguments.of("many distinct", rand.ints(5000, 0, 1000).toArray()),
+                Arguments.of("descending runs", IntStream.range(0, 5000).map(i -> -(i / 10)).toArray()),
+                Arguments.of("all equal", new int[3000])
+        );
+    }
+
+    static Item[] items(int[] keys) {
+        return IntStream.range(0, keys.length).mapToObj(i -> new Item(keys[i], i)).toArray(Item[]::new);
+    }
+
+    static Item[] stableSorted(Item[] xs) {
+        var ys = xs.clone();
+        Arrays.sort(ys, BY_KEY); //stable as well
+        return ys;
+    }
+
+    @ParameterizedTest(name = "# {index}- Test stability of sorting {0} objects")
+    @MethodSource("keyData")
+    void sortIsStable(String name, int[] keys) {
+        var xs = items(keys);
+        var expected = stableSorted(xs);
+        Mergesort.sort(xs, BY_KEY);
+        assertArrayEquals(expected, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test stability of sorting {0} objects in place")
+    @MethodSource("keyData")
+    void sortInPlaceIsStable(String name, int[] keys) {
+        var xs = items(keys);
+        var expected = stableSorted(xs);
+        Mergesort.sortInPlace(xs, BY_KEY);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    void mergeInPlaceIsStable() {
+        var rand = new Random(3);
+        for (int len : new int[]{0, 1, 10, 1000}) {
+            // equal keys in both runs, where the ones of the left run must stay first
+            var a = rand.ints(700, 0, 8).sorted().toArray();
+            var b = rand.ints(1300, 0, 8).sorted().toArray();
+            var xs = items(IntStream.concat(Arrays.stream(a), Arrays.stream(b)).toArray());
+            var expected = stableSorted(xs);
+            Merge.mergeInPlace(xs, 0, a.length - 1, xs.length - 1, new Item[len], BY_KEY);
+            assertArrayEquals(expected, xs);
+        }
+    }
+}
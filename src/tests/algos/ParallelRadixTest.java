@@ -0,0 +1,39 @@
+package tests.algos;
+
+import algos.ParallelRadix;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class ParallelRadixTest {
+
+    static Stream<Arguments> intData() {
+        var rand = new Random(42);
+        // long enough to be cut into blocks, sorted on 1 to 4 threads
+        return Stream.of(
+                Arguments.of("short random", rand.ints(1000).toArray(), 4),
+                Arguments.of("random", rand.ints(300_000).toArray(), 4),
+                Arguments.of("random, uneven blocks", rand.ints(300_001).toArray(), 3),
+                Arguments.of("random, one thread", rand.ints(100_000).toArray(), 1),
+                Arguments.of("few distinct", rand.ints(300_000, -2, 2).toArray(), 4),
+                Arguments.of("shared high bytes", rand.ints(300_000, 0, 1 << 12).toArray(), 2),
+                Arguments.of("descending", IntStream.range(0, 200_000).map(i -> -i).toArray(), 4)
+        );
+    }
+
+    @ParameterizedTest(name = "# {index}- Test sort of {0} ints on {2} threads")
+    @MethodSource("intData")
+    void sort(String name, int[] xs, int parallelism) {
+        var expected = xs.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, ParallelRadix.sort(xs, parallelism));
+    }
+}
@@ -0,0 +1,103 @@
+package tests.algos;
+
+import algos.Quicksort;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class QuicksortTest {
+
+    static Stream<Arguments> intData() {
+        var rand = new Random(42);
+        return Stream.of(
+                Arguments.of("empty", new int[0]),
+                Arguments.of("pair", new int[]{2, 1}),
+                Arguments.of("short random", rand.ints(40).toArray()),
+                Arguments.of("random", rand.ints(20_000).toArray()),
+                Arguments.of("few distinct", rand.ints(20_000, 0, 3).toArray()),
+                Arguments.of("all equal", new int[5000]),
+                Arguments.of("ascending", IntStream.range(0, 20_000).toArray()),
+                Arguments.of("descending", IntStream.range(0, 20_000).map(i -> -i).toArray()),
+                Arguments.of("organ pipe", IntStream.range(0, 20_000).map(i -> Math.min(i, 20_000 - i)).toArray()),
+                Arguments.of("sawtooth", IntStream.range(0, 20_000).map(i -> i % 37).toArray()),
+                Arguments.of("extremes", new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, Integer.MIN_VALUE, 1})
+        );
+    }
+
+    static Stream<Arguments> doubleData() {
+        var rand = new Random(7);
+        return Stream.of(
+                Arguments.of("specials", new double[]{Double.NaN, 0.0, -0.0, 1, Double.NEGATIVE_INFINITY, -0.0,
+                        Double.NaN, Double.POSITIVE_INFINITY, 0.0, -1, Double.MIN_VALUE, -Double.MAX_VALUE}),
+                Arguments.of("random with specials", rand.doubles(20_000).map(x -> {
+                    int k = (int) (x * 20);
+                    return k == 0 ? Double.NaN : k == 1 ? -0.0 : k == 2 ? 0.0 : x - 0.5;
+                }).toArray()),
+                Arguments.of("zeros", IntStream.range(0, 1000).mapToDouble(i -> i % 3 == 0 ? -0.0 : 0.0).toArray()),
+                Arguments.of("all NaN", IntStream.range(0, 100).mapToDouble(i -> Double.NaN).toArray())
+        );
+    }
+
+    @ParameterizedTest(name = "# {index}- Test introsort of {0} ints")
+    @MethodSource("intData")
+    void introsortInts(String name, int[] xs) {
+        var expected = xs.clone();
+        Arrays.sort(expected);
+        Quicksort.introsort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test introsort of a subarray of {0} ints")
+    @MethodSource("intData")
+    void introsortIntRange(String name, int[] xs) {
+        int lo = xs.length / 4, hi = xs.length - xs.length / 3 - 1;
+        var expected = xs.clone();
+        Arrays.sort(expected, lo, hi + 1);
+        Quicksort.introsort(xs, lo, hi);
+        assertArrayEquals(expected, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test introsort of {0} longs")
+    @MethodSource("intData")
+    void introsortLongs(String name, int[] keys) {
+        long[] xs = Arrays.stream(keys).mapToLong(x -> (long) x << 32 | x & 0xffff).toArray();
+        var expected = xs.clone();
+        Arrays.sort(expected);
+        Quicksort.introsort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test introsort of {0} doubles")
+    @MethodSource("doubleData")
+    void introsortDoubles(String name, double[] xs) {
+        var expected = xs.clone();
+        Arrays.sort(expected);
+        var ys = xs.clone();
+        Quicksort.introsort(ys);
+        assertArrayEquals(expected, ys);
+        int lo = xs.length / 4, hi = xs.length - xs.length / 3 - 1;
+        expected = xs.clone();
+        Arrays.sort(expected, lo, hi + 1);
+        Quicksort.introsort(xs, lo, hi);
+        assertArrayEquals(expected, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test introsort of {0} strings")
+    @MethodSource("intData")
+    void introsortObjects(String name, int[] keys) {
+        var xs = Arrays.stream(keys).mapToObj(Integer::toString).toArray(String[]::new);
+        var expected = xs.clone();
+        Arrays.sort(expected, Comparator.reverseOrder());
+        Quicksort.introsort(xs, Comparator.reverseOrder());
+        assertArrayEquals(expected, xs);
+    }
+}
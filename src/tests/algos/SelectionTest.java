@@ -0,0 +1,134 @@
+package tests.algos;
+
+import algos.Selection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import structures.lists.DynArray;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class SelectionTest {
+
+    static Stream<Arguments> intData() {
+        var rand = new Random(42);
+        return Stream.of(
+                Arguments.of("single", new int[]{3}),
+                Arguments.of("short random", rand.ints(15).toArray()),
+                Arguments.of("random", rand.ints(5000).toArray()),
+                Arguments.of("few distinct", rand.ints(5000, 0, 3).toArray()),
+                Arguments.of("all equal", new int[2000]),
+                Arguments.of("ascending", IntStream.range(0, 5000).toArray()),
+                Arguments.of("descending", IntStream.range(0, 5000).map(i -> -i).toArray()),
+                Arguments.of("organ pipe", IntStream.range(0, 5000).map(i -> Math.min(i, 5000 - i)).toArray())
+        );
+    }
+
+    // first, last, middle and a few others
+    static int[] ranks(int n) {
+        return IntStream.of(0, n - 1, n / 2, n / 3, 1, n - 2).filter(k -> k >= 0 && k < n).distinct().toArray();
+    }
+
+    @ParameterizedTest(name = "# {index}- Test select on {0} ints")
+    @MethodSource("intData")
+    void select(String name, int[] xs) {
+        var sorted = xs.clone();
+        Arrays.sort(sorted);
+        for (int k : ranks(xs.length)) {
+            var ys = xs.clone();
+            assertEquals(sorted[k], Selection.select(ys, k));
+            for (int i = 0; i < k; i++) assertTrue(ys[i] <= ys[k]);
+            for (int i = k + 1; i < ys.length; i++) assertTrue(ys[i] >= ys[k]);
+            Arrays.sort(ys);
+            assertArrayEquals(sorted, ys); //only rearranged
+        }
+    }
+
+    @ParameterizedTest(name = "# {index}- Test select on a subarray of {0} ints")
+    @MethodSource("intData")
+    void selectRange(String name, int[] xs) {
+        int lo = xs.length / 4, hi = xs.length - xs.length / 3 - 1;
+        if (hi < lo) return;
+        var sorted = xs.clone();
+        Arrays.sort(sorted, lo, hi + 1);
+        int k = (lo + hi) / 2;
+        assertEquals(sorted[k], Selection.select(xs, lo, hi, k));
+        for (int i = 0; i < lo; i++) assertEquals(sorted[i], xs[i]);
+        for (int i = hi + 1; i < xs.length; i++) assertEquals(sorted[i], xs[i]);
+        assertThrows(IllegalArgumentException.class, () -> Selection.select(xs, lo, hi, hi + 1));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test partial sort and top k of {0} ints")
+    @MethodSource("intData")
+    void partialSortAndTopK(String name, int[] xs) {
+        var sorted = xs.clone();
+        Arrays.sort(sorted);
+        int n = xs.length;
+        for (int k : new int[]{0, 1, n / 10, n}) {
+            var ys = xs.clone();
+            Selection.partialSort(ys, k);
+            assertArrayEquals(Arrays.copyOf(sorted, k), Arrays.copyOf(ys, k));
+            var top = Selection.topK(xs, k);
+            var expected = new int[k];
+            for (int i = 0; i < k; i++) expected[i] = sorted[n - 1 - i];
+            assertArrayEquals(expected, top);
+        }
+        assertEquals(n, Selection.topK(xs, n + 5).length);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test selection on {0} longs")
+    @MethodSource("intData")
+    void selectLongs(String name, int[] keys) {
+        long[] xs = Arrays.stream(keys).mapToLong(x -> (long) x << 32 | x & 0xffff).toArray();
+        var sorted = xs.clone();
+        Arrays.sort(sorted);
+        int n = xs.length;
+        for (int k : ranks(n))
+            assertEquals(sorted[k], Selection.select(xs.clone(), k));
+        var ys = xs.clone();
+        Selection.partialSort(ys, n / 2);
+        assertArrayEquals(Arrays.copyOf(sorted, n / 2), Arrays.copyOf(ys, n / 2));
+        var top = Selection.topK(xs, 3);
+        for (int i = 0; i < top.length; i++) assertEquals(sorted[n - 1 - i], top[i]);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test selection on {0} strings")
+    @MethodSource("intData")
+    void selectObjects(String name, int[] keys) {
+        var xs = Arrays.stream(keys).mapToObj(Integer::toString).toArray(String[]::new);
+        var sorted = xs.clone();
+        Arrays.sort(sorted);
+        int n = xs.length;
+        for (int k : ranks(n))
+            assertEquals(sorted[k], Selection.select(xs.clone(), k, Comparator.naturalOrder()));
+        var ys = xs.clone();
+        Selection.partialSort(ys, n / 2, Comparator.naturalOrder());
+        assertArrayEquals(Arrays.copyOf(sorted, n / 2), Arrays.copyOf(ys, n / 2));
+        int k = Math.min(10, n);
+        var expected = new String[k];
+        for (int i = 0; i < k; i++) expected[i] = sorted[n - 1 - i];
+        assertArrayEquals(expected, Selection.topK(xs, k, Comparator.naturalOrder()));
+        assertEquals(DynArray.of(expected), Selection.topK(Arrays.asList(xs), k, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void topKOfIterableKeepsFirstOfEqual() {
+        record Item(int key, int index) {
+        }
+        var xs = List.of(new Item(1, 0), new Item(2, 1), new Item(2, 2), new Item(0, 3), new Item(2, 4));
+        var top = Selection.topK(xs, 2, Comparator.comparingInt(Item::key));
+        // of the three largest, the first two seen are kept, in no particular order between themselves
+        assertEquals(2, top.size());
+        assertTrue(top.contains(new Item(2, 1)));
+        assertTrue(top.contains(new Item(2, 2)));
+    }
+}
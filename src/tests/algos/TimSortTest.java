@@ -0,0 +1,135 @@
+package tests.algos;
+
+import algos.TimSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class TimSortTest {
+
+    record Item(int key, int index) {
+    }
+
+    static Stream<Arguments> intData() {
+        var rand = new Random(42);
+        return Stream.of(
+                Arguments.of("empty", new int[0]),
+                Arguments.of("single", new int[]{7}),
+                Arguments.of("short random", rand.ints(50).toArray()),
+                Arguments.of("random", rand.ints(20_000).toArray()),
+                Arguments.of("few distinct", rand.ints(20_000, 0, 4).toArray()),
+                Arguments.of("ascending", IntStream.range(0, 20_000).toArray()),
+                Arguments.of("descending", IntStream.range(0, 20_000).map(i -> -i).toArray()),
+                Arguments.of("sawtooth", IntStream.range(0, 20_000).map(i -> i % 700).toArray()),
+                Arguments.of("runs out of order", IntStream.range(0, 20_000).map(i -> (i + 10_000) % 20_000).toArray()),
+                Arguments.of("interleaved blocks", interleavedBlocks(20_000, 150)),
+                Arguments.of("extremes", new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, Integer.MAX_VALUE, 1})
+        );
+    }
+
+    // two ascending runs whose values alternate in blocks, so that every merge of them gallops through a block
+    // of one run, then through a block of the other
+    static int[] interleavedBlocks(int n, int block) {
+        int[] xs = new int[n];
+        int half = n / 2;
+        for (int i = 0; i < half; i++)
+            xs[i] = i / block * 2 * block + i % block;
+        for (int i = half; i < n; i++)
+            xs[i] = (i - half) / block * 2 * block + block + (i - half) % block;
+        return xs;
+    }
+
+    static Stream<Arguments> doubleData() {
+        var rand = new Random(7);
+        return Stream.of(
+                Arguments.of("specials", new double[]{Double.NaN, 0.0, -0.0, 1, Double.NEGATIVE_INFINITY, -0.0,
+                        Double.NaN, Double.POSITIVE_INFINITY, 0.0, -1, Double.MIN_VALUE, -Double.MAX_VALUE}),
+                Arguments.of("random with specials", rand.doubles(20_000).map(x -> {
+                    int k = (int) (x * 20);
+                    return k == 0 ? Double.NaN : k == 1 ? -0.0 : k == 2 ? 0.0 : x - 0.5;
+                }).toArray()),
+                Arguments.of("interleaved blocks", Arrays.stream(interleavedBlocks(20_000, 150)).mapToDouble(i -> i).toArray()),
+                Arguments.of("zeros", IntStream.range(0, 1000).mapToDouble(i -> i % 3 == 0 ? -0.0 : 0.0).toArray())
+        );
+    }
+
+    @ParameterizedTest(name = "# {index}- Test sort of {0} ints")
+    @MethodSource("intData")
+    void sortInts(String name, int[] xs) {
+        var expected = xs.clone();
+        Arrays.sort(expected);
+        var ys = xs.clone();
+        TimSort.sort(ys);
+        assertArrayEquals(expected, ys);
+        ys = xs.clone();
+        TimSort.sort(ys, 0, ys.length - 1, new int[1]); //too short, replaced once a merge needs more
+        assertArrayEquals(expected, ys);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test sort of a subarray of {0} ints")
+    @MethodSource("intData")
+    void sortIntRange(String name, int[] xs) {
+        int lo = xs.length / 4, hi = xs.length - xs.length / 3 - 1;
+        var expected = xs.clone();
+        Arrays.sort(expected, lo, hi + 1);
+        TimSort.sort(xs, lo, hi);
+        assertArrayEquals(expected, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test sort of {0} longs")
+    @MethodSource("intData")
+    void sortLongs(String name, int[] keys) {
+        // spread over the whole range of longs, keeping the order of the ints
+        long[] xs = Arrays.stream(keys).mapToLong(x -> (long) x << 32 | x & 0xffff).toArray();
+        var expected = xs.clone();
+        Arrays.sort(expected);
+        TimSort.sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test sort of {0} doubles")
+    @MethodSource("doubleData")
+    void sortDoubles(String name, double[] xs) {
+        var expected = xs.clone();
+        Arrays.sort(expected);
+        var ys = xs.clone();
+        TimSort.sort(ys);
+        assertArrayEquals(expected, ys);
+        int lo = xs.length / 4, hi = xs.length - xs.length / 3 - 1;
+        expected = xs.clone();
+        Arrays.sort(expected, lo, hi + 1);
+        TimSort.sort(xs, lo, hi);
+        assertArrayEquals(expected, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test stability of sorting {0} objects")
+    @MethodSource("intData")
+    void sortIsStable(String name, int[] keys) {
+        // few distinct keys so that most elements have equal ones, which must keep their order by index
+        var xs = IntStream.range(0, keys.length).mapToObj(i -> new Item(keys[i] % 16, i)).toArray(Item[]::new);
+        var expected = xs.clone();
+        Arrays.sort(expected, Comparator.comparingInt(Item::key)); //stable as well
+        TimSort.sort(xs, Comparator.comparingInt(Item::key));
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    void sortObjectRange() {
+        int[] keys = new Random(3).ints(5000, 0, 10).toArray();
+        var xs = IntStream.range(0, keys.length).mapToObj(i -> new Item(keys[i], i)).toArray(Item[]::new);
+        var expected = xs.clone();
+        Arrays.sort(expected, 100, 4000, Comparator.comparingInt(Item::key));
+        TimSort.sort(xs, 100, 3999, Comparator.comparingInt(Item::key));
+        assertArrayEquals(expected, xs);
+    }
+}
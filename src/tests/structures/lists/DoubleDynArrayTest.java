@@ -0,0 +1,52 @@
+package tests.structures.lists;
+
+import algos.Quicksort;
+import org.junit.jupiter.api.Test;
+import structures.lists.DoubleDynArray;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleDynArrayTest {
+
+    @Test
+    void addGetPop() {
+        var xs = new DoubleDynArray();
+        for (int i = 0; i < 100; i++)
+            xs.add(i / 2.0);
+        assertEquals(100, xs.size());
+        assertEquals(3.5, xs.get(7));
+        assertEquals(49.5, xs.pop());
+        assertThrows(IndexOutOfBoundsException.class, () -> xs.get(99));
+    }
+
+    @Test
+    void mapFilterFold() {
+        var xs = DoubleDynArray.of(0.5, 1.5, 2.5);
+        assertEquals(DoubleDynArray.of(1, 3, 5), xs.map(x -> x * 2));
+        assertEquals(DoubleDynArray.of(1.5, 2.5), xs.filter(x -> x > 1));
+        assertEquals(4.5, xs.foldl(0, Double::sum));
+        assertEquals(2.5, xs.reduce(Math::max));
+        assertThrows(NoSuchElementException.class, () -> new DoubleDynArray().reduce(Double::sum));
+    }
+
+    @Test
+    void nanAndZeros() {
+        var xs = DoubleDynArray.of(1, Double.NaN, 0.0, -0.0, -1);
+        assertTrue(xs.contains(Double.NaN));
+        assertEquals(DoubleDynArray.of(Double.NaN), DoubleDynArray.of(Double.NaN));
+        xs.sort(Quicksort::introsort);
+        assertArrayEquals(new double[]{-1, -0.0, 0.0, 1, Double.NaN}, xs.toArray());
+    }
+
+    @Test
+    void removeAll() {
+        var xs = new DoubleDynArray(64, 1.0);
+        xs.add(2.0);
+        xs.removeAll(x -> x < 2);
+        assertEquals(DoubleDynArray.of(2.0), xs);
+        xs.add(3.0);
+        assertEquals(DoubleDynArray.of(2.0, 3.0), xs);
+    }
+}
@@ -1,90 +1,426 @@
 package tests.structures.lists;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import structures.lists.DynArray;
+import structures.lists.LinkedList;
 
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
 class DynArrayTest {
 
+    static Stream<Arguments> getData() {
+        return Stream.of(
+                Arguments.of(DynArray.of(1), 0, 1),
+                Arguments.of(DynArray.of(5, 2), 0, 5),
+                Arguments.of(DynArray.of(1, 2, 3), 2, 3),
+                Arguments.of(DynArray.of(1, 2, 3, 4, 7, 8, 9, 6, 7), 7, 6)
+        );
+    }
+
+    static Stream<Arguments> popData() {
+        return Stream.of(
+                Arguments.of(DynArray.of(1), DynArray.of(), 1),
+                Arguments.of(DynArray.of(5, 2), DynArray.of(5), 2),
+                Arguments.of(DynArray.of(4, 7, 8, 9, 6, 7), DynArray.of(4, 7, 8, 9, 6), 7)
+        );
+    }
+
+    static Stream<Arguments> removeData() {
+        return Stream.of(
+                Arguments.of(DynArray.of(1), 0, DynArray.of(), 1),
+                Arguments.of(DynArray.of(5, 2), 1, DynArray.of(5), 2),
+                Arguments.of(DynArray.of(1, 2, 3), 1, DynArray.of(1, 3), 2),
+                Arguments.of(DynArray.of(4, 7, 8, 9, 6, 7), 2, DynArray.of(4, 7, 9, 6, 7), 8),
+                Arguments.of(DynArray.of(4, 5, 4, 2), 3, DynArray.of(4, 5, 4), 2)
+        );
+    }
+
+    static Stream<Arguments> insertData() {
+        return Stream.of(
+                Arguments.of(DynArray.of(), 1, 0, DynArray.of(1)),
+                Arguments.of(DynArray.of(5, 2), 3, 0, DynArray.of(3, 5, 2)),
+                Arguments.of(DynArray.of(5, 2), 3, 1, DynArray.of(5, 3, 2)),
+                Arguments.of(DynArray.of(5, 2), 3, 2, DynArray.of(5, 2, 3))
+        );
+    }
+
+    static Stream<Arguments> rallData() {
+        return Stream.of(
+                Arguments.of(DynArray.of(1, 2, 3, 4, 5, 6, 7, 8, 9), (Predicate<Integer>) (i -> i % 2 == 0), DynArray.of(1, 3, 5, 7, 9), "f: x -> x % 2 = 0"),
+                Arguments.of(DynArray.of(1, 2, 3, 4, 5, 6, 7, 8, 9), (Predicate<Integer>) (i -> i % 2 > 0), DynArray.of(2, 4, 6, 8), "f: x -> x % 2 = 1"),
+                Arguments.of(DynArray.of(1, 5, 10, 15, 20, 25, 30), (Predicate<Integer>) (i -> i > 15), DynArray.of(1, 5, 10, 15), "f: x -> x > 15"),
+                Arguments.of(DynArray.of(1, 5, 10), (Predicate<Integer>) (i -> true), DynArray.of(), "f: x -> true"),
+                Arguments.of(DynArray.of(1, 5, 10), (Predicate<Integer>) (i -> false), DynArray.of(1, 5, 10), "f: x -> false"),
+                Arguments.of(DynArray.of(), (Predicate<Integer>) (i -> i > 15), DynArray.of(), "f: anything")
+        );
+    }
+
+    static Stream<Arguments> mapData() {
+        return Stream.of(
+                Arguments.of(DynArray.of(), DynArray.of(), (Function<Integer, Integer>) (i -> i * 2), "f: x -> x*2"),
+                Arguments.of(DynArray.of(1, 2), DynArray.of(2, 3), (Function<Integer, Integer>) (i -> i + 1), "f: x -> x+1"),
+                Arguments.of(DynArray.of(1, 6, 7, 8, 7), DynArray.of(11, 16, 17, 18, 17), (Function<Integer, Integer>) (i -> i + 10), "f: x -> x+10")
+        );
+    }
+
+    static Stream<Arguments> filterData() {
+        return Stream.of(
+                Arguments.of(DynArray.of(), DynArray.of(), (Predicate<Integer>) (i -> i % 2 == 0), "f: x -> x % 2 = 0"),
+                Arguments.of(DynArray.of(1, 2), DynArray.of(2), (Predicate<Integer>) (i -> i > 1), "f: x -> x > 1"),
+                Arguments.of(DynArray.of(1, 6, 7, 8, 7), DynArray.of(6, 8), (Predicate<Integer>) (i -> i % 2 == 0), "f: x -> x % 2 = 0")
+        );
+    }
+
+    static Stream<Arguments> foldlData() {
+        return Stream.of(
+                Arguments.of(DynArray.of(), 0, (BiFunction<Integer, Integer, Integer>) Integer::sum, "f: (x, y) -> x + y", 0),
+                Arguments.of(DynArray.of(1, 2, 3), 0, (BiFunction<Integer, Integer, Integer>) Integer::sum, "f: (x, y) -> x + y", 6),
+                Arguments.of(DynArray.of(1, 2, 3), 10, (BiFunction<Integer, Integer, Integer>) ((x, y) -> x - y), "f: (x, y) -> x - y", 4)
+        );
+    }
+
+    static Stream<Arguments> removeRangeData() {
+        return Stream.of(
+                Arguments.of(DynArray.of(1, 2, 3, 4, 5), 1, 3, DynArray.of(1, 5)),
+                Arguments.of(DynArray.of(1, 2, 3, 4, 5), 0, 4, DynArray.of()),
+                Arguments.of(DynArray.of(1, 2, 3, 4, 5), 4, 4, DynArray.of(1, 2, 3, 4)),
+                Arguments.of(DynArray.of(1, 2, 3, 4, 5), 2, 1, DynArray.of(1, 2, 3, 4, 5))
+        );
+    }
+
+    static Stream<Arguments> insertAllData() {
+        return Stream.of(
+                Arguments.of(DynArray.of(), 0, new Integer[]{1, 2}, DynArray.of(1, 2)),
+                Arguments.of(DynArray.of(1, 5), 1, new Integer[]{2, 3, 4}, DynArray.of(1, 2, 3, 4, 5)),
+                Arguments.of(DynArray.of(1, 5), 2, new Integer[]{6}, DynArray.of(1, 5, 6)),
+                Arguments.of(DynArray.of(1, 5), 0, new Integer[]{}, DynArray.of(1, 5))
+        );
+    }
+
     @Test
     void of() {
+        var xs = DynArray.of(1, 2, 3);
+        assertEquals(3, xs.size());
+        assertTrue(xs.capacity() > 3);
+        assertThrows(NullPointerException.class, () -> new DynArray<>((Integer[]) null));
     }
 
     @Test
     void isEmpty() {
+        assertTrue(new DynArray<Integer>().isEmpty());
+        assertTrue(new DynArray<Integer>(10).isEmpty());
+        assertFalse(DynArray.of(1).isEmpty());
     }
 
     @Test
     void size() {
+        assertEquals(0, new DynArray<Integer>(10).size());
+        assertEquals(10, new DynArray<>(10, 7).size());
+        assertEquals(4, DynArray.of(1, 2, 3, 4).size());
     }
 
-    @Test
-    void get() {
+    @ParameterizedTest(name = "# {index}- Test {0}.get({1}), expecting {2}")
+    @MethodSource("getData")
+    void get(DynArray<Integer> xs, int i, int x) {
+        assertEquals(x, xs.get(i));
     }
 
     @Test
     void set() {
+        var xs = DynArray.of(1, 2, 3);
+        xs.set(1, 5);
+        assertEquals(DynArray.of(1, 5, 3), xs);
     }
 
     @Test
     void swap() {
+        var xs = DynArray.of(1, 2, 3);
+        xs.swap(0, 2);
+        assertEquals(DynArray.of(3, 2, 1), xs);
     }
 
     @Test
     void add() {
+        var xs = new DynArray<Integer>();
+        for (int i = 0; i < 100; i++)
+            xs.add(i);
+        assertEquals(100, xs.size());
+        assertEquals(128, xs.capacity());
+        assertEquals(99, xs.get(99));
+        assertThrows(NullPointerException.class, () -> xs.add(null));
     }
 
     @Test
     void contains() {
+        var xs = DynArray.of(1000, 2000);
+        assertTrue(xs.contains(2000));
+        assertFalse(xs.contains(3000));
     }
 
-    @Test
-    void map() {
+    @ParameterizedTest(name = "# {index}- Test {0}.map({3}), expecting {1}")
+    @MethodSource("mapData")
+    void map(DynArray<Integer> xs, DynArray<Integer> ys, Function<Integer, Integer> f, String name) {
+        assertEquals(ys, xs.map(f));
     }
 
     @Test
     void flatMap() {
+        assertEquals(DynArray.of(1, 1, 2, 2), DynArray.of(1, 2).flatMap(x -> DynArray.of(x, x)));
+        assertEquals(DynArray.of(), DynArray.of(1, 2).flatMap(x -> new DynArray<Integer>()));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.filter({3}), expecting {1}")
+    @MethodSource("filterData")
+    void filter(DynArray<Integer> xs, DynArray<Integer> ys, Predicate<Integer> f, String name) {
+        assertEquals(ys, xs.filter(f));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.foldl({1},{3}), expecting {4}")
+    @MethodSource("foldlData")
+    void foldl(DynArray<Integer> xs, int init, BiFunction<Integer, Integer, Integer> f, String name, int result) {
+        assertEquals(result, xs.foldl(init, f));
+    }
+
+    @Test
+    void reduce() {
+        assertEquals(9, DynArray.of(4, 9, 2).reduce(Math::max));
+        assertThrows(NoSuchElementException.class, () -> new DynArray<Integer>().reduce(Math::max));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.insert({1}, {2}), expecting {3}")
+    @MethodSource("insertData")
+    void insert(DynArray<Integer> xs, int x, int i, DynArray<Integer> ys) {
+        xs.insert(x, i);
+        assertEquals(ys, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.pop(), expecting {2} with resulting list {1}")
+    @MethodSource("popData")
+    void pop(DynArray<Integer> xs, DynArray<Integer> ys, int x) {
+        assertEquals(x, xs.pop());
+        assertEquals(ys, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.remove({1}), expecting {3} with resulting list {2}")
+    @MethodSource("removeData")
+    void remove(DynArray<Integer> xs, int i, DynArray<Integer> ys, int x) {
+        assertEquals(x, xs.remove(i));
+        assertEquals(ys, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.removeAll({3}), expecting {2}")
+    @MethodSource("rallData")
+    void removeAll(DynArray<Integer> xs, Predicate<Integer> p, DynArray<Integer> res, String name) {
+        xs.removeAll(p);
+        assertEquals(res, xs);
     }
 
     @Test
-    void filter() {
+    void removeIf() {
+        var xs = new DynArray<Integer>();
+        for (int i = 0; i < 1000; i++)
+            xs.add(i);
+        assertTrue(xs.removeIf(x -> x >= 10));
+        assertEquals(DynArray.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), xs);
+        assertEquals(32, xs.capacity());
+        assertFalse(xs.removeIf(x -> x >= 10));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.removeRange({1}, {2}), expecting {3}")
+    @MethodSource("removeRangeData")
+    void removeRange(DynArray<Integer> xs, int lo, int hi, DynArray<Integer> ys) {
+        xs.removeRange(lo, hi);
+        assertEquals(ys, xs);
     }
 
     @Test
-    void foldl() {
+    void removeRangeOutOfBounds() {
+        var xs = DynArray.of(1, 2, 3);
+        assertThrows(IndexOutOfBoundsException.class, () -> xs.removeRange(1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> xs.removeRange(-1, 0));
     }
 
     @Test
-    void reduce() {
+    void addAll() {
+        var xs = DynArray.of(1, 2);
+        int capacity = xs.capacity();
+        xs.addAll(3);
+        assertEquals(capacity, xs.capacity());
+        xs.addAll(4, 5, 6, 7, 8);
+        assertEquals(DynArray.of(1, 2, 3, 4, 5, 6, 7, 8), xs);
+        assertThrows(NullPointerException.class, () -> xs.addAll(9, null));
+        assertEquals(8, xs.size());
+    }
+
+    @Test
+    void addAllList() {
+        var xs = DynArray.of(1, 2);
+        xs.addAll(DynArray.of(3, 4));
+        xs.addAll(LinkedList.of(5, 6));
+        xs.addAll(xs);
+        assertEquals(DynArray.of(1, 2, 3, 4, 5, 6, 1, 2, 3, 4, 5, 6), xs);
+    }
+
+    @Test
+    void addAllIterable() {
+        var xs = new DynArray<Integer>();
+        xs.addAll(List.of(1, 2, 3));
+        xs.addAll((Iterable<Integer>) () -> IntStream.range(4, 100).iterator());
+        assertEquals(99, xs.size());
+        assertEquals(99, xs.get(98));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.insertAll({1}, {2}), expecting {3}")
+    @MethodSource("insertAllData")
+    void insertAll(DynArray<Integer> xs, int i, Integer[] ys, DynArray<Integer> res) {
+        xs.insertAll(i, ys);
+        assertEquals(res, xs);
     }
 
     @Test
-    void insert() {
+    void insertAllList() {
+        var xs = DynArray.of(1, 4);
+        xs.insertAll(1, LinkedList.of(2, 3));
+        assertEquals(DynArray.of(1, 2, 3, 4), xs);
+        xs.insertAll(2, xs);
+        assertEquals(DynArray.of(1, 2, 1, 2, 3, 4, 3, 4), xs);
+        assertThrows(IndexOutOfBoundsException.class, () -> xs.insertAll(9, DynArray.of(1)));
     }
 
     @Test
-    void pop() {
+    void ensureCapacityAndTrimToSize() {
+        var xs = DynArray.of(1, 2, 3);
+        xs.ensureCapacity(100);
+        assertEquals(128, xs.capacity());
+        xs.ensureCapacity(10);
+        assertEquals(128, xs.capacity());
+        xs.trimToSize();
+        assertEquals(4, xs.capacity());
+        assertEquals(DynArray.of(1, 2, 3), xs);
+        xs.add(4);
+        xs.add(5);
+        assertEquals(DynArray.of(1, 2, 3, 4, 5), xs);
+    }
+
+    static DynArray<Integer> range(int n) {
+        var xs = new DynArray<Integer>(n);
+        for (int i = 0; i < n; i++)
+            xs.add(i);
+        return xs;
     }
 
     @Test
-    void remove() {
+    void spliterator() {
+        var xs = range(1000);
+        var spl = xs.spliterator();
+        assertTrue(spl.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(1000, spl.getExactSizeIfKnown());
+        var prefix = spl.trySplit();
+        assertEquals(500, prefix.getExactSizeIfKnown());
+        assertEquals(500, spl.getExactSizeIfKnown());
+        assertEquals(999L * 1000 / 2, StreamSupport.stream(xs.spliterator(), true).mapToLong(x -> x).sum());
+        assertEquals(0, new DynArray<Integer>().spliterator().getExactSizeIfKnown());
     }
 
     @Test
-    void removeAll() {
+    void parallelFoldl() {
+        var pool = new ForkJoinPool(4);
+        try {
+            var xs = range(100_000);
+            Long expected = xs.foldl(0L, (acc, x) -> acc + x);
+            assertEquals(expected, xs.parallelFoldl(0L, (acc, x) -> acc + x, Long::sum, pool));
+            assertEquals(expected, xs.parallelFoldl(0L, (acc, x) -> acc + x, Long::sum));
+            var order = xs.parallelFoldl("", (acc, x) -> x < 3 || x > 99_997 ? acc + x : acc, String::concat, pool);
+            assertEquals("0129999899999", order);
+            assertEquals(7, DynArray.of(3, 4).parallelFoldl(0, Integer::sum, Integer::sum, pool));
+        } finally {
+            pool.shutdown();
+        }
     }
 
     @Test
-    void addAll() {
+    void parallelReduce() {
+        var pool = new ForkJoinPool(4);
+        try {
+            var xs = range(100_000);
+            assertEquals(99_999, xs.parallelReduce(Math::max, pool));
+            assertEquals(0, xs.parallelReduce(Math::min, pool));
+            assertEquals(5, DynArray.of(5).parallelReduce(Math::max, pool));
+            assertThrows(NoSuchElementException.class, () -> new DynArray<Integer>().parallelReduce(Math::max, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelMap() {
+        var pool = new ForkJoinPool(4);
+        try {
+            var xs = range(100_000);
+            assertEquals(xs.map(x -> x * 2), xs.parallelMap(x -> x * 2, pool));
+            assertEquals(DynArray.of(2, 4), DynArray.of(1, 2).parallelMap(x -> x * 2, pool));
+            assertThrows(NullPointerException.class, () -> xs.parallelMap(x -> x == 50_000 ? null : x, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelFilter() {
+        var pool = new ForkJoinPool(4);
+        try {
+            var xs = range(100_000);
+            assertEquals(xs.filter(x -> x % 7 == 0), xs.parallelFilter(x -> x % 7 == 0, pool));
+            assertEquals(DynArray.of(), xs.parallelFilter(x -> false, pool));
+            assertEquals(xs, xs.parallelFilter(x -> true, pool));
+            assertEquals(DynArray.of(2), DynArray.of(1, 2).parallelFilter(x -> x > 1, pool));
+        } finally {
+            pool.shutdown();
+        }
     }
 
     @Test
     void testToString() {
+        assertEquals("Seq[]", new DynArray<Integer>().toString());
+        assertEquals("Seq[1, 2, 3]", DynArray.of(1, 2, 3).toString());
     }
 
     @Test
     void testEquals() {
+        assertEquals(DynArray.of(1000, 2000), DynArray.of(1000, 2000));
+        assertNotEquals(DynArray.of(1, 2), DynArray.of(1, 2, 3));
+        assertNotEquals(DynArray.of(1, 2), DynArray.of(2, 1));
     }
 
     @Test
     void testHashCode() {
+        var xs = DynArray.of(1, 2, 3);
+        var ys = new DynArray<Integer>(100);
+        ys.addAll(1, 2, 3);
+        assertEquals(xs.hashCode(), ys.hashCode());
+    }
+
+    @Test
+    void equalsAndHashCodeWithNulls() {
+        assertEquals(DynArray.of(1, null, 3), DynArray.of(1, null, 3));
+        assertNotEquals(DynArray.of(1, null, 3), DynArray.of(1, 2, 3));
+        assertNotEquals(DynArray.of(1, 2, 3), DynArray.of(1, null, 3));
+        assertEquals(new DynArray<Integer>(3, null).hashCode(), DynArray.of(null, null, null).hashCode());
+        assertEquals(DynArray.of(1, null, 3).hashCode(), DynArray.of(1, null, 3).hashCode());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package tests.structures.lists;
+
+import algos.Sort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import structures.lists.DynArray;
+import structures.lists.IntDynArray;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class IntDynArrayTest {
+
+    static Stream<Arguments> getData() {
+        return Stream.of(
+                Arguments.of(IntDynArray.of(1), 0, 1),
+                Arguments.of(IntDynArray.of(5, 2), 0, 5),
+                Arguments.of(IntDynArray.of(1, 2, 3), 2, 3),
+                Arguments.of(IntDynArray.of(1, 2, 3, 4, 7, 8, 9, 6, 7), 7, 6)
+        );
+    }
+
+    static Stream<Arguments> popData() {
+        return Stream.of(
+                Arguments.of(IntDynArray.of(1), IntDynArray.of(), 1),
+                Arguments.of(IntDynArray.of(5, 2), IntDynArray.of(5), 2),
+                Arguments.of(IntDynArray.of(4, 7, 8, 9, 6, 7), IntDynArray.of(4, 7, 8, 9, 6), 7)
+        );
+    }
+
+    static Stream<Arguments> removeData() {
+        return Stream.of(
+                Arguments.of(IntDynArray.of(1), 0, IntDynArray.of(), 1),
+                Arguments.of(IntDynArray.of(5, 2), 1, IntDynArray.of(5), 2),
+                Arguments.of(IntDynArray.of(1, 2, 3), 1, IntDynArray.of(1, 3), 2),
+                Arguments.of(IntDynArray.of(4, 7, 8, 9, 6, 7), 2, IntDynArray.of(4, 7, 9, 6, 7), 8)
+        );
+    }
+
+    static Stream<Arguments> insertData() {
+        return Stream.of(
+                Arguments.of(IntDynArray.of(), 1, 0, IntDynArray.of(1)),
+                Arguments.of(IntDynArray.of(5, 2), 3, 0, IntDynArray.of(3, 5, 2)),
+                Arguments.of(IntDynArray.of(5, 2), 3, 1, IntDynArray.of(5, 3, 2)),
+                Arguments.of(IntDynArray.of(5, 2), 3, 2, IntDynArray.of(5, 2, 3))
+        );
+    }
+
+    static Stream<Arguments> rallData() {
+        return Stream.of(
+                Arguments.of(IntDynArray.of(1, 2, 3, 4, 5, 6, 7, 8, 9), (IntPredicate) (i -> i % 2 == 0), IntDynArray.of(1, 3, 5, 7, 9), "f: x -> x % 2 = 0"),
+                Arguments.of(IntDynArray.of(1, 5, 10, 15, 20, 25, 30), (IntPredicate) (i -> i > 15), IntDynArray.of(1, 5, 10, 15), "f: x -> x > 15"),
+                Arguments.of(IntDynArray.of(1, 5, 10), (IntPredicate) (i -> true), IntDynArray.of(), "f: x -> true"),
+                Arguments.of(IntDynArray.of(1, 5, 10), (IntPredicate) (i -> false), IntDynArray.of(1, 5, 10), "f: x -> false"),
+                Arguments.of(IntDynArray.of(), (IntPredicate) (i -> i > 15), IntDynArray.of(), "f: anything")
+        );
+    }
+
+    static Stream<Arguments> mapData() {
+        return Stream.of(
+                Arguments.of(IntDynArray.of(), IntDynArray.of(), (IntUnaryOperator) (i -> i * 2), "f: x -> x*2"),
+                Arguments.of(IntDynArray.of(1, 2), IntDynArray.of(2, 3), (IntUnaryOperator) (i -> i + 1), "f: x -> x+1"),
+                Arguments.of(IntDynArray.of(1, 6, 7, 8, 7), IntDynArray.of(11, 16, 17, 18, 17), (IntUnaryOperator) (i -> i + 10), "f: x -> x+10")
+        );
+    }
+
+    static Stream<Arguments> filterData() {
+        return Stream.of(
+                Arguments.of(IntDynArray.of(), IntDynArray.of(), (IntPredicate) (i -> i % 2 == 0), "f: x -> x % 2 = 0"),
+                Arguments.of(IntDynArray.of(1, 2), IntDynArray.of(2), (IntPredicate) (i -> i > 1), "f: x -> x > 1"),
+                Arguments.of(IntDynArray.of(1, 6, 7, 8, 7), IntDynArray.of(6, 8), (IntPredicate) (i -> i % 2 == 0), "f: x -> x % 2 = 0")
+        );
+    }
+
+    static Stream<Arguments> foldlData() {
+        return Stream.of(
+                Arguments.of(IntDynArray.of(), 0, (IntBinaryOperator) Integer::sum, "f: (x, y) -> x + y", 0),
+                Arguments.of(IntDynArray.of(1, 2, 3), 0, (IntBinaryOperator) Integer::sum, "f: (x, y) -> x + y", 6),
+                Arguments.of(IntDynArray.of(1, 2, 3), 10, (IntBinaryOperator) ((x, y) -> x - y), "f: (x, y) -> x - y", 4)
+        );
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.get({1}), expecting {2}")
+    @MethodSource("getData")
+    void get(IntDynArray xs, int i, int x) {
+        assertEquals(x, xs.get(i));
+    }
+
+    @Test
+    void getOutOfBounds() {
+        var xs = new IntDynArray(8);
+        xs.add(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> xs.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> xs.get(-1));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.pop(), expecting {2} with resulting list {1}")
+    @MethodSource("popData")
+    void pop(IntDynArray xs, IntDynArray ys, int x) {
+        assertEquals(x, xs.pop());
+        assertEquals(ys, xs);
+    }
+
+    @Test
+    void popEmpty() {
+        assertThrows(NoSuchElementException.class, () -> new IntDynArray().pop());
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.remove({1}), expecting {3} with resulting list {2}")
+    @MethodSource("removeData")
+    void remove(IntDynArray xs, int i, IntDynArray ys, int x) {
+        assertEquals(x, xs.remove(i));
+        assertEquals(ys, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.insert({1}, {2}), expecting {3}")
+    @MethodSource("insertData")
+    void insert(IntDynArray xs, int x, int i, IntDynArray ys) {
+        xs.insert(x, i);
+        assertEquals(ys, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.removeAll({3}), expecting {2}")
+    @MethodSource("rallData")
+    void removeAll(IntDynArray xs, IntPredicate p, IntDynArray res, String name) {
+        xs.removeAll(p);
+        assertEquals(res, xs);
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.map({3}), expecting {1}")
+    @MethodSource("mapData")
+    void map(IntDynArray xs, IntDynArray ys, IntUnaryOperator f, String name) {
+        assertEquals(ys, xs.map(f));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.filter({3}), expecting {1}")
+    @MethodSource("filterData")
+    void filter(IntDynArray xs, IntDynArray ys, IntPredicate f, String name) {
+        assertEquals(ys, xs.filter(f));
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.foldl({1},{3}), expecting {4}")
+    @MethodSource("foldlData")
+    void foldl(IntDynArray xs, int init, IntBinaryOperator f, String name, int result) {
+        assertEquals(result, xs.foldl(init, f));
+    }
+
+    @Test
+    void reduce() {
+        assertEquals(9, IntDynArray.of(4, 9, 2).reduce(Math::max));
+        assertThrows(NoSuchElementException.class, () -> new IntDynArray().reduce(Math::max));
+    }
+
+    @Test
+    void flatMap() {
+        assertEquals(IntDynArray.of(1, 1, 2, 2), IntDynArray.of(1, 2).flatMap(x -> IntDynArray.of(x, x)));
+        assertEquals(IntDynArray.of(), IntDynArray.of(1, 2).flatMap(x -> new IntDynArray()));
+    }
+
+    @Test
+    void mapToObj() {
+        assertEquals(DynArray.of("1", "2").toString(), IntDynArray.of(1, 2).mapToObj(String::valueOf).toString());
+    }
+
+    @Test
+    void containsAndExists() {
+        var xs = IntDynArray.of(3, 1, 4);
+        assertTrue(xs.contains(4));
+        assertFalse(xs.contains(5));
+        assertTrue(xs.exists(x -> x > 3));
+        assertFalse(xs.forall(x -> x > 1));
+    }
+
+    @Test
+    void growsAndShrinks() {
+        var xs = new IntDynArray();
+        var rand = new Random(42);
+        int[] expected = new int[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = rand.nextInt();
+            xs.add(expected[i]);
+        }
+        assertArrayEquals(expected, xs.toArray());
+        for (int i = expected.length - 1; i >= 0; i--)
+            assertEquals(expected[i], xs.pop());
+        assertTrue(xs.isEmpty());
+    }
+
+    @Test
+    void addAllAndSort() {
+        var xs = IntDynArray.of(5, 3);
+        xs.addAll(9, 1, 7);
+        xs.sort(Sort::sort);
+        assertEquals(IntDynArray.of(1, 3, 5, 7, 9), xs);
+        assertEquals("Seq[1, 3, 5, 7, 9]", xs.toString());
+    }
+
+    @Test
+    void iterator() {
+        int sum = 0;
+        var it = IntDynArray.of(1, 2, 3).iterator();
+        while (it.hasNext()) sum += it.nextInt();
+        assertEquals(6, sum);
+        assertThrows(NoSuchElementException.class, it::nextInt);
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        var xs = IntDynArray.of(1, 2, 3);
+        var ys = new IntDynArray(100);
+        ys.addAll(1, 2, 3);
+        assertEquals(xs, ys);
+        assertEquals(xs.hashCode(), ys.hashCode());
+        assertNotEquals(xs, IntDynArray.of(1, 2));
+    }
+}
@@ -0,0 +1,70 @@
+package tests.structures.lists;
+
+import algos.Quicksort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import structures.lists.LongDynArray;
+
+import java.util.NoSuchElementException;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+class LongDynArrayTest {
+
+    static Stream<Arguments> rallData() {
+        return Stream.of(
+                Arguments.of(LongDynArray.of(1, 2, 3, 4, 5, 6, 7, 8, 9), (LongPredicate) (i -> i % 2 == 0), LongDynArray.of(1, 3, 5, 7, 9), "f: x -> x % 2 = 0"),
+                Arguments.of(LongDynArray.of(1L << 40, 5, 1L << 41), (LongPredicate) (i -> i > Integer.MAX_VALUE), LongDynArray.of(5), "f: x -> x > 2^31-1"),
+                Arguments.of(LongDynArray.of(), (LongPredicate) (i -> true), LongDynArray.of(), "f: anything")
+        );
+    }
+
+    @ParameterizedTest(name = "# {index}- Test {0}.removeAll({3}), expecting {2}")
+    @MethodSource("rallData")
+    void removeAll(LongDynArray xs, LongPredicate p, LongDynArray res, String name) {
+        xs.removeAll(p);
+        assertEquals(res, xs);
+    }
+
+    @Test
+    void addGetPop() {
+        var xs = new LongDynArray();
+        for (long i = 0; i < 100; i++)
+            xs.add(i << 33);
+        assertEquals(100, xs.size());
+        assertEquals(7L << 33, xs.get(7));
+        assertEquals(99L << 33, xs.pop());
+        assertThrows(IndexOutOfBoundsException.class, () -> xs.get(99));
+    }
+
+    @Test
+    void insertAndRemove() {
+        var xs = LongDynArray.of(1, 3);
+        xs.insert(2, 1);
+        assertEquals(LongDynArray.of(1, 2, 3), xs);
+        assertEquals(1, xs.remove(0));
+        assertEquals(LongDynArray.of(2, 3), xs);
+    }
+
+    @Test
+    void mapFilterFold() {
+        var xs = LongDynArray.of(1, 2, 3, 4);
+        assertEquals(LongDynArray.of(1L << 32, 2L << 32, 3L << 32, 4L << 32), xs.map(x -> x << 32));
+        assertEquals(LongDynArray.of(2, 4), xs.filter(x -> x % 2 == 0));
+        assertEquals(10, xs.foldl(0, Long::sum));
+        assertEquals(24, xs.reduce((x, y) -> x * y));
+        assertThrows(NoSuchElementException.class, () -> new LongDynArray().reduce(Long::sum));
+    }
+
+    @Test
+    void sort() {
+        var xs = LongDynArray.of(Long.MAX_VALUE, -1, Long.MIN_VALUE, 0);
+        xs.sort(Quicksort::introsort);
+        assertArrayEquals(new long[]{Long.MIN_VALUE, -1, 0, Long.MAX_VALUE}, xs.toArray());
+    }
+}
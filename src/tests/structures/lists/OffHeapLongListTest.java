@@ -0,0 +1,117 @@
+package tests.structures.lists;
+
+import org.junit.jupiter.api.Test;
+import structures.lists.OffHeapLongList;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapLongListTest {
+
+    @Test
+    void addGetAcrossChunks() {
+        try (var xs = new OffHeapLongList(8)) {
+            for (long i = 0; i < 100; i++)
+                xs.add(i * i);
+            assertEquals(100, xs.size());
+            for (long i = 0; i < 100; i++)
+                assertEquals(i * i, xs.get(i));
+            xs.set(63, -1);
+            assertEquals(-1, xs.get(63));
+            assertThrows(IndexOutOfBoundsException.class, () -> xs.get(100));
+        }
+    }
+
+    @Test
+    void firstChunkGrows() {
+        try (var xs = new OffHeapLongList()) {
+            for (long i = 0; i < 5000; i++)
+                xs.add(i);
+            assertEquals(5000 * 4999 / 2, xs.foldl(0, Long::sum));
+        }
+    }
+
+    @Test
+    void bulkCopy() {
+        try (var xs = new OffHeapLongList(16)) {
+            long[] src = new long[50];
+            for (int i = 0; i < src.length; i++)
+                src[i] = i + 1;
+            xs.addAll(src, 10, 40);
+            assertEquals(40, xs.size());
+            assertEquals(11, xs.get(0));
+            long[] dst = new long[45];
+            xs.copyTo(3, dst, 5, 37);
+            assertEquals(14, dst[5]);
+            assertEquals(50, dst[41]);
+            xs.copyFrom(new long[]{7, 7, 7}, 0, 14, 3);
+            assertEquals(7, xs.get(16));
+            assertEquals(28, xs.get(17));
+            assertThrows(IndexOutOfBoundsException.class, () -> xs.copyTo(30, dst, 0, 11));
+        }
+    }
+
+    @Test
+    void popTrimAndClose() {
+        var xs = new OffHeapLongList(4);
+        xs.addAll(1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertEquals(9, xs.pop());
+        assertEquals(8, xs.pop());
+        xs.trimToSize();
+        xs.add(10);
+        assertEquals("OffHeap[1, 2, 3, 4, 5, 6, 7, 10]", xs.toString());
+        xs.close();
+        assertTrue(xs.isEmpty());
+        assertThrows(NoSuchElementException.class, xs::pop);
+        assertThrows(IllegalStateException.class, () -> xs.add(1));
+        xs.close();
+    }
+
+    @Test
+    void iterator() {
+        try (var xs = new OffHeapLongList(2)) {
+            xs.addAll(1, 2, 3);
+            long sum = 0;
+            var it = xs.iterator();
+            while (it.hasNext()) sum += it.nextLong();
+            assertEquals(6, sum);
+            assertThrows(NoSuchElementException.class, it::nextLong);
+        }
+    }
+
+    @Test
+    void mapFile() throws IOException {
+        var path = Files.createTempFile("offheap", ".bin");
+        try {
+            try (var out = new DataOutputStream(Files.newOutputStream(path))) {
+                for (long i = 0; i < 20; i++)
+                    out.writeLong(i << 40);
+            }
+            try (var xs = OffHeapLongList.map(path, FileChannel.MapMode.READ_ONLY, 8)) {
+                assertEquals(20, xs.size());
+                assertEquals(19L << 40, xs.get(19));
+                assertThrows(ReadOnlyBufferException.class, () -> xs.set(0, 1));
+                assertThrows(UnsupportedOperationException.class, () -> xs.add(1));
+            }
+            try (var xs = OffHeapLongList.map(path, FileChannel.MapMode.READ_WRITE, 8)) {
+                xs.set(0, 42);
+                for (long i = 0; i < 10; i++)
+                    xs.add(i);
+            }
+            assertEquals(30 * Long.BYTES, Files.size(path));
+            var bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+            assertEquals(42, bytes.getLong(0));
+            assertEquals(3L << 40, bytes.getLong(3 * Long.BYTES));
+            assertEquals(9, bytes.getLong(29 * Long.BYTES));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package tests.structures.lists;
+
+import org.junit.jupiter.api.Test;
+import structures.lists.DynArray;
+import structures.lists.LinkedList;
+import structures.lists.Pipeline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineTest {
+
+    @Test
+    void mapFilterFoldl() {
+        var xs = DynArray.of(1, 2, 3, 4, 5, 6);
+        int sum = xs.view().map(x -> x * 10).filter(x -> x % 20 == 0).foldl(0, Integer::sum);
+        assertEquals(120, sum);
+        assertEquals(DynArray.of(20, 40, 60), xs.view().map(x -> x * 10).filter(x -> x % 20 == 0).toList());
+    }
+
+    @Test
+    void flatMap() {
+        var xs = LinkedList.of(1, 2, 3);
+        assertEquals(DynArray.of(1, 1, 2, 2, 3, 3), xs.view().flatMap(x -> DynArray.of(x, x)).toList());
+        assertEquals(DynArray.of(1, 2, 2, 3, 3, 3),
+                xs.view().flatMap(x -> Pipeline.of(DynArray.of(x, x, x)).limit(x)).toList());
+    }
+
+    @Test
+    void stagesAreLazy() {
+        var xs = DynArray.of(1, 2, 3, 4, 5);
+        int[] calls = {0};
+        var pipeline = xs.view().map(x -> {
+            calls[0]++;
+            return x * 2;
+        });
+        assertEquals(0, calls[0]);
+        assertEquals(Optional.of(6), pipeline.filter(x -> x > 4).findFirst());
+        assertEquals(3, calls[0]);
+    }
+
+    @Test
+    void shortCircuits() {
+        int[] calls = {0};
+        var pipeline = DynArray.of(1, 2, 3, 4, 5, 6, 7, 8).view().map(x -> {
+            calls[0]++;
+            return x;
+        });
+        assertTrue(pipeline.exists(x -> x == 2));
+        assertEquals(2, calls[0]);
+        assertFalse(pipeline.forall(x -> x < 4));
+        assertEquals(6, calls[0]);
+        assertEquals(DynArray.of(1, 2, 3), pipeline.limit(3).toList());
+        assertEquals(9, calls[0]);
+        assertEquals(Optional.empty(), pipeline.filter(x -> x > 8).findFirst());
+    }
+
+    @Test
+    void limit() {
+        var xs = DynArray.of(1, 2, 3, 4, 5, 6);
+        assertEquals(0, xs.view().limit(0).count());
+        assertEquals(DynArray.of(2, 4), xs.view().filter(x -> x % 2 == 0).limit(2).toList());
+        assertEquals(6, xs.view().limit(10).count());
+        assertThrows(IllegalArgumentException.class, () -> xs.view().limit(-1));
+    }
+
+    @Test
+    void reusable() {
+        var xs = DynArray.of(1, 2, 3);
+        var pipeline = xs.view().map(x -> x + 1).limit(2);
+        assertEquals(5, pipeline.reduce(Integer::sum));
+        assertEquals(5, pipeline.reduce(Integer::sum));
+        xs.add(0);
+        assertEquals(2, pipeline.count());
+        assertEquals(4, xs.view().count());
+    }
+
+    @Test
+    void reduce() {
+        assertEquals(6, DynArray.of(4, 6, 2).view().reduce(Math::max));
+        assertThrows(NoSuchElementException.class, () -> DynArray.of(1).view().filter(x -> x > 1).reduce(Math::max));
+    }
+
+    @Test
+    void iterator() {
+        var ys = new DynArray<Integer>();
+        for (var y : DynArray.of(1, 2, 3).view().flatMap(x -> DynArray.of(x, -x)))
+            ys.add(y);
+        assertEquals(DynArray.of(1, -1, 2, -2, 3, -3), ys);
+    }
+
+    @Test
+    void stream() {
+        var xs = new DynArray<Integer>();
+        for (int i = 0; i < 100_000; i++)
+            xs.add(i);
+        var pipeline = xs.view().filter(x -> x % 3 == 0).map(x -> (long) x);
+        long expected = 0;
+        for (long x = 0; x < 100_000; x += 3)
+            expected += x;
+        assertEquals(expected, pipeline.stream().mapToLong(x -> x).sum());
+        assertEquals(expected, pipeline.parallelStream().mapToLong(x -> x).sum());
+        assertEquals(IntStream.range(0, 5).mapToObj(x -> (long) x * 3).collect(Collectors.toList()),
+                pipeline.limit(5).parallelStream().collect(Collectors.toList()));
+        assertEquals(10, xs.view().parallelStream().skip(5).limit(10).count());
+    }
+
+    @Test
+    void nullElements() {
+        var pipeline = DynArray.of(1, 2, 3, 4).view().map(x -> x % 2 == 0 ? null : x);
+        var it = pipeline.iterator();
+        assertEquals(1, it.next());
+        assertNull(it.next());
+        assertEquals(3, it.next());
+        assertNull(it.next());
+        assertFalse(it.hasNext());
+        assertEquals(2, pipeline.stream().filter(x -> x == null).count());
+        assertEquals(4, pipeline.count());
+        var flat = pipeline.flatMap(x -> DynArray.of(x, null));
+        assertEquals(8, flat.foldl(0, (n, x) -> n + 1));
+        var ys = new ArrayList<Integer>();
+        flat.iterator().forEachRemaining(ys::add);
+        assertEquals(Arrays.asList(1, null, null, null, 3, null, null, null), ys);
+    }
+}
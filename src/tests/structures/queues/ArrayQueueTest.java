@@ -0,0 +1,73 @@
+package tests.structures.queues;
+
+import org.junit.jupiter.api.Test;
+import structures.queues.ArrayQueue;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayQueueTest {
+
+    @Test
+    void enqueueDequeue() {
+        var q = new ArrayQueue<Integer>();
+        for (int i = 0; i < 100; i++)
+            q.enqueue(i);
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, q.dequeue());
+        assertTrue(q.isEmpty());
+        assertThrows(NoSuchElementException.class, q::dequeue);
+    }
+
+    @Test
+    void enqueueAfterConstructor() {
+        var q = new ArrayQueue<>(1, 2, 3);
+        q.enqueue(4);
+        assertEquals(1, q.dequeue());
+        assertEquals(2, q.dequeue());
+        assertEquals(3, q.dequeue());
+        assertEquals(4, q.dequeue());
+    }
+
+    @Test
+    void constructorRejectsNull() {
+        assertThrows(IllegalArgumentException.class, () -> new ArrayQueue<>(1, null, 3));
+    }
+
+    @Test
+    void spliterator() {
+        var q = new ArrayQueue<Integer>();
+        for (int i = 0; i < 10; i++)
+            q.enqueue(i);
+        var spl = q.spliterator();
+        assertTrue(spl.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(10, spl.getExactSizeIfKnown());
+        var prefix = spl.trySplit();
+        assertEquals(5, prefix.getExactSizeIfKnown());
+        var xs = new ArrayList<Integer>();
+        prefix.forEachRemaining(xs::add);
+        assertTrue(spl.tryAdvance(xs::add));
+        spl.forEachRemaining(xs::add);
+        assertEquals(IntStream.range(0, 10).boxed().collect(Collectors.toList()), xs);
+    }
+
+    @Test
+    void spliteratorWrapsAround() {
+        var q = new ArrayQueue<Integer>();
+        for (int i = 0; i < 16; i++)
+            q.enqueue(i);
+        for (int i = 0; i < 10; i++)
+            q.dequeue();
+        for (int i = 16; i < 24; i++)
+            q.enqueue(i); //written to the front of the array, before the head
+        var xs = StreamSupport.stream(q.spliterator(), false).collect(Collectors.toList());
+        assertEquals(IntStream.range(10, 24).boxed().collect(Collectors.toList()), xs);
+        assertEquals(IntStream.range(10, 24).sum(), StreamSupport.stream(q.spliterator(), true).mapToInt(x -> x).sum());
+    }
+}
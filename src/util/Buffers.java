@@ -0,0 +1,45 @@
+package util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+
+/**
+ * helpers for direct and mapped byte buffers, shared by the algorithms (external sorting) and the data structures
+ * (off heap lists), which is why they live in neither package
+ */
+public class Buffers {
+    // sun.misc.Unsafe.invokeCleaner bound to the unsafe instance, null if unavailable. looked up by name, so nothing
+    // here refers to sun.misc statically
+    private static final MethodHandle CLEANER = cleaner();
+
+    /**
+     * releases the memory of a direct or mapped buffer right away instead of whenever the garbage collector gets to
+     * it, which for mapped buffers also unmaps the file. neither the buffer nor any view of it may be used
+     * afterwards. if the cleaner of the jdk is unavailable the buffer is left to the garbage collector
+     *
+     * @param buf buffer to release, as allocated or mapped (not a slice or duplicate)
+     */
+    public static void free(ByteBuffer buf) {
+        if (CLEANER == null) return;
+        try {
+            CLEANER.invokeExact(buf);
+        } catch (Throwable e) {
+            // the buffer is left to the gc
+        }
+    }
+
+    private static MethodHandle cleaner() {
+        try {
+            var cls = Class.forName("sun.misc.Unsafe");
+            var f = cls.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(cls, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(f.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
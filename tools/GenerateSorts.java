@@ -0,0 +1,153 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * generates the primitive versions of the code in src from the templates in templates, which mirrors the package
+ * layout of src. a template holds the code once with the element type written as {@code $type$}, and starts with
+ * a line {@code #types long double} naming the types to generate it for. by default every generated version goes
+ * between two marker lines in the class of the same name:
+ * <pre>
+ *     // long arrays: generated from templates/algos/X.java.template by tools/GenerateSorts.java, do not edit
+ *     // end of generated long code
+ * </pre>
+ * and everything between them is replaced. a template with a line {@code #file $Type$X.java} instead generates a
+ * whole class per type, named after that line. run from the root of the repository after changing a template or
+ * the code it mirrors: {@code java tools/GenerateSorts.java}, or {@code java tools/GenerateSorts.java --check}
+ * to only report the classes which are out of date.
+ * <p>
+ * templates are the code to emit, with
+ * <ul>
+ *     <li>{@code $type$} replaced by the element type, {@code $Type$} by its capitalized name as in
+ *     {@code IntPredicate} and {@code $Boxed$} by its wrapper class</li>
+ *     <li>{@code $order$} replaced by a note on the order of {@link Double#compare} for doubles and by nothing for
+ *     the other types, for the doc comments</li>
+ *     <li>lines between {@code #if[double]}, {@code #else[double]} and {@code #end[double]} (or any other of the
+ *     types) kept for that type only</li>
+ *     <li>lines starting with any other {@code #} left out, as comments on the template itself</li>
+ * </ul>
+ */
+public class GenerateSorts {
+    private static final Path TEMPLATES = Path.of("templates");
+    private static final Path SOURCES = Path.of("src");
+
+    public static void main(String[] args) throws IOException {
+        boolean check = args.length > 0 && args[0].equals("--check");
+        List<Path> templates;
+        try (Stream<Path> files = Files.walk(TEMPLATES)) {
+            templates = files.filter(p -> p.toString().endsWith(".java.template")).sorted().toList();
+        }
+        int stale = 0;
+        for (Path template : templates) {
+            for (var generated : generate(template).entrySet()) {
+                Path source = generated.getKey();
+                String text = generated.getValue();
+                if (Files.exists(source) && text.equals(Files.readString(source))) continue;
+                stale++;
+                if (check) System.out.println(source + " is out of date");
+                else {
+                    Files.writeString(source, text);
+                    System.out.println("generated " + source);
+                }
+            }
+        }
+        if (check && stale > 0) System.exit(1);
+    }
+
+    // the text of every class the template generates
+    private static Map<Path, String> generate(Path template) throws IOException {
+        List<String> lines = Files.readAllLines(template);
+        List<String> types = Arrays.asList(header(lines, "#types", template).split(" "));
+        Path dir = SOURCES.resolve(TEMPLATES.relativize(template.getParent()));
+        String from = template.toString().replace('\\', '/') + " by tools/GenerateSorts.java, do not edit";
+        var out = new LinkedHashMap<Path, String>();
+        if (lines.stream().anyMatch(l -> l.startsWith("#file "))) {
+            String name = header(lines, "#file", template);
+            for (String type : types)
+                out.put(dir.resolve(substitute(name, type)),
+                        "// generated from " + from + "\n" + String.join("\n", render(lines, types, type)) + "\n");
+        } else {
+            Path source = dir.resolve(template.getFileName().toString().replace(".template", ""));
+            String text = Files.readString(source);
+            for (String type : types)
+                text = replaceSection(text, type + " arrays: generated from " + from, type, render(lines, types, type));
+            out.put(source, text);
+        }
+        return out;
+    }
+
+    // the value of a #name line of the template
+    private static String header(List<String> template, String name, Path path) {
+        for (String line : template)
+            if (line.startsWith(name + " ")) return line.substring(name.length() + 1).strip();
+        throw new IllegalArgumentException(path + ": missing " + name + " line");
+    }
+
+    private static String substitute(String line, String type) {
+        String cap = Character.toUpperCase(type.charAt(0)) + type.substring(1);
+        var vars = Map.of(
+                "$type$", type,
+                "$Type$", cap,
+                "$Boxed$", type.equals("int") ? "Integer" : type.equals("char") ? "Character" : cap,
+                "$order$", type.equals("double") ? " in the order of {@link Double#compare}" : "");
+        for (var v : vars.entrySet())
+            line = line.replace(v.getKey(), v.getValue());
+        return line;
+    }
+
+    // the template for one element type, without leading and trailing blank lines
+    private static List<String> render(List<String> template, List<String> types, String type) {
+        var out = new ArrayList<String>();
+        String cond = null; // type of the open #if, if any
+        boolean keep = true;
+        for (int i = 0; i < template.size(); i++) {
+            String line = template.get(i), directive = line.strip();
+            if (directive.startsWith("#if[")) {
+                if (cond != null) throw error(i, "nested #if");
+                cond = condition(directive, "#if[", types, i);
+                keep = cond.equals(type);
+            } else if (directive.startsWith("#else[")) {
+                if (cond == null || !cond.equals(condition(directive, "#else[", types, i)))
+                    throw error(i, "unmatched #else");
+                keep = !cond.equals(type);
+            } else if (directive.startsWith("#end[")) {
+                if (cond == null || !cond.equals(condition(directive, "#end[", types, i)))
+                    throw error(i, "unmatched #end");
+                cond = null;
+                keep = true;
+            } else if (!directive.startsWith("#") && keep) {
+                out.add(substitute(line, type));
+            }
+        }
+        if (cond != null) throw error(template.size(), "#if[" + cond + "] is never closed");
+        while (!out.isEmpty() && out.get(0).isBlank()) out.remove(0);
+        while (!out.isEmpty() && out.get(out.size() - 1).isBlank()) out.remove(out.size() - 1);
+        return out;
+    }
+
+    private static String condition(String directive, String prefix, List<String> types, int i) {
+        if (!directive.endsWith("]")) throw error(i, "malformed directive " + directive);
+        String type = directive.substring(prefix.length(), directive.length() - 1);
+        if (!types.contains(type)) throw error(i, "unknown type " + type);
+        return type;
+    }
+
+    private static IllegalArgumentException error(int i, String msg) {
+        return new IllegalArgumentException("template line " + (i + 1) + ": " + msg);
+    }
+
+    // replaces whatever is between the markers of a type by the rendered lines, set apart by blank lines
+    private static String replaceSection(String text, String marker, String type, List<String> body) {
+        String begin = "    // " + marker + "\n";
+        String end = "    // end of generated " + type + " code\n";
+        int b = text.indexOf(begin), e = text.indexOf(end);
+        if (b < 0 || e < b) throw new IllegalStateException("missing markers: " + begin.strip());
+        return text.substring(0, b + begin.length()) + "\n" + String.join("\n", body) + "\n\n" + text.substring(e);
+    }
+}
@@ -0,0 +1,28 @@
+#!/bin/sh
+# compiles the sources together with the JMH annotation processor and runs the benchmarks in src/benchmarks.
+# the processor generates the harness classes and META-INF/BenchmarkList, without which JMH reports
+# "No benchmarks to run", so the classes an IDE compiles on its own are not enough.
+# run from the root of the repository, any arguments are handed to JMH, e.g.
+#   tools/benchmarks.sh SortBenchmark -p size=100000 -prof gc
+#   tools/benchmarks.sh -l
+# the jars are taken from the local maven repository, fetch them once with
+#   mvn dependency:get -Dartifact=org.openjdk.jmh:jmh-generator-annprocess:1.37
+#   mvn dependency:get -Dartifact=org.jetbrains:annotations:24.1.0
+set -e
+M2=${M2_REPO:-$HOME/.m2/repository}
+JMH=${JMH_VERSION:-1.37}
+OUT=${OUT:-out/benchmarks}
+
+LIBS=$M2/org/openjdk/jmh/jmh-core/$JMH/jmh-core-$JMH.jar
+LIBS=$LIBS:$M2/net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar
+LIBS=$LIBS:$M2/org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar
+PROCESSOR=$M2/org/openjdk/jmh/jmh-generator-annprocess/$JMH/jmh-generator-annprocess-$JMH.jar
+ANNOTATIONS=$M2/org/jetbrains/annotations/24.1.0/annotations-24.1.0.jar
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+# the tests need junit and are left out, the vector network is compiled on its own as in SmallSort
+javac -d "$OUT" -cp "$LIBS:$ANNOTATIONS" -processorpath "$PROCESSOR:$LIBS" \
+    $(find src -name '*.java' -not -path 'src/tests/*')
+javac -d "$OUT" -cp "$OUT" --add-modules jdk.incubator.vector -proc:none $(find src-vector -name '*.java')
+java --add-modules jdk.incubator.vector -cp "$OUT:$LIBS" org.openjdk.jmh.Main "$@"